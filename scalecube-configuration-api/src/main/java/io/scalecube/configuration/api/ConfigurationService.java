@@ -3,6 +3,7 @@ package io.scalecube.configuration.api;
 import io.scalecube.services.annotations.Service;
 import io.scalecube.services.annotations.ServiceMethod;
 import java.util.List;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -42,6 +43,18 @@ public interface ConfigurationService {
   @ServiceMethod
   Mono<ReadEntryResponse> readEntry(ReadEntryRequest request);
 
+  /**
+   * Fetch request requires read level permissions to get a number of entries objects from the store
+   * at once. An entry which can't be found doesn't fail the whole request, it is reported within
+   * its own result instead. The number of keys per request is limited ({@code
+   * read.entries.max.keys}, 1000 by default).
+   *
+   * @param request includes the repository and keys (with optional versions) of requested objects.
+   * @return list of results per each requested key in the requested order.
+   */
+  @ServiceMethod
+  Mono<List<ReadEntriesResponse>> readEntries(ReadEntriesRequest request);
+
   /**
    * Entries request requires read level permissions to list all entries objects from the store.
    *
@@ -51,6 +64,28 @@ public interface ConfigurationService {
   @ServiceMethod
   Mono<List<ReadEntryResponse>> readList(ReadListRequest request);
 
+  /**
+   * Entries request requires read level permissions to stream all entries objects from the store.
+   * Unlike {@link #readList(ReadListRequest)} entries are emitted as they are fetched and with
+   * respect to the subscriber demand.
+   *
+   * @param request includes the name of the repository to list.
+   * @return stream of FetchResponses per each entry in the repository.
+   */
+  @ServiceMethod
+  Flux<ReadEntryResponse> readListStream(ReadListRequest request);
+
+  /**
+   * Changes request requires read level permissions to get the entries created, updated or deleted
+   * in the repository since the given revision along with the current repository revision. Without
+   * a revision, or if the changes since it are no longer kept, the whole repository is returned.
+   *
+   * @param request includes the name of the repository and the revision known to the client.
+   * @return the changes and the revision they bring the client up to.
+   */
+  @ServiceMethod
+  Mono<ReadListChangesResponse> readListChanges(ReadListChangesRequest request);
+
   /**
    * The request requires read level permissions to get entry object from the store.
    *
@@ -78,6 +113,20 @@ public interface ConfigurationService {
   @ServiceMethod
   Mono<VersionAcknowledgment> updateEntry(CreateOrUpdateEntryRequest request);
 
+  /**
+   * Save request requires write level permissions to save (create or update) a number of entries to
+   * the store at once. Entries which don't exist are created, the others get a new version. An
+   * entry which can't be saved doesn't fail the whole request, it is reported within its own
+   * acknowledgment instead. Keys must be unique within the request and their number is limited
+   * ({@code write.entries.max.size}, 1000 by default).
+   *
+   * @param request includes the name of the repository, keys and values to save.
+   * @return acknowledgements with the saved versions per each entry in the requested order.
+   */
+  @ServiceMethod
+  Mono<List<EntryVersionAcknowledgment>> createOrUpdateEntries(
+      CreateOrUpdateEntriesRequest request);
+
   /**
    * delete request requires write level permissions to delete entry from the store.
    *
@@ -86,4 +135,33 @@ public interface ConfigurationService {
    */
   @ServiceMethod
   Mono<Acknowledgment> deleteEntry(DeleteEntryRequest request);
+
+  /**
+   * Watch request requires read level permissions to receive changes of an entry as they happen.
+   * When the request contains the last seen version of the entry then all the later versions are
+   * emitted first. Changes made through any service node are seen within the watch poll interval. A
+   * client whose watch fails, for example with a {@link ResyncRequiredException}, should watch
+   * again from the last version it saw.
+   *
+   * @param request includes the repository and key of the watched entry.
+   * @return stream of entry changes.
+   */
+  @ServiceMethod
+  Flux<WatchEntryResponse> watchEntry(WatchEntryRequest request);
+
+  /**
+   * Watch request requires read level permissions to receive changes of all the entries in a
+   * repository as they happen. When the request contains a repository revision then the keys
+   * changed since it are emitted first. Changes made through any service node are seen within the
+   * watch poll interval, a key changed several times in between is emitted once with its latest
+   * version. Every change carries the revision it brings the client up to. A client whose watch
+   * fails should watch again from the last revision it got. If that revision is older than the
+   * retained changes it gets a {@link ResyncRequiredException} and should read the whole repository
+   * with {@code readListChanges} and watch from its revision.
+   *
+   * @param request includes the name of the watched repository.
+   * @return stream of entry changes.
+   */
+  @ServiceMethod
+  Flux<WatchEntryResponse> watchRepository(WatchRepositoryRequest request);
 }
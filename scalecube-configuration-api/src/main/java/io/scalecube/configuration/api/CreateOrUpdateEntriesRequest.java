@@ -0,0 +1,58 @@
+package io.scalecube.configuration.api;
+
+import java.util.List;
+
+/** Represents a request to save (create or update) a number of entries in a repository. */
+public class CreateOrUpdateEntriesRequest implements AccessRequest {
+
+  private Object apiKey;
+  private String repository;
+  private List<Entry> entries;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  CreateOrUpdateEntriesRequest() {}
+
+  /**
+   * Constructs a save request object.
+   *
+   * @param apiKey the request apiKey
+   * @param repository the repository name
+   * @param entries the entries to save
+   */
+  public CreateOrUpdateEntriesRequest(Object apiKey, String repository, List<Entry> entries) {
+    this.apiKey = apiKey;
+    this.repository = repository;
+    this.entries = entries;
+  }
+
+  @Override
+  public Object apiKey() {
+    return apiKey;
+  }
+
+  @Override
+  public String repository() {
+    return repository;
+  }
+
+  public List<Entry> entries() {
+    return entries;
+  }
+
+  @Override
+  public String toString() {
+    return "CreateOrUpdateEntriesRequest{"
+        + "apiKey="
+        + apiKey
+        + ", repository='"
+        + repository
+        + '\''
+        + ", entries="
+        + (entries != null ? entries.size() : null)
+        + '}';
+  }
+}
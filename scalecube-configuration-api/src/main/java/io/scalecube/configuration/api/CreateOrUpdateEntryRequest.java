@@ -1,6 +1,7 @@
 package io.scalecube.configuration.api;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 /** Represents a request to save an entry in a repository. */
 public class CreateOrUpdateEntryRequest implements AccessRequest {
@@ -8,8 +9,12 @@ public class CreateOrUpdateEntryRequest implements AccessRequest {
   private Object apiKey;
   private String repository;
   private String key;
+
+  @JsonDeserialize(using = RawJson.Deserializer.class)
   private Object value;
 
+  private Integer expectedVersion;
+
   /**
    * Default constructor.
    *
@@ -32,6 +37,22 @@ public class CreateOrUpdateEntryRequest implements AccessRequest {
     this.value = value;
   }
 
+  /**
+   * Constructs an update request object which is applied only if the entry is still at the expected
+   * version.
+   *
+   * @param apiKey the request apiKey
+   * @param repository the repository name
+   * @param key the entry key
+   * @param value the entry value
+   * @param expectedVersion the latest version of the entry known to the client
+   */
+  public CreateOrUpdateEntryRequest(
+      Object apiKey, String repository, String key, JsonNode value, Integer expectedVersion) {
+    this(apiKey, repository, key, value);
+    this.expectedVersion = expectedVersion;
+  }
+
   public Object apiKey() {
     return this.apiKey;
   }
@@ -48,6 +69,10 @@ public class CreateOrUpdateEntryRequest implements AccessRequest {
     return this.repository;
   }
 
+  public Integer expectedVersion() {
+    return this.expectedVersion;
+  }
+
   @Override
   public String toString() {
     return "CreateOrUpdateEntryRequest{"
@@ -61,6 +86,8 @@ public class CreateOrUpdateEntryRequest implements AccessRequest {
         + '\''
         + ", value="
         + value
+        + ", expectedVersion="
+        + expectedVersion
         + '}';
   }
 }
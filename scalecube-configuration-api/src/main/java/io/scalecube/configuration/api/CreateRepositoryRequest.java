@@ -5,6 +5,10 @@ public class CreateRepositoryRequest implements AccessRequest {
 
   private Object apiKey;
   private String repository;
+  private Integer maxVersions;
+  private Long maxAgeSeconds;
+  private Integer compressionThreshold;
+  private String valueEncoding;
 
   /**
    * Default constructor.
@@ -24,6 +28,63 @@ public class CreateRepositoryRequest implements AccessRequest {
     this.apiKey = apiKey;
   }
 
+  /**
+   * Constructs a request object for a repository with limited history retention.
+   *
+   * @param apiKey request apiKey
+   * @param repository the new repository name
+   * @param maxVersions number of latest versions to keep per key, or null for no limit
+   * @param maxAgeSeconds age of versions to keep, or null for no limit
+   */
+  public CreateRepositoryRequest(
+      Object apiKey, String repository, Integer maxVersions, Long maxAgeSeconds) {
+    this(apiKey, repository);
+    this.maxVersions = maxVersions;
+    this.maxAgeSeconds = maxAgeSeconds;
+  }
+
+  /**
+   * Constructs a request object for a repository which stores large values compressed.
+   *
+   * @param apiKey request apiKey
+   * @param repository the new repository name
+   * @param maxVersions number of latest versions to keep per key, or null for no limit
+   * @param maxAgeSeconds age of versions to keep, or null for no limit
+   * @param compressionThreshold size in bytes of values to store compressed, or null to store all
+   *     values as is
+   */
+  public CreateRepositoryRequest(
+      Object apiKey,
+      String repository,
+      Integer maxVersions,
+      Long maxAgeSeconds,
+      Integer compressionThreshold) {
+    this(apiKey, repository, maxVersions, maxAgeSeconds);
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  /**
+   * Constructs a request object for a repository which stores values in the given encoding.
+   *
+   * @param apiKey request apiKey
+   * @param repository the new repository name
+   * @param maxVersions number of latest versions to keep per key, or null for no limit
+   * @param maxAgeSeconds age of versions to keep, or null for no limit
+   * @param compressionThreshold size in bytes of values to store compressed, or null to store all
+   *     values as is
+   * @param valueEncoding storage format of values, "json" or "raw", or null for "json"
+   */
+  public CreateRepositoryRequest(
+      Object apiKey,
+      String repository,
+      Integer maxVersions,
+      Long maxAgeSeconds,
+      Integer compressionThreshold,
+      String valueEncoding) {
+    this(apiKey, repository, maxVersions, maxAgeSeconds, compressionThreshold);
+    this.valueEncoding = valueEncoding;
+  }
+
   @Override
   public String repository() {
     return repository;
@@ -34,6 +95,22 @@ public class CreateRepositoryRequest implements AccessRequest {
     return apiKey;
   }
 
+  public Integer maxVersions() {
+    return maxVersions;
+  }
+
+  public Long maxAgeSeconds() {
+    return maxAgeSeconds;
+  }
+
+  public Integer compressionThreshold() {
+    return compressionThreshold;
+  }
+
+  public String valueEncoding() {
+    return valueEncoding;
+  }
+
   @Override
   public String toString() {
     return "CreateRepositoryRequest{"
@@ -42,6 +119,15 @@ public class CreateRepositoryRequest implements AccessRequest {
         + ", repository='"
         + repository
         + '\''
+        + ", maxVersions="
+        + maxVersions
+        + ", maxAgeSeconds="
+        + maxAgeSeconds
+        + ", compressionThreshold="
+        + compressionThreshold
+        + ", valueEncoding='"
+        + valueEncoding
+        + '\''
         + '}';
   }
 }
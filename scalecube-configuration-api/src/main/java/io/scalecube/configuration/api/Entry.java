@@ -0,0 +1,44 @@
+package io.scalecube.configuration.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/** Represents a key and a value of a repository entry. */
+public class Entry {
+
+  private String key;
+
+  @JsonDeserialize(using = RawJson.Deserializer.class)
+  private Object value;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  Entry() {}
+
+  /**
+   * Constructs an entry object.
+   *
+   * @param key the entry key
+   * @param value the entry value
+   */
+  public Entry(String key, JsonNode value) {
+    this.key = key;
+    this.value = value;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public Object value() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return "Entry [key=" + key + ", value=" + value + "]";
+  }
+}
@@ -0,0 +1,48 @@
+package io.scalecube.configuration.api;
+
+/** Represents a key of a repository entry with an optional version of it. */
+public class EntryKey {
+
+  private String key;
+  private Object version;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  EntryKey() {}
+
+  /**
+   * Constructs an EntryKey object of the latest version.
+   *
+   * @param key The entry key
+   */
+  public EntryKey(String key) {
+    this.key = key;
+  }
+
+  /**
+   * Constructs an EntryKey object.
+   *
+   * @param key The entry key
+   * @param version The entry key version
+   */
+  public EntryKey(String key, Object version) {
+    this.key = key;
+    this.version = version;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public Object version() {
+    return version;
+  }
+
+  @Override
+  public String toString() {
+    return "EntryKey [key=" + key + ", version=" + version + "]";
+  }
+}
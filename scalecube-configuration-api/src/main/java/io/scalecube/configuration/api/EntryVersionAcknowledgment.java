@@ -0,0 +1,53 @@
+package io.scalecube.configuration.api;
+
+public class EntryVersionAcknowledgment extends VersionAcknowledgment {
+
+  private String key;
+  private String error;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  EntryVersionAcknowledgment() {}
+
+  public EntryVersionAcknowledgment(String key, Integer version) {
+    this(key, version, null);
+  }
+
+  /**
+   * Constructs an entry acknowledgment object.
+   *
+   * @param key saved key
+   * @param version saved key version; null if the entry could not be saved
+   * @param error reason why the entry could not be saved; null if it was saved
+   */
+  public EntryVersionAcknowledgment(String key, Integer version, String error) {
+    super(version);
+    this.key = key;
+    this.error = error;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public String error() {
+    return error;
+  }
+
+  @Override
+  public String toString() {
+    return "EntryVersionAcknowledgment{"
+        + "key='"
+        + key
+        + '\''
+        + ", error='"
+        + error
+        + '\''
+        + ", "
+        + super.toString()
+        + '}';
+  }
+}
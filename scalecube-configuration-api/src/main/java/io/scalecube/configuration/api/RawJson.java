@@ -0,0 +1,87 @@
+package io.scalecube.configuration.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Represents an entry value as its JSON text. Entry values of requests are read into it token by
+ * token, which validates them without building an object graph, and it's written out as is.
+ */
+public final class RawJson implements JsonSerializable {
+
+  private final String json;
+
+  /**
+   * Constructs a value object.
+   *
+   * @param json the value as valid JSON text
+   */
+  public RawJson(String json) {
+    this.json = json;
+  }
+
+  public String json() {
+    return json;
+  }
+
+  @Override
+  public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+    gen.writeRawValue(json);
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+      throws IOException {
+    serialize(gen, serializers);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return json.equals(((RawJson) o).json);
+  }
+
+  @Override
+  public int hashCode() {
+    return json.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return json;
+  }
+
+  /** Reads any JSON value into its text, copying tokens straight from the request. */
+  public static final class Deserializer extends StdDeserializer<RawJson> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public Deserializer() {
+      super(RawJson.class);
+    }
+
+    @Override
+    public RawJson deserialize(JsonParser parser, DeserializationContext context)
+        throws IOException {
+      StringWriter writer = new StringWriter();
+      try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+        generator.copyCurrentStructure(parser);
+      }
+      return new RawJson(writer.toString());
+    }
+  }
+}
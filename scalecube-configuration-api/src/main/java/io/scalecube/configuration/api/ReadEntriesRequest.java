@@ -0,0 +1,56 @@
+package io.scalecube.configuration.api;
+
+import java.util.List;
+
+/** Represents a request to fetch a number of entries from a repository at once. */
+public class ReadEntriesRequest implements AccessRequest {
+
+  private Object apiKey;
+  private String repository;
+  private List<EntryKey> keys;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  ReadEntriesRequest() {}
+
+  /**
+   * Constructs a ReadEntriesRequest object.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param keys The requested data keys with optional versions
+   */
+  public ReadEntriesRequest(Object apiKey, String repository, List<EntryKey> keys) {
+    this.apiKey = apiKey;
+    this.repository = repository;
+    this.keys = keys;
+  }
+
+  @Override
+  public String repository() {
+    return repository;
+  }
+
+  @Override
+  public Object apiKey() {
+    return apiKey;
+  }
+
+  public List<EntryKey> keys() {
+    return keys;
+  }
+
+  @Override
+  public String toString() {
+    return "ReadEntriesRequest [repository="
+        + repository
+        + ", keys="
+        + keys
+        + ", apiKey="
+        + apiKey
+        + "]";
+  }
+}
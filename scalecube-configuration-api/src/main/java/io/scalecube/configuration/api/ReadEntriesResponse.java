@@ -0,0 +1,61 @@
+package io.scalecube.configuration.api;
+
+/** Represents a result of fetching a single entry within a read entries request. */
+public class ReadEntriesResponse {
+
+  private String key;
+  private Object version;
+  private Object value;
+  private String error;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  ReadEntriesResponse() {}
+
+  /**
+   * Constructs a fetch response object.
+   *
+   * @param key requested key
+   * @param version requested key version
+   * @param value fetched value
+   * @param error reason why the entry could not be fetched; null if it was fetched
+   */
+  public ReadEntriesResponse(String key, Object version, Object value, String error) {
+    this.key = key;
+    this.version = version;
+    this.value = value;
+    this.error = error;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public Object version() {
+    return version;
+  }
+
+  public Object value() {
+    return value;
+  }
+
+  public String error() {
+    return error;
+  }
+
+  @Override
+  public String toString() {
+    return "ReadEntriesResponse [key="
+        + key
+        + ", version="
+        + version
+        + ", value="
+        + value
+        + ", error="
+        + error
+        + "]";
+  }
+}
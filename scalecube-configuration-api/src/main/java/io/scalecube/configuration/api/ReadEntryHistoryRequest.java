@@ -6,6 +6,9 @@ public class ReadEntryHistoryRequest implements AccessRequest {
   protected String repository;
   protected String key;
   private Object apiKey;
+  private Integer offset;
+  private Integer limit;
+  private Integer latest;
 
   /**
    * Default constructor.
@@ -27,6 +30,35 @@ public class ReadEntryHistoryRequest implements AccessRequest {
     this.key = key;
   }
 
+  /**
+   * Constructs a ReadEntryHistoryRequest object for a slice of the key history.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param key The requested data key
+   * @param offset The number of the oldest versions to skip
+   * @param limit The maximum number of versions to return
+   */
+  public ReadEntryHistoryRequest(
+      Object apiKey, String repository, String key, Integer offset, Integer limit) {
+    this(apiKey, repository, key);
+    this.offset = offset;
+    this.limit = limit;
+  }
+
+  /**
+   * Constructs a ReadEntryHistoryRequest object for the latest versions of the key history.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param key The requested data key
+   * @param latest The number of the latest versions to return
+   */
+  public ReadEntryHistoryRequest(Object apiKey, String repository, String key, Integer latest) {
+    this(apiKey, repository, key);
+    this.latest = latest;
+  }
+
   public String repository() {
     return repository;
   }
@@ -39,14 +71,32 @@ public class ReadEntryHistoryRequest implements AccessRequest {
     return this.apiKey;
   }
 
+  public Integer offset() {
+    return offset;
+  }
+
+  public Integer limit() {
+    return limit;
+  }
+
+  public Integer latest() {
+    return latest;
+  }
+
   @Override
   public String toString() {
-    return "ReadEntryRequest [repository="
+    return "ReadEntryHistoryRequest [repository="
         + repository
         + ", key="
         + key
         + ", apiKey="
         + apiKey
+        + ", offset="
+        + offset
+        + ", limit="
+        + limit
+        + ", latest="
+        + latest
         + "]";
   }
 }
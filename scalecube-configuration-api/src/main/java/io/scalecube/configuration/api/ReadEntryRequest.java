@@ -7,6 +7,8 @@ public class ReadEntryRequest implements AccessRequest {
   protected String key;
   private Object apiKey;
   private Object version;
+  private Object knownVersion;
+  private Long asOf;
 
   /**
    * Default constructor.
@@ -30,6 +32,22 @@ public class ReadEntryRequest implements AccessRequest {
     this.version = version;
   }
 
+  /**
+   * Constructs a conditional ReadEntryRequest object. If the latest version of the key is still the
+   * known one, the value is not returned, see {@link ReadEntryResponse#notModified()}.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param key The requested data key
+   * @param version The requested data key version, the known version is ignored when specified
+   * @param knownVersion The latest version of the key known to the client
+   */
+  public ReadEntryRequest(
+      Object apiKey, String repository, String key, Object version, Object knownVersion) {
+    this(apiKey, repository, key, version);
+    this.knownVersion = knownVersion;
+  }
+
   /**
    * Constructs a ReadEntryRequest object.
    *
@@ -55,6 +73,31 @@ public class ReadEntryRequest implements AccessRequest {
     return version;
   }
 
+  public Object knownVersion() {
+    return knownVersion;
+  }
+
+  public Long asOf() {
+    return asOf;
+  }
+
+  /**
+   * Constructs a ReadEntryRequest object for the version of the key which was the latest one at the
+   * given time.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param key The requested data key
+   * @param timestamp The point in time, milliseconds since the epoch
+   * @return request object
+   */
+  public static ReadEntryRequest asOf(
+      Object apiKey, String repository, String key, long timestamp) {
+    ReadEntryRequest request = new ReadEntryRequest(apiKey, repository, key);
+    request.asOf = timestamp;
+    return request;
+  }
+
   public Object apiKey() {
     return this.apiKey;
   }
@@ -67,6 +110,10 @@ public class ReadEntryRequest implements AccessRequest {
         + key
         + ", version="
         + version
+        + ", knownVersion="
+        + knownVersion
+        + ", asOf="
+        + asOf
         + ", apiKey="
         + apiKey
         + "]";
@@ -5,6 +5,8 @@ public class ReadEntryResponse {
 
   private Object value;
   private String key;
+  private Integer version;
+  private boolean notModified;
 
   /**
    * Default constructor.
@@ -24,6 +26,19 @@ public class ReadEntryResponse {
     this.key = key;
   }
 
+  /**
+   * Constructs a fetch response object.
+   *
+   * @param key fetch key
+   * @param value fetch value
+   * @param version fetch value version
+   */
+  public ReadEntryResponse(String key, Object value, Integer version) {
+    this.value = value;
+    this.key = key;
+    this.version = version;
+  }
+
   public Object value() {
     return this.value;
   }
@@ -32,8 +47,38 @@ public class ReadEntryResponse {
     return key;
   }
 
+  public Integer version() {
+    return version;
+  }
+
+  public boolean notModified() {
+    return notModified;
+  }
+
+  /**
+   * Constructs a fetch response object for the key which was not modified since the version known
+   * to the client. Such a response carries no value.
+   *
+   * @param key fetch key
+   * @param version latest version of the key
+   * @return fetch response
+   */
+  public static ReadEntryResponse notModified(String key, Integer version) {
+    ReadEntryResponse response = new ReadEntryResponse(key, null, version);
+    response.notModified = true;
+    return response;
+  }
+
   @Override
   public String toString() {
-    return "ReadEntryResponse [value=" + value + ", key=" + key + "]";
+    return "ReadEntryResponse [value="
+        + value
+        + ", key="
+        + key
+        + ", version="
+        + version
+        + ", notModified="
+        + notModified
+        + "]";
   }
 }
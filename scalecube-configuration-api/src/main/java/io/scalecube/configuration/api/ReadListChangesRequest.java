@@ -0,0 +1,55 @@
+package io.scalecube.configuration.api;
+
+/** Represents a request to fetch the changes of a repository since a known revision. */
+public class ReadListChangesRequest implements AccessRequest {
+
+  private Object apiKey;
+  private String repository;
+  private Long sinceRevision;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  ReadListChangesRequest() {}
+
+  /**
+   * Constructs a ReadListChangesRequest object.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param sinceRevision The repository revision known to the client or null to fetch the whole
+   *     repository
+   */
+  public ReadListChangesRequest(Object apiKey, String repository, Long sinceRevision) {
+    this.apiKey = apiKey;
+    this.repository = repository;
+    this.sinceRevision = sinceRevision;
+  }
+
+  @Override
+  public String repository() {
+    return repository;
+  }
+
+  @Override
+  public Object apiKey() {
+    return apiKey;
+  }
+
+  public Long sinceRevision() {
+    return sinceRevision;
+  }
+
+  @Override
+  public String toString() {
+    return "ReadListChangesRequest [repository="
+        + repository
+        + ", sinceRevision="
+        + sinceRevision
+        + ", apiKey="
+        + apiKey
+        + "]";
+  }
+}
@@ -0,0 +1,71 @@
+package io.scalecube.configuration.api;
+
+import java.util.List;
+
+/** Represents a response to a repository changes request. */
+public class ReadListChangesResponse {
+
+  private Long revision;
+  private boolean reset;
+  private List<ReadEntryResponse> entries;
+  private List<String> deletedKeys;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  ReadListChangesResponse() {}
+
+  /**
+   * Constructs a ReadListChangesResponse object.
+   *
+   * @param revision The repository revision the response is up to date with
+   * @param reset Whether the entries hold the whole repository rather than the changes only
+   * @param entries The created or updated entries
+   * @param deletedKeys The deleted keys
+   */
+  public ReadListChangesResponse(
+      Long revision, boolean reset, List<ReadEntryResponse> entries, List<String> deletedKeys) {
+    this.revision = revision;
+    this.reset = reset;
+    this.entries = entries;
+    this.deletedKeys = deletedKeys;
+  }
+
+  public Long revision() {
+    return revision;
+  }
+
+  /**
+   * Returns whether the entries hold the whole repository, either because no revision was requested
+   * or because the changes since it are no longer available. The client should then replace its
+   * copy of the repository rather than apply the entries to it.
+   *
+   * @return true if the entries hold the whole repository.
+   */
+  public boolean reset() {
+    return reset;
+  }
+
+  public List<ReadEntryResponse> entries() {
+    return entries;
+  }
+
+  public List<String> deletedKeys() {
+    return deletedKeys;
+  }
+
+  @Override
+  public String toString() {
+    return "ReadListChangesResponse [revision="
+        + revision
+        + ", reset="
+        + reset
+        + ", entries="
+        + (entries != null ? entries.size() : null)
+        + ", deletedKeys="
+        + deletedKeys
+        + "]";
+  }
+}
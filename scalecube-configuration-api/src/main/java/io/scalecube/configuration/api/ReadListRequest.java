@@ -1,10 +1,14 @@
 package io.scalecube.configuration.api;
 
+import java.util.Map;
+
 public class ReadListRequest implements AccessRequest {
 
   protected String repository;
   private Object apiKey;
   private Object version;
+  private Map<String, Integer> knownVersions;
+  private Long asOf;
 
   /**
    * Only for serialization/deserialization.
@@ -37,6 +41,22 @@ public class ReadListRequest implements AccessRequest {
     this.version = version;
   }
 
+  /**
+   * Constructs a conditional ReadListRequest object. Values of the keys whose latest version is
+   * still the known one are not returned, see {@link ReadEntryResponse#notModified()}.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param version The version for keys of repository, the known versions are ignored when
+   *     specified
+   * @param knownVersions The latest versions of the keys known to the client
+   */
+  public ReadListRequest(
+      Object apiKey, String repository, Object version, Map<String, Integer> knownVersions) {
+    this(apiKey, repository, version);
+    this.knownVersions = knownVersions;
+  }
+
   public String repository() {
     return repository;
   }
@@ -49,6 +69,29 @@ public class ReadListRequest implements AccessRequest {
     return this.version;
   }
 
+  public Map<String, Integer> knownVersions() {
+    return knownVersions;
+  }
+
+  public Long asOf() {
+    return asOf;
+  }
+
+  /**
+   * Constructs a ReadListRequest object for the versions of the keys which were the latest ones at
+   * the given time.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param timestamp The point in time, milliseconds since the epoch
+   * @return request object
+   */
+  public static ReadListRequest asOf(Object apiKey, String repository, long timestamp) {
+    ReadListRequest request = new ReadListRequest(apiKey, repository);
+    request.asOf = timestamp;
+    return request;
+  }
+
   @Override
   public String toString() {
     return "ReadListRequest [repository="
@@ -57,6 +100,10 @@ public class ReadListRequest implements AccessRequest {
         + apiKey
         + ", version="
         + version
+        + ", knownVersions="
+        + (knownVersions != null ? knownVersions.size() : null)
+        + ", asOf="
+        + asOf
         + "]";
   }
 }
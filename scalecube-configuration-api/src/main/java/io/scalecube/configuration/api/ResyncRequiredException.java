@@ -0,0 +1,12 @@
+package io.scalecube.configuration.api;
+
+/**
+ * Signals a watcher that changes were lost, either because it didn't keep up with them or because
+ * they are no longer retained, so it has to read the current state again.
+ */
+public class ResyncRequiredException extends RuntimeException {
+
+  public ResyncRequiredException(String message) {
+    super(message);
+  }
+}
@@ -13,6 +13,10 @@ public class VersionAcknowledgment extends Acknowledgment {
     version = DEFAULT_VERSION;
   }
 
+  public Integer version() {
+    return version;
+  }
+
   @Override
   public String toString() {
     return "VersionAcknowledgment{" + "version=" + version + '}';
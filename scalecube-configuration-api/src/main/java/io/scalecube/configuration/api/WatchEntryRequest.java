@@ -0,0 +1,75 @@
+package io.scalecube.configuration.api;
+
+/** Represents a request to watch changes of a repository entry. */
+public class WatchEntryRequest implements AccessRequest {
+
+  private Object apiKey;
+  private String repository;
+  private String key;
+  private Object version;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  WatchEntryRequest() {}
+
+  /**
+   * Constructs a WatchEntryRequest object.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param key The watched data key
+   */
+  public WatchEntryRequest(Object apiKey, String repository, String key) {
+    this(apiKey, repository, key, null);
+  }
+
+  /**
+   * Constructs a WatchEntryRequest object.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param key The watched data key
+   * @param version The last version of the key seen by the client, all the later versions are
+   *     emitted before the live changes
+   */
+  public WatchEntryRequest(Object apiKey, String repository, String key, Object version) {
+    this.apiKey = apiKey;
+    this.repository = repository;
+    this.key = key;
+    this.version = version;
+  }
+
+  @Override
+  public String repository() {
+    return repository;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public Object version() {
+    return version;
+  }
+
+  @Override
+  public Object apiKey() {
+    return apiKey;
+  }
+
+  @Override
+  public String toString() {
+    return "WatchEntryRequest [repository="
+        + repository
+        + ", key="
+        + key
+        + ", version="
+        + version
+        + ", apiKey="
+        + apiKey
+        + "]";
+  }
+}
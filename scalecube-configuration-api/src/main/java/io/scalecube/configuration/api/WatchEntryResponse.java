@@ -0,0 +1,89 @@
+package io.scalecube.configuration.api;
+
+/** Represents a change of a repository entry. */
+public class WatchEntryResponse {
+
+  private String key;
+  private Integer version;
+  private Object value;
+  private boolean deleted;
+  private Long revision;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  WatchEntryResponse() {}
+
+  /**
+   * Constructs a change response object.
+   *
+   * @param key changed key
+   * @param version new key version; null if the key was deleted
+   * @param value new key value; null if the key was deleted
+   * @param deleted whether the key was deleted
+   */
+  public WatchEntryResponse(String key, Integer version, Object value, boolean deleted) {
+    this(key, version, value, deleted, null);
+  }
+
+  /**
+   * Constructs a change response object.
+   *
+   * @param key changed key
+   * @param version new key version; null if the key was deleted
+   * @param value new key value; null if the key was deleted
+   * @param deleted whether the key was deleted
+   * @param revision repository revision the change is included in
+   */
+  public WatchEntryResponse(
+      String key, Integer version, Object value, boolean deleted, Long revision) {
+    this.key = key;
+    this.version = version;
+    this.value = value;
+    this.deleted = deleted;
+    this.revision = revision;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public Integer version() {
+    return version;
+  }
+
+  public Object value() {
+    return value;
+  }
+
+  public boolean deleted() {
+    return deleted;
+  }
+
+  /**
+   * Returns the repository revision the change is included in. A client which has to watch the
+   * repository again can pass the last one it got to resume from it.
+   *
+   * @return repository revision.
+   */
+  public Long revision() {
+    return revision;
+  }
+
+  @Override
+  public String toString() {
+    return "WatchEntryResponse [key="
+        + key
+        + ", version="
+        + version
+        + ", value="
+        + value
+        + ", deleted="
+        + deleted
+        + ", revision="
+        + revision
+        + "]";
+  }
+}
@@ -0,0 +1,65 @@
+package io.scalecube.configuration.api;
+
+/** Represents a request to watch changes of all entries in a repository. */
+public class WatchRepositoryRequest implements AccessRequest {
+
+  private Object apiKey;
+  private String repository;
+  private Long sinceRevision;
+
+  /**
+   * Default constructor.
+   *
+   * @deprecated only for serialization/deserialization.
+   */
+  WatchRepositoryRequest() {}
+
+  /**
+   * Constructs a WatchRepositoryRequest object.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   */
+  public WatchRepositoryRequest(Object apiKey, String repository) {
+    this(apiKey, repository, null);
+  }
+
+  /**
+   * Constructs a WatchRepositoryRequest object.
+   *
+   * @param apiKey The request apiKey
+   * @param repository The repository name
+   * @param sinceRevision The repository revision known to the client, the changes made since it are
+   *     emitted before the live changes
+   */
+  public WatchRepositoryRequest(Object apiKey, String repository, Long sinceRevision) {
+    this.apiKey = apiKey;
+    this.repository = repository;
+    this.sinceRevision = sinceRevision;
+  }
+
+  @Override
+  public String repository() {
+    return repository;
+  }
+
+  @Override
+  public Object apiKey() {
+    return apiKey;
+  }
+
+  public Long sinceRevision() {
+    return sinceRevision;
+  }
+
+  @Override
+  public String toString() {
+    return "WatchRepositoryRequest [repository="
+        + repository
+        + ", sinceRevision="
+        + sinceRevision
+        + ", apiKey="
+        + apiKey
+        + "]";
+  }
+}
@@ -0,0 +1,70 @@
+package io.scalecube.configuration.benchmarks;
+
+import io.scalecube.account.api.Role;
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.BenchmarkState;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer.Context;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.authorization.DefaultPermissions;
+import io.scalecube.configuration.authorization.Permissions;
+import io.scalecube.security.api.Profile;
+import java.util.Collections;
+
+/**
+ * Measures the authorization step of a call against {@link DefaultPermissions}. The {@code mode}
+ * setting picks the synchronous check ({@code sync}) or the {@code Mono} returned to the access
+ * control ({@code async}). A single check takes nanoseconds, so every iteration times a batch of
+ * {@code batchSize} checks of a profile with the given {@code role} against the {@code resource}.
+ */
+public final class AuthorizationBenchmark {
+
+  /**
+   * Starts benchmark.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    BenchmarkSettings settings = BenchmarkSettings.from(args).build();
+
+    boolean async = "async".equalsIgnoreCase(settings.find("mode", "sync"));
+    int batchSize = Integer.parseInt(settings.find("batchSize", "1000"));
+    String role = settings.find("role", Role.Member.toString());
+    String resource = settings.find("resource", ConfigurationService.CONFIG_READ_ENTRY);
+
+    Profile profile = Profile.builder().claims(Collections.singletonMap("role", role)).build();
+    Permissions permissions = DefaultPermissions.PERMISSIONS;
+
+    new AuthorizationState(settings)
+        .runForSync(
+            state -> {
+              BenchmarkTimer timer = state.timer(async ? "timer-async" : "timer-sync");
+
+              return i -> {
+                int allowed = 0;
+                Context time = timer.time();
+                for (int j = 0; j < batchSize; j++) {
+                  if (async) {
+                    allowed +=
+                        permissions
+                            .authorize(profile, resource)
+                            .map(p -> 1)
+                            .onErrorReturn(0)
+                            .block();
+                  } else {
+                    allowed += permissions.isAllowed(profile, resource) ? 1 : 0;
+                  }
+                }
+                time.stop();
+                return allowed;
+              };
+            });
+  }
+
+  private static final class AuthorizationState extends BenchmarkState<AuthorizationState> {
+
+    private AuthorizationState(BenchmarkSettings settings) {
+      super(settings);
+    }
+  }
+}
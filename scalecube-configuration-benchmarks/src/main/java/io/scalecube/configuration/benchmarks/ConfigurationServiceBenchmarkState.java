@@ -30,10 +30,12 @@ import io.scalecube.services.gateway.transport.rsocket.RSocketGatewayClient;
 import io.scalecube.services.gateway.transport.websocket.WebsocketGatewayClient;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
@@ -52,6 +54,7 @@ final class ConfigurationServiceBenchmarkState
   private final int gatewayPort;
   private final String gatewayProtocol;
   private final boolean secure;
+  private final List<Integer> repositorySizes;
 
   private final List<GatewayClient> clients = new ArrayList<>();
   private final AtomicReference<String> apiKey = new AtomicReference<>();
@@ -69,6 +72,12 @@ final class ConfigurationServiceBenchmarkState
     gatewayPort = Integer.valueOf(settings.find("gatewayPort", "7070"));
     gatewayProtocol = String.valueOf(settings.find("gatewayProtocol", "ws"));
     secure = Boolean.valueOf(settings.find("secure", "false"));
+    repositorySizes =
+        Arrays.stream(settings.find("repositorySizes", "").split(","))
+            .map(String::trim)
+            .filter(size -> !size.isEmpty())
+            .map(Integer::valueOf)
+            .collect(Collectors.toList());
   }
 
   @Override
@@ -103,6 +112,26 @@ final class ConfigurationServiceBenchmarkState
     return apiKey.get();
   }
 
+  /**
+   * Returns sizes of the additional repositories which are created on `preload` phase, see {@link
+   * #repositoryName(int)}.
+   *
+   * @return repository sizes.
+   */
+  public List<Integer> repositorySizes() {
+    return repositorySizes;
+  }
+
+  /**
+   * Returns name of the additional repository which holds given number of keys.
+   *
+   * @param size number of keys.
+   * @return repository name.
+   */
+  public static String repositoryName(int size) {
+    return "benchmarks-repo-" + size;
+  }
+
   /**
    * Creates gateway client.
    *
@@ -155,22 +184,33 @@ final class ConfigurationServiceBenchmarkState
         .flatMap(organization -> createApiKey(organizationService, token, organization))
         .flatMapMany(
             apiKey ->
-                createRepository(configurationService, apiKey)
+                preloadRepository(configurationService, apiKey, "benchmarks-repo", configKeysCount)
                     .thenMany(
-                        Flux.range(0, configKeysCount)
-                            .flatMap(
-                                keyIndex -> {
-                                  String key = "key-" + keyIndex;
-                                  JsonNode value = OBJECT_MAPPER.valueToTree(keyIndex);
-
-                                  return saveConfigProperty(
-                                      configurationService, apiKey, key, value);
-                                })))
+                        Flux.fromIterable(repositorySizes)
+                            .concatMap(
+                                size ->
+                                    preloadRepository(
+                                        configurationService, apiKey, repositoryName(size), size))))
         .doOnComplete(() -> LOGGER.info("Preloading completed!"))
         .doOnError(th -> LOGGER.error("Preloading failed!", th))
         .blockLast();
   }
 
+  private Flux<Void> preloadRepository(
+      ConfigurationService configurationService, String apiKey, String repository, int keysCount) {
+    return createRepository(configurationService, apiKey, repository)
+        .thenMany(
+            Flux.range(0, keysCount)
+                .flatMap(
+                    keyIndex -> {
+                      String key = "key-" + keyIndex;
+                      JsonNode value = OBJECT_MAPPER.valueToTree(keyIndex);
+
+                      return saveConfigProperty(
+                          configurationService, apiKey, repository, key, value);
+                    }));
+  }
+
   private Mono<CreateOrganizationResponse> createOrganization(
       OrganizationService organizationService, Token token) {
     return organizationService
@@ -192,18 +232,23 @@ final class ConfigurationServiceBenchmarkState
         .doOnNext(apiKey::set);
   }
 
-  private Mono<Void> createRepository(ConfigurationService configurationService, String apiKey) {
+  private Mono<Void> createRepository(
+      ConfigurationService configurationService, String apiKey, String repository) {
     return configurationService
-        .createRepository(new CreateRepositoryRequest(apiKey, "benchmarks-repo"))
+        .createRepository(new CreateRepositoryRequest(apiKey, repository))
         .doOnSuccess(response -> LOGGER.info("Repository created: {}", response))
         .doOnError(th -> LOGGER.error("Repository not created: ", th))
         .then();
   }
 
   private Mono<Void> saveConfigProperty(
-      ConfigurationService configurationService, String apiKey, String key, JsonNode value) {
+      ConfigurationService configurationService,
+      String apiKey,
+      String repository,
+      String key,
+      JsonNode value) {
     return configurationService
-        .createEntry(new CreateOrUpdateEntryRequest(apiKey, "benchmarks-repo", key, value))
+        .createEntry(new CreateOrUpdateEntryRequest(apiKey, repository, key, value))
         .doOnSuccess(response -> LOGGER.info("Config created: {}={}", key, value))
         .doOnError(th -> LOGGER.error("Config not created: ", th))
         .then();
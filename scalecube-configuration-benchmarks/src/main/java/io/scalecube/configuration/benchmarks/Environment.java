@@ -11,13 +11,18 @@ import com.couchbase.client.java.view.DefaultView;
 import com.couchbase.client.java.view.DesignDocument;
 import com.couchbase.client.java.view.DesignDocument.Option;
 import com.github.dockerjava.api.model.PortBinding;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.Network;
 import org.testcontainers.containers.wait.strategy.HostPortWaitStrategy;
@@ -33,6 +38,7 @@ final class Environment {
   private static final String COUCHBASE_USERNAME = "admin";
   private static final String COUCHBASE_PASSWORD = "123456";
   private static final String COUCHBASE_NETWORK_ALIAS = "couchbase";
+  private static final String BY_KEYS_MAP_FUNCTION = "/couchbase/views/keys/by_keys.map.js";
 
   private static final String VAULT_DOCKER_IMAGE = "vault:0.9.5";
   private static final int VAULT_PORT = 8200;
@@ -123,20 +129,27 @@ final class Environment {
 
     DesignDocument designDoc =
         DesignDocument.create(
-            "keys",
-            Arrays.asList(
-                DefaultView.create(
-                    "by_keys",
-                    "function (doc, meta) { "
-                        + "  if (meta.id != 'repos') { "
-                        + "    emit(meta.id.substring(0, meta.id.lastIndexOf('::')), null);"
-                        + "  }"
-                        + "}")),
-            options);
+            "keys", Arrays.asList(DefaultView.create("by_keys", byKeysMapFunction())), options);
 
     bucketManager.insertDesignDocument(designDoc).toBlocking().first();
   }
 
+  /**
+   * Reads the map function of the by_keys view as it's defined for production, which lists the key
+   * documents of every repository.
+   */
+  private static String byKeysMapFunction() {
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                Environment.class.getResourceAsStream(BY_KEYS_MAP_FUNCTION),
+                StandardCharsets.UTF_8))) {
+      return reader.lines().collect(Collectors.joining("\n"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   private void startVault() {
     VaultContainer<?> vault =
         new VaultContainer<>(VAULT_DOCKER_IMAGE)
@@ -0,0 +1,55 @@
+package io.scalecube.configuration.benchmarks;
+
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer.Context;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.ReadListRequest;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Measures readList latency against repositories of different sizes given by the {@code
+ * repositorySizes} setting, e.g. {@code repositorySizes=10,100,1000,10000}. Each size reports to
+ * its own timer.
+ */
+public final class ReadAllConfigValuesScalingBenchmark {
+
+  /**
+   * Starts benchmark.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    BenchmarkSettings settings = BenchmarkSettings.from(args).build();
+
+    new ConfigurationServiceBenchmarkState(settings)
+        .runForAsync(
+            state -> {
+              ConfigurationService configurationService =
+                  state.forService(ConfigurationService.class);
+
+              List<Integer> sizes = state.repositorySizes();
+              if (sizes.isEmpty()) {
+                throw new IllegalArgumentException("Please specify 'repositorySizes'");
+              }
+
+              List<BenchmarkTimer> timers =
+                  sizes.stream()
+                      .map(size -> state.timer("timer-" + size))
+                      .collect(Collectors.toList());
+
+              return i -> {
+                int index = (int) (i % sizes.size());
+                ReadListRequest request =
+                    new ReadListRequest(
+                        state.apiKey(),
+                        ConfigurationServiceBenchmarkState.repositoryName(sizes.get(index)));
+
+                Context time = timers.get(index).time();
+
+                return configurationService.readList(request).doOnSuccess(response -> time.stop());
+              };
+            });
+  }
+}
@@ -0,0 +1,48 @@
+package io.scalecube.configuration.benchmarks;
+
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer.Context;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.ReadListRequest;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class ReadAllConfigValuesStreamBenchmark {
+
+  /**
+   * Starts benchmark.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    BenchmarkSettings settings = BenchmarkSettings.from(args).build();
+
+    new ConfigurationServiceBenchmarkState(settings)
+        .runForAsync(
+            state -> {
+              ConfigurationService configurationService =
+                  state.forService(ConfigurationService.class);
+
+              BenchmarkTimer firstEntryTimer = state.timer("firstEntryTimer");
+              BenchmarkTimer timer = state.timer("timer");
+
+              return i -> {
+                ReadListRequest request = new ReadListRequest(state.apiKey(), "benchmarks-repo");
+
+                Context firstEntryTime = firstEntryTimer.time();
+                Context time = timer.time();
+                AtomicBoolean firstEntry = new AtomicBoolean(true);
+
+                return configurationService
+                    .readListStream(request)
+                    .doOnNext(
+                        response -> {
+                          if (firstEntry.compareAndSet(true, false)) {
+                            firstEntryTime.stop();
+                          }
+                        })
+                    .doOnComplete(time::stop);
+              };
+            });
+  }
+}
@@ -0,0 +1,117 @@
+package io.scalecube.configuration.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer.Context;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
+import io.scalecube.configuration.api.CreateRepositoryRequest;
+import io.scalecube.configuration.api.ReadEntryRequest;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares readEntry latency of a large value, e.g. a routing table, stored as JSON, stored
+ * compressed and stored raw. The value size and the compression threshold are given by the {@code
+ * valueSize} and {@code compressionThreshold} settings. Each repository reports to its own timer.
+ * The space and CPU time the codecs take alone are measured by {@link ValueCodecBenchmark}.
+ */
+public final class ReadLargeConfigValueBenchmark {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final String PLAIN_REPOSITORY = "benchmarks-large-repo";
+  private static final String COMPRESSED_REPOSITORY = "benchmarks-large-compressed-repo";
+  private static final String RAW_REPOSITORY = "benchmarks-large-raw-repo";
+  private static final String KEY = "routing-table";
+
+  /**
+   * Starts benchmark.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    BenchmarkSettings settings = BenchmarkSettings.from(args).build();
+
+    int valueSize = Integer.parseInt(settings.find("valueSize", "262144"));
+    int compressionThreshold = Integer.parseInt(settings.find("compressionThreshold", "16384"));
+
+    ObjectNode value = routingTable(valueSize);
+
+    new ConfigurationServiceBenchmarkState(settings)
+        .runForAsync(
+            state -> {
+              ConfigurationService configurationService =
+                  state.forService(ConfigurationService.class);
+
+              configurationService
+                  .createRepository(new CreateRepositoryRequest(state.apiKey(), PLAIN_REPOSITORY))
+                  .then(
+                      configurationService.createRepository(
+                          new CreateRepositoryRequest(
+                              state.apiKey(),
+                              COMPRESSED_REPOSITORY,
+                              null,
+                              null,
+                              compressionThreshold)))
+                  .then(
+                      configurationService.createRepository(
+                          new CreateRepositoryRequest(
+                              state.apiKey(), RAW_REPOSITORY, null, null, null, "raw")))
+                  .then(
+                      configurationService.createEntry(
+                          new CreateOrUpdateEntryRequest(
+                              state.apiKey(), PLAIN_REPOSITORY, KEY, value)))
+                  .then(
+                      configurationService.createEntry(
+                          new CreateOrUpdateEntryRequest(
+                              state.apiKey(), COMPRESSED_REPOSITORY, KEY, value)))
+                  .then(
+                      configurationService.createEntry(
+                          new CreateOrUpdateEntryRequest(
+                              state.apiKey(), RAW_REPOSITORY, KEY, value)))
+                  .block();
+
+              List<String> repositories =
+                  Arrays.asList(PLAIN_REPOSITORY, COMPRESSED_REPOSITORY, RAW_REPOSITORY);
+              List<BenchmarkTimer> timers =
+                  Arrays.asList(
+                      state.timer("timer-plain"),
+                      state.timer("timer-compressed"),
+                      state.timer("timer-raw"));
+
+              return i -> {
+                int index = (int) (i % repositories.size());
+                ReadEntryRequest request =
+                    new ReadEntryRequest(state.apiKey(), repositories.get(index), KEY);
+
+                Context time = timers.get(index).time();
+
+                return configurationService.readEntry(request).doOnSuccess(response -> time.stop());
+              };
+            });
+  }
+
+  /**
+   * Builds a routing table as large as the given size when written as JSON.
+   *
+   * @param size size in bytes.
+   * @return routing table.
+   */
+  static ObjectNode routingTable(int size) {
+    ObjectNode table = OBJECT_MAPPER.createObjectNode();
+    for (int i = 0; table.toString().length() < size; i++) {
+      for (int j = 0; j < 100; j++) {
+        int route = i * 100 + j;
+        table
+            .putObject("route-" + route)
+            .put("destination", "service-" + route % 50)
+            .put("weight", route % 100)
+            .put("enabled", route % 7 != 0);
+      }
+    }
+    return table;
+  }
+}
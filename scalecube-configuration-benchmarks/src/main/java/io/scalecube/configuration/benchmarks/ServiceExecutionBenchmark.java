@@ -0,0 +1,118 @@
+package io.scalecube.configuration.benchmarks;
+
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.benchmarks.BenchmarkState;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer;
+import io.scalecube.benchmarks.metrics.BenchmarkTimer.Context;
+import io.scalecube.configuration.api.RawJson;
+import io.scalecube.configuration.execution.ExecutionPool;
+import io.scalecube.configuration.execution.ExecutionStrategy;
+import io.scalecube.configuration.execution.ServiceExecution;
+import io.scalecube.configuration.repository.couchbase.ValueCodec;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Measures the cost of the execution strategy alone: every call encodes a value of {@code
+ * valueSize} bytes, standing in for the work an operation does before reaching the repository, on
+ * the scheduler of the {@code executionStrategy} setting. Inline calls pay only for the work,
+ * pooled calls add the thread hop and the queue wait, which grows with the load once all threads
+ * are busy and turns into rejections once a queue is full. Pool statistics are logged after the
+ * run.
+ *
+ * <p>This shows what the pools cost, not what they buy. Inline calls run here on the benchmark's
+ * own threads, whereas in the service they run on the transport event loop. There a slow validation
+ * or access check delays every other call on that loop, and that delay is never measured. Pooled
+ * calls are measured without the isolation they give the event loop. The strategy can't be chosen
+ * from these timers alone: inline wins whenever the work is short and never blocks, and pools are
+ * the safer default for anything else.
+ */
+public final class ServiceExecutionBenchmark {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServiceExecutionBenchmark.class);
+
+  /**
+   * Starts benchmark.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    BenchmarkSettings settings = BenchmarkSettings.from(args).build();
+
+    new ExecutionState(settings)
+        .runForAsync(
+            state -> {
+              BenchmarkTimer timer = state.timer("timer-" + state.strategy().name().toLowerCase());
+              BenchmarkTimer rejected = state.timer("timer-rejected");
+
+              return i -> {
+                Context time = timer.time();
+
+                return Mono.fromCallable(() -> ValueCodec.DEFAULT.encode(state.value()))
+                    .subscribeOn(state.execution().reads())
+                    .doOnSuccess(result -> time.stop())
+                    .onErrorResume(
+                        RejectedExecutionException.class,
+                        e -> {
+                          rejected.time().stop();
+                          return Mono.empty();
+                        });
+              };
+            });
+  }
+
+  private static final class ExecutionState extends BenchmarkState<ExecutionState> {
+
+    private final ExecutionStrategy strategy;
+    private final ServiceExecution execution;
+    private final RawJson value;
+
+    private ExecutionState(BenchmarkSettings settings) {
+      super(settings);
+
+      strategy =
+          ExecutionStrategy.valueOf(settings.find("executionStrategy", "pool").toUpperCase());
+      int threads =
+          Integer.parseInt(
+              settings.find("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+      int queueCapacity = Integer.parseInt(settings.find("queueCapacity", "4096"));
+      int valueSize = Integer.parseInt(settings.find("valueSize", "1024"));
+
+      execution =
+          strategy == ExecutionStrategy.INLINE
+              ? ServiceExecution.inline()
+              : ServiceExecution.pooled(threads, threads, queueCapacity);
+      value = valueOfSize(valueSize);
+    }
+
+    private static RawJson valueOfSize(int size) {
+      StringBuilder json = new StringBuilder("{");
+      for (int i = 0; json.length() < size; i++) {
+        json.append(i > 0 ? "," : "").append(String.format("\"key-%d\":\"value-%d\"", i, i));
+      }
+      return new RawJson(json.append('}').toString());
+    }
+
+    @Override
+    protected void afterAll() {
+      for (ExecutionPool pool : execution.pools()) {
+        LOGGER.info("{}, completed={}", pool, pool.getCompletedCount());
+      }
+      execution.dispose();
+    }
+
+    ExecutionStrategy strategy() {
+      return strategy;
+    }
+
+    ServiceExecution execution() {
+      return execution;
+    }
+
+    RawJson value() {
+      return value;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package io.scalecube.configuration.benchmarks;
+
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.scalecube.benchmarks.BenchmarkSettings;
+import io.scalecube.configuration.api.RawJson;
+import io.scalecube.configuration.repository.ValueEncoding;
+import io.scalecube.configuration.repository.couchbase.ValueCodec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the number of bytes a large value, e.g. a routing table, takes in a key document and the
+ * CPU time spent to encode and decode it for every codec, without a running service. The value
+ * size, the compression threshold and the number of iterations are given by the {@code valueSize},
+ * {@code compressionThreshold} and {@code iterations} settings.
+ *
+ * <p>Values are no longer written in the Smile format, it's measured as it was stored, Base64
+ * encoded in a JSON key document, for comparison with the codecs in use.
+ */
+public final class ValueCodecBenchmark {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ValueCodecBenchmark.class);
+
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+  private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+  /**
+   * Starts benchmark.
+   *
+   * @param args program arguments.
+   */
+  public static void main(String[] args) {
+    BenchmarkSettings settings = BenchmarkSettings.from(args).build();
+
+    int valueSize = Integer.parseInt(settings.find("valueSize", "262144"));
+    int compressionThreshold = Integer.parseInt(settings.find("compressionThreshold", "16384"));
+    int iterations = Integer.parseInt(settings.find("iterations", "1000"));
+
+    // values reach the repository as JSON text when they come over the network
+    RawJson value = new RawJson(ReadLargeConfigValueBenchmark.routingTable(valueSize).toString());
+
+    run("json", ValueCodec.DEFAULT, value, iterations);
+    run("json+gzip", new ValueCodec(ValueEncoding.JSON, compressionThreshold), value, iterations);
+    run("raw", new ValueCodec(ValueEncoding.RAW, null), value, iterations);
+    run("raw+gzip", new ValueCodec(ValueEncoding.RAW, compressionThreshold), value, iterations);
+    run("smile", json -> smile(json, false), value, iterations);
+    run("smile+gzip", json -> smile(json, true), value, iterations);
+  }
+
+  private static void run(String name, ValueCodec codec, RawJson value, int iterations) {
+    run(name, codec::encode, value, iterations);
+  }
+
+  private static void run(
+      String name, Function<RawJson, Object> encoder, RawJson value, int iterations) {
+    // stored values are array elements of key documents, so they are measured as such
+    String stored = JsonArray.create().add(encoder.apply(value)).toString();
+    long encodeNanos = 0;
+    long decodeNanos = 0;
+    // the first half of the runs warms up
+    for (int i = 0; i < iterations * 2; i++) {
+      long start = System.nanoTime();
+      JsonArray.create().add(encoder.apply(value)).toString();
+      long encoded = System.nanoTime();
+      Object decoded = ValueCodec.decode(JsonArray.fromJson(stored).get(0));
+      // values read back as JSON objects are served as their text
+      if (decoded instanceof JsonObject) {
+        decoded.toString();
+      }
+      if (i >= iterations) {
+        encodeNanos += encoded - start;
+        decodeNanos += System.nanoTime() - encoded;
+      }
+    }
+    LOGGER.info(
+        "{}: {} bytes stored, encode {} us, decode {} us",
+        name,
+        stored.getBytes(StandardCharsets.UTF_8).length - 2,
+        TimeUnit.NANOSECONDS.toMicros(encodeNanos / iterations),
+        TimeUnit.NANOSECONDS.toMicros(decodeNanos / iterations));
+  }
+
+  private static JsonObject smile(RawJson value, boolean gzip) {
+    try {
+      byte[] bytes = SMILE_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree(value.json()));
+      if (gzip) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+          gzipOut.write(bytes);
+        }
+        bytes = out.toByteArray();
+      }
+      return JsonObject.create()
+          .put("@codec", gzip ? "smile+gzip" : "smile")
+          .put("@data", Base64.getEncoder().encodeToString(bytes));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
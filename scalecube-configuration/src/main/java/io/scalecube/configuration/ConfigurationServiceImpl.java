@@ -2,145 +2,586 @@ package io.scalecube.configuration;
 
 import static io.scalecube.configuration.RequestValidator.validate;
 
+import io.scalecube.configuration.accesslog.AccessLog;
+import io.scalecube.configuration.accesslog.AccessLogSettings;
+import io.scalecube.configuration.accesslog.AccessRecord;
 import io.scalecube.configuration.api.Acknowledgment;
 import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.CreateOrUpdateEntriesRequest;
 import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
 import io.scalecube.configuration.api.CreateRepositoryRequest;
 import io.scalecube.configuration.api.DeleteEntryRequest;
+import io.scalecube.configuration.api.Entry;
+import io.scalecube.configuration.api.EntryKey;
+import io.scalecube.configuration.api.EntryVersionAcknowledgment;
 import io.scalecube.configuration.api.InvalidAuthenticationToken;
+import io.scalecube.configuration.api.InvalidPermissionsException;
+import io.scalecube.configuration.api.ReadEntriesRequest;
+import io.scalecube.configuration.api.ReadEntriesResponse;
 import io.scalecube.configuration.api.ReadEntryHistoryRequest;
 import io.scalecube.configuration.api.ReadEntryHistoryResponse;
 import io.scalecube.configuration.api.ReadEntryRequest;
 import io.scalecube.configuration.api.ReadEntryResponse;
+import io.scalecube.configuration.api.ReadListChangesRequest;
+import io.scalecube.configuration.api.ReadListChangesResponse;
 import io.scalecube.configuration.api.ReadListRequest;
+import io.scalecube.configuration.api.ResyncRequiredException;
 import io.scalecube.configuration.api.VersionAcknowledgment;
+import io.scalecube.configuration.api.WatchEntryRequest;
+import io.scalecube.configuration.api.WatchEntryResponse;
+import io.scalecube.configuration.api.WatchRepositoryRequest;
+import io.scalecube.configuration.execution.ServiceExecution;
+import io.scalecube.configuration.metrics.LatencyMetrics;
 import io.scalecube.configuration.repository.ConfigurationRepository;
 import io.scalecube.configuration.repository.Document;
+import io.scalecube.configuration.repository.HistoryDocument;
 import io.scalecube.configuration.repository.Repository;
+import io.scalecube.configuration.repository.RepositoryChanges;
+import io.scalecube.configuration.repository.Retention;
+import io.scalecube.configuration.repository.ValueEncoding;
+import io.scalecube.configuration.repository.exception.DuplicateKeyException;
+import io.scalecube.configuration.repository.exception.KeyNotFoundException;
+import io.scalecube.configuration.repository.exception.KeyVersionConflictException;
+import io.scalecube.configuration.repository.exception.KeyVersionNotFoundException;
+import io.scalecube.configuration.repository.exception.RepositoryAlreadyExistsException;
+import io.scalecube.configuration.repository.exception.RepositoryKeyAlreadyExistsException;
+import io.scalecube.configuration.repository.exception.RepositoryNotFoundException;
 import io.scalecube.security.api.AccessControl;
 import io.scalecube.security.api.Profile;
 import io.scalecube.security.jwt.AuthenticationException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
 public class ConfigurationServiceImpl implements ConfigurationService {
 
   private static final Logger logger = LoggerFactory.getLogger(ConfigurationServiceImpl.class);
   private static final Acknowledgment ACK = new Acknowledgment();
   private static final VersionAcknowledgment FIRST_VERSION_ACK = new VersionAcknowledgment();
+  private static final Integer DELETED_VERSION = 0;
+  private static final List<Class<? extends Throwable>> CLIENT_ERRORS =
+      Arrays.asList(
+          IllegalArgumentException.class,
+          InvalidAuthenticationToken.class,
+          InvalidPermissionsException.class,
+          KeyNotFoundException.class,
+          KeyVersionNotFoundException.class,
+          KeyVersionConflictException.class,
+          RepositoryNotFoundException.class,
+          RepositoryAlreadyExistsException.class,
+          RepositoryKeyAlreadyExistsException.class,
+          DuplicateKeyException.class,
+          ResyncRequiredException.class);
+
+  private final int readEntriesConcurrency =
+      AppConfiguration.configRegistry().intValue("read.entries.concurrency", 32);
+  private final int writeEntriesConcurrency =
+      AppConfiguration.configRegistry().intValue("write.entries.concurrency", 32);
+  private final Duration watchPollInterval =
+      Duration.ofMillis(
+          AppConfiguration.configRegistry().intValue("watch.poll.interval.millis", 500));
 
   private final ConfigurationRepository repository;
   private final AccessControl accessControl;
-  private final Scheduler scheduler =
-      Schedulers.fromExecutor(
-          Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()));
+  private final ServiceExecution execution;
+  private final LatencyMetrics metrics;
+  private final AccessLog accessLog;
+  private final String backend;
 
+  /**
+   * Creates service which runs operations on the calling thread and records calls into an access
+   * log shared by all services created this way, so no threads are started per service.
+   *
+   * @param repository configuration repository.
+   * @param accessControl access control.
+   */
   public ConfigurationServiceImpl(ConfigurationRepository repository, AccessControl accessControl) {
+    this(
+        repository,
+        accessControl,
+        ServiceExecution.inline(),
+        new LatencyMetrics(),
+        SharedAccessLog.INSTANCE);
+  }
+
+  /**
+   * Creates service.
+   *
+   * @param repository configuration repository.
+   * @param accessControl access control.
+   * @param execution schedulers operations are run on.
+   * @param metrics metrics to record operation latencies into.
+   * @param accessLog access log to record calls into.
+   */
+  public ConfigurationServiceImpl(
+      ConfigurationRepository repository,
+      AccessControl accessControl,
+      ServiceExecution execution,
+      LatencyMetrics metrics,
+      AccessLog accessLog) {
     this.repository = repository;
     this.accessControl = accessControl;
+    this.execution = execution;
+    this.metrics = metrics;
+    this.accessLog = accessLog;
+    this.backend = repository.backend();
   }
 
   @Override
   public Mono<Acknowledgment> createRepository(CreateRepositoryRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("createRepository: enter: request: {}", request))
-        .then(Mono.defer(() -> validate(request)))
-        .subscribeOn(scheduler)
-        .then(checkAccess(request.apiKey(), ConfigurationService.CONFIG_CREATE_REPO))
-        .flatMap(p -> repository.createRepository(new Repository(p.tenant(), request.repository())))
+    AccessRecord access = accessLog.start("createRepository", request.repository(), null);
+    return timed("createRepository", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(
+            mono -> metrics.subscribeOn("createRepository", backend, mono, execution.writes()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_CREATE_REPO))
+        .flatMap(
+            p ->
+                repository.createRepository(
+                    new Repository(
+                        p.tenant(),
+                        request.repository(),
+                        retention(request),
+                        request.compressionThreshold(),
+                        valueEncoding(request))))
         .map(b -> ACK)
-        .doOnSuccess(result -> logger.debug("createRepository: request: {}", request))
-        .doOnError(th -> logger.error("createRepository: request: {}, error:", request, th));
+        .transform(mono -> timed("createRepository", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
+  }
+
+  private static Retention retention(CreateRepositoryRequest request) {
+    if (request.maxVersions() == null && request.maxAgeSeconds() == null) {
+      return null;
+    }
+    return new Retention(request.maxVersions(), request.maxAgeSeconds());
+  }
+
+  private static ValueEncoding valueEncoding(CreateRepositoryRequest request) {
+    return request.valueEncoding() != null
+        ? ValueEncoding.valueOf(request.valueEncoding().toUpperCase())
+        : null;
   }
 
   @Override
   public Mono<ReadEntryResponse> readEntry(ReadEntryRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("read: enter: request: {}", request))
-        .then(Mono.defer(() -> validate(request)))
-        .subscribeOn(scheduler)
-        .then(checkAccess(request.apiKey(), ConfigurationService.CONFIG_READ_ENTRY))
+    AccessRecord access = accessLog.start("readEntry", request.repository(), request.key());
+    return timed("readEntry", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("readEntry", backend, mono, execution.reads()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_READ_ENTRY))
+        .flatMap(p -> readEntry(p.tenant(), request))
+        .transform(mono -> timed("readEntry", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
+  }
+
+  private Mono<ReadEntryResponse> readEntry(String tenant, ReadEntryRequest request) {
+    if (request.asOf() != null) {
+      return repository
+          .readAsOf(tenant, request.repository(), request.key(), request.asOf())
+          .switchIfEmpty(
+              Mono.error(
+                  () ->
+                      new KeyVersionNotFoundException(
+                          String.format(
+                              "Key '%s' version as of '%s' not found",
+                              request.key(), request.asOf()))))
+          .map(doc -> new ReadEntryResponse(doc.key(), doc.value(), doc.version()));
+    }
+    Integer version = intVersion(request.version());
+    Integer knownVersion = intVersion(request.knownVersion());
+    Mono<ReadEntryResponse> read =
+        repository
+            .read(tenant, request.repository(), request.key(), version)
+            .map(doc -> new ReadEntryResponse(doc.key(), doc.value(), doc.version()));
+    if (version != null || knownVersion == null) {
+      return read;
+    }
+    return repository
+        .readVersion(tenant, request.repository(), request.key())
         .flatMap(
-            p ->
-                repository.read(
-                    p.tenant(), request.repository(), request.key(), intVersion(request.version())))
-        .map(document -> new ReadEntryResponse(document.key(), document.value()))
-        .doOnSuccess(result -> logger.debug("read: request: {}, result: {}", request, result))
-        .doOnError(th -> logger.error("read: request: {}, error:", request, th));
+            latestVersion ->
+                latestVersion.equals(knownVersion)
+                    ? Mono.just(ReadEntryResponse.notModified(request.key(), latestVersion))
+                    : read);
   }
 
   @Override
-  public Mono<List<ReadEntryResponse>> readList(ReadListRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("readAll: enter: request: {}", request))
-        .then(Mono.defer(() -> validate(request)))
-        .subscribeOn(scheduler)
-        .then(checkAccess(request.apiKey(), ConfigurationService.CONFIG_READ_LIST))
+  public Mono<List<ReadEntriesResponse>> readEntries(ReadEntriesRequest request) {
+    AccessRecord access = accessLog.start("readEntries", request.repository(), null);
+    return timed("readEntries", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("readEntries", backend, mono, execution.reads()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_READ_ENTRY))
         .flatMapMany(
             p ->
-                repository.readAll(p.tenant(), request.repository(), intVersion(request.version())))
-        .map(doc -> new ReadEntryResponse(doc.key(), doc.value()))
+                Flux.fromIterable(request.keys())
+                    .flatMapSequential(
+                        entryKey -> readKey(p.tenant(), request.repository(), entryKey),
+                        readEntriesConcurrency))
+        .collectList()
+        .transform(mono -> timed("readEntries", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
+  }
+
+  private Mono<ReadEntriesResponse> readKey(
+      String tenant, String repositoryName, EntryKey entryKey) {
+    Integer version = intVersion(entryKey.version());
+    return Mono.defer(() -> repository.read(tenant, repositoryName, entryKey.key(), version))
+        .map(
+            document ->
+                new ReadEntriesResponse(entryKey.key(), document.version(), document.value(), null))
+        .onErrorResume(
+            th -> th instanceof KeyNotFoundException || th instanceof KeyVersionNotFoundException,
+            th ->
+                Mono.just(
+                    new ReadEntriesResponse(
+                        entryKey.key(), entryKey.version(), null, th.getMessage())));
+  }
+
+  @Override
+  public Mono<List<ReadEntryResponse>> readList(ReadListRequest request) {
+    AccessRecord access = accessLog.start("readList", request.repository(), null);
+    return timed("readList", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("readList", backend, mono, execution.reads()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_READ_LIST))
+        .flatMapMany(p -> readList(p.tenant(), request))
         .collectList()
-        .doOnSuccess(result -> logger.debug("readAll: request: {}, result: {}", request, result))
-        .doOnError(th -> logger.error("readAll: request: {}, error:", request, th));
+        .transform(mono -> timed("readList", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
+  }
+
+  private Flux<ReadEntryResponse> readList(String tenant, ReadListRequest request) {
+    if (request.asOf() != null) {
+      return repository
+          .readAllAsOf(tenant, request.repository(), request.asOf())
+          .map(doc -> new ReadEntryResponse(doc.key(), doc.value(), doc.version()));
+    }
+    Integer version = intVersion(request.version());
+    Map<String, Integer> knownVersions = request.knownVersions();
+    if (version != null || knownVersions == null || knownVersions.isEmpty()) {
+      return repository
+          .readAll(tenant, request.repository(), version)
+          .map(doc -> new ReadEntryResponse(doc.key(), doc.value(), doc.version()));
+    }
+    return repository
+        .readAllIfModified(tenant, request.repository(), knownVersions)
+        .map(
+            doc ->
+                doc.version().equals(knownVersions.get(doc.key()))
+                    ? ReadEntryResponse.notModified(doc.key(), doc.version())
+                    : new ReadEntryResponse(doc.key(), doc.value(), doc.version()));
+  }
+
+  @Override
+  public Flux<ReadEntryResponse> readListStream(ReadListRequest request) {
+    AccessRecord access = accessLog.start("readListStream", request.repository(), null);
+    return timed("readListStream", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("readListStream", backend, mono, execution.reads()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_READ_LIST))
+        .flatMapMany(p -> readList(p.tenant(), request))
+        .transform(flux -> timed("readListStream", LatencyMetrics.TOTAL, flux))
+        .transform(flux -> accessLogged(access, flux));
+  }
+
+  @Override
+  public Mono<ReadListChangesResponse> readListChanges(ReadListChangesRequest request) {
+    AccessRecord access = accessLog.start("readListChanges", request.repository(), null);
+    return timed("readListChanges", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("readListChanges", backend, mono, execution.reads()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_READ_LIST))
+        .flatMap(
+            p -> repository.readChanges(p.tenant(), request.repository(), request.sinceRevision()))
+        .map(
+            changes ->
+                new ReadListChangesResponse(
+                    changes.revision(),
+                    changes.reset(),
+                    changes.documents().stream()
+                        .map(doc -> new ReadEntryResponse(doc.key(), doc.value(), doc.version()))
+                        .collect(Collectors.toList()),
+                    changes.deletedKeys()))
+        .transform(mono -> timed("readListChanges", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
   }
 
   @Override
   public Mono<List<ReadEntryHistoryResponse>> readEntryHistory(ReadEntryHistoryRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("readHistory: enter: request: {}", request))
-        .then(Mono.defer(() -> validate(request)))
-        .subscribeOn(scheduler)
-        .then(checkAccess(request.apiKey(), ConfigurationService.CONFIG_READ_ENTRY_HISTORY))
-        .flatMapMany(p -> repository.readHistory(p.tenant(), request.repository(), request.key()))
+    AccessRecord access = accessLog.start("readEntryHistory", request.repository(), request.key());
+    return timed("readEntryHistory", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(
+            mono -> metrics.subscribeOn("readEntryHistory", backend, mono, execution.reads()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_READ_ENTRY_HISTORY))
+        .flatMapMany(p -> readHistory(p.tenant(), request))
         .map(doc -> new ReadEntryHistoryResponse(doc.version(), doc.value()))
         .collectList()
-        .doOnSuccess(
-            result -> logger.debug("readHistory: exit: request: {}, result: {}", request, result))
-        .doOnError(th -> logger.error("readHistory: request: {}, error:", request, th));
+        .transform(mono -> timed("readEntryHistory", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
+  }
+
+  private Flux<HistoryDocument> readHistory(String tenant, ReadEntryHistoryRequest request) {
+    if (request.latest() != null) {
+      return repository.readHistory(
+          tenant, request.repository(), request.key(), -request.latest(), null);
+    }
+    if (request.offset() != null || request.limit() != null) {
+      return repository.readHistory(
+          tenant,
+          request.repository(),
+          request.key(),
+          request.offset() != null ? request.offset() : 0,
+          request.limit());
+    }
+    return repository.readHistory(tenant, request.repository(), request.key());
   }
 
   @Override
   public Mono<VersionAcknowledgment> createEntry(CreateOrUpdateEntryRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("create: enter: request: {}", request))
-        .then(Mono.defer(() -> validate(request)))
-        .subscribeOn(scheduler)
-        .then(checkAccess(request.apiKey(), ConfigurationService.CONFIG_CREATE_ENTRY))
+    AccessRecord access = accessLog.start("createEntry", request.repository(), request.key());
+    return timed("createEntry", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("createEntry", backend, mono, execution.writes()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_CREATE_ENTRY))
         .flatMap(
             p ->
                 repository.save(
                     p.tenant(), request.repository(), new Document(request.key(), request.value())))
         .thenReturn(FIRST_VERSION_ACK)
-        .doOnSuccess(result -> logger.debug("create: request: {}", request))
-        .doOnError(th -> logger.error("create: request: {}, error:", request, th));
+        .transform(mono -> timed("createEntry", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
   }
 
   @Override
   public Mono<VersionAcknowledgment> updateEntry(CreateOrUpdateEntryRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("update: enter: request: {}", request))
-        .then(Mono.defer(() -> validate(request)))
-        .subscribeOn(scheduler)
-        .then(checkAccess(request.apiKey(), ConfigurationService.CONFIG_CREATE_ENTRY))
-        .flatMap(
-            p ->
-                repository.update(
-                    p.tenant(), request.repository(), new Document(request.key(), request.value())))
+    AccessRecord access = accessLog.start("updateEntry", request.repository(), request.key());
+    return timed("updateEntry", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("updateEntry", backend, mono, execution.writes()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_CREATE_ENTRY))
+        .flatMap(p -> update(p.tenant(), request))
         .map(document -> new VersionAcknowledgment(document.version()))
-        .doOnSuccess(result -> logger.debug("update: exit: request: {}", request))
-        .doOnError(th -> logger.error("update: request: {}, error:", request, th));
+        .transform(mono -> timed("updateEntry", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
+  }
+
+  private Mono<Document> update(String tenant, CreateOrUpdateEntryRequest request) {
+    Document document = new Document(request.key(), request.value());
+    if (request.expectedVersion() != null) {
+      return repository.update(tenant, request.repository(), document, request.expectedVersion());
+    }
+    return repository.update(tenant, request.repository(), document);
+  }
+
+  @Override
+  public Mono<List<EntryVersionAcknowledgment>> createOrUpdateEntries(
+      CreateOrUpdateEntriesRequest request) {
+    AccessRecord access = accessLog.start("createOrUpdateEntries", request.repository(), null);
+    return timed(
+            "createOrUpdateEntries", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(
+            mono -> metrics.subscribeOn("createOrUpdateEntries", backend, mono, execution.writes()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_CREATE_ENTRY))
+        .flatMapMany(
+            p ->
+                Flux.fromIterable(request.entries())
+                    .flatMapSequential(
+                        entry -> saveOrUpdate(p.tenant(), request.repository(), entry),
+                        writeEntriesConcurrency))
+        .collectList()
+        .transform(mono -> timed("createOrUpdateEntries", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
+  }
+
+  private Mono<EntryVersionAcknowledgment> saveOrUpdate(
+      String tenant, String repositoryName, Entry entry) {
+    Document entryDocument = new Document(entry.key(), entry.value());
+    return Mono.defer(() -> repository.saveOrUpdate(tenant, repositoryName, entryDocument))
+        .map(document -> new EntryVersionAcknowledgment(entry.key(), document.version()))
+        .onErrorResume(
+            th -> !(th instanceof RepositoryNotFoundException),
+            th -> {
+              if (CLIENT_ERRORS.stream().noneMatch(type -> type.isInstance(th))) {
+                logger.warn(
+                    "createOrUpdateEntries: tenant: {}, repository: {}, key: {}, error: {}",
+                    tenant,
+                    repositoryName,
+                    entry.key(),
+                    th.toString());
+              }
+              return Mono.just(new EntryVersionAcknowledgment(entry.key(), null, th.getMessage()));
+            });
   }
 
   @Override
   public Mono<Acknowledgment> deleteEntry(DeleteEntryRequest request) {
-    return Mono.fromRunnable(() -> logger.debug("delete: enter: request: {}", request))
-        .then(Mono.defer(() -> validate(request)))
-        .subscribeOn(scheduler)
-        .then(checkAccess(request.apiKey(), ConfigurationService.CONFIG_DELETE_ENTRY))
+    AccessRecord access = accessLog.start("deleteEntry", request.repository(), request.key());
+    return timed("deleteEntry", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("deleteEntry", backend, mono, execution.writes()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_DELETE_ENTRY))
         .flatMap(p -> repository.delete(p.tenant(), request.repository(), request.key()))
         .thenReturn(ACK)
-        .doOnSuccess(result -> logger.debug("delete: request: {}", request))
-        .doOnError(th -> logger.error("delete: request: {}, error:", request, th));
+        .transform(mono -> timed("deleteEntry", LatencyMetrics.TOTAL, mono))
+        .transform(mono -> accessLogged(access, mono));
+  }
+
+  @Override
+  public Flux<WatchEntryResponse> watchEntry(WatchEntryRequest request) {
+    AccessRecord access = accessLog.start("watchEntry", request.repository(), request.key());
+    return timed("watchEntry", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("watchEntry", backend, mono, execution.reads()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_READ_ENTRY))
+        .flatMapMany(
+            p ->
+                watchEntry(
+                    p.tenant(), request.repository(), request.key(), intVersion(request.version())))
+        .transform(flux -> accessLogged(access, flux));
+  }
+
+  /**
+   * Replays the versions of the key missed since the given one and then polls the changes of the
+   * repository for the ones of the key. The revision is read before the replay, so no change made
+   * in between is lost. Versions which were already emitted are skipped, and the versions a key got
+   * between two polls are read from its history.
+   */
+  private Flux<WatchEntryResponse> watchEntry(
+      String tenant, String repositoryName, String key, Integer lastSeenVersion) {
+    return repository
+        .readRevision(tenant, repositoryName)
+        .flatMapMany(
+            revision -> {
+              Map<String, Integer> lastVersions = new HashMap<>();
+              Flux<WatchEntryResponse> missed =
+                  lastSeenVersion == null
+                      ? Flux.empty()
+                      : readVersionsAfter(tenant, repositoryName, key, lastSeenVersion, revision);
+              Flux<WatchEntryResponse> changes =
+                  pollChanges(tenant, repositoryName, revision)
+                      .filter(response -> response.key().equals(key))
+                      .concatMap(
+                          response -> {
+                            Integer lastVersion = lastVersions.get(key);
+                            return response.deleted()
+                                    || lastVersion == null
+                                    || lastVersion.equals(DELETED_VERSION)
+                                    || response.version() <= lastVersion + 1
+                                ? Flux.just(response)
+                                : readVersionsAfter(
+                                    tenant, repositoryName, key, lastVersion, response.revision());
+                          });
+              if (lastSeenVersion != null) {
+                lastVersions.put(key, lastSeenVersion);
+              }
+              return Flux.concat(missed, changes)
+                  .filter(response -> isNotSeen(response, lastVersions));
+            });
+  }
+
+  @Override
+  public Flux<WatchEntryResponse> watchRepository(WatchRepositoryRequest request) {
+    AccessRecord access = accessLog.start("watchRepository", request.repository(), null);
+    return timed("watchRepository", LatencyMetrics.VALIDATE, Mono.defer(() -> validate(request)))
+        .transform(mono -> metrics.subscribeOn("watchRepository", backend, mono, execution.reads()))
+        .then(checkAccess(access, request.apiKey(), ConfigurationService.CONFIG_READ_LIST))
+        .flatMapMany(
+            p -> watchRepository(p.tenant(), request.repository(), request.sinceRevision()))
+        .transform(flux -> accessLogged(access, flux));
+  }
+
+  /**
+   * Polls the changes of the repository since the given revision, or since the current one if none
+   * is given. Changes of a key which are not newer than its emitted version are skipped.
+   */
+  private Flux<WatchEntryResponse> watchRepository(
+      String tenant, String repositoryName, Long sinceRevision) {
+    Mono<Long> revision =
+        sinceRevision != null
+            ? Mono.just(sinceRevision)
+            : repository.readRevision(tenant, repositoryName);
+    return revision.flatMapMany(
+        since -> {
+          Map<String, Integer> lastVersions = new HashMap<>();
+          return pollChanges(tenant, repositoryName, since)
+              .filter(response -> isNotSeen(response, lastVersions));
+        });
+  }
+
+  /**
+   * Polls the changes of the repository after a revision. The change log is shared by all service
+   * nodes, so changes made through any of them are seen. Keys are emitted in order of the revisions
+   * of their last changes and carry them, so a watch may be resumed from any emitted revision. A
+   * key changed several times between two polls is emitted once, with its latest version.
+   */
+  private Flux<WatchEntryResponse> pollChanges(
+      String tenant, String repositoryName, long sinceRevision) {
+    AtomicLong revision = new AtomicLong(sinceRevision);
+    return Flux.interval(Duration.ZERO, watchPollInterval)
+        .onBackpressureDrop()
+        .concatMap(tick -> repository.readChanges(tenant, repositoryName, revision.get()), 1)
+        .concatMap(
+            changes -> {
+              if (changes.reset()) {
+                return Flux.error(
+                    new ResyncRequiredException(
+                        "Changes since revision " + revision.get() + " are no longer available"));
+              }
+              revision.set(changes.revision());
+              return Flux.fromIterable(writtenChanges(changes));
+            });
+  }
+
+  /**
+   * Gets the changes of keys up to the revision the changes are up to, in order of their revisions.
+   * Keys changed after it are left for the next poll.
+   */
+  private static List<WatchEntryResponse> writtenChanges(RepositoryChanges changes) {
+    List<WatchEntryResponse> responses = new ArrayList<>();
+    for (Document doc : changes.documents()) {
+      long keyRevision = keyRevision(changes, doc.key());
+      if (keyRevision <= changes.revision()) {
+        responses.add(
+            new WatchEntryResponse(doc.key(), doc.version(), doc.value(), false, keyRevision));
+      }
+    }
+    for (String key : changes.deletedKeys()) {
+      long keyRevision = keyRevision(changes, key);
+      if (keyRevision <= changes.revision()) {
+        responses.add(new WatchEntryResponse(key, null, null, true, keyRevision));
+      }
+    }
+    responses.sort(Comparator.comparing(WatchEntryResponse::revision));
+    return responses;
+  }
+
+  private static long keyRevision(RepositoryChanges changes, String key) {
+    Long keyRevision = changes.keyRevision(key);
+    return keyRevision != null ? keyRevision : changes.revision();
+  }
+
+  private Flux<WatchEntryResponse> readVersionsAfter(
+      String tenant, String repositoryName, String key, int afterVersion, long revision) {
+    return repository
+        .readHistory(tenant, repositoryName, key, afterVersion, null)
+        .map(doc -> new WatchEntryResponse(key, doc.version(), doc.value(), false, revision));
+  }
+
+  /**
+   * Tells whether a change of a key is not emitted yet and records its version as emitted. A
+   * deleted key may be created again starting from version 1.
+   */
+  private static boolean isNotSeen(WatchEntryResponse response, Map<String, Integer> lastVersions) {
+    if (response.deleted()) {
+      return !DELETED_VERSION.equals(lastVersions.put(response.key(), DELETED_VERSION));
+    }
+    Integer lastVersion = lastVersions.get(response.key());
+    if (lastVersion == null || response.version() > lastVersion) {
+      lastVersions.put(response.key(), response.version());
+      return true;
+    }
+    return false;
   }
 
   private static Integer intVersion(Object version) {
@@ -155,11 +596,58 @@ public class ConfigurationServiceImpl implements ConfigurationService {
     return (Integer) version;
   }
 
-  private Mono<Profile> checkAccess(Object apiKey, String resource) {
-    return Mono.defer(
-        () ->
-            accessControl
-                .check(apiKey.toString(), resource)
-                .onErrorMap(AuthenticationException.class, e -> new InvalidAuthenticationToken()));
+  private Mono<Profile> checkAccess(AccessRecord access, Object apiKey, String resource) {
+    return timed(
+            access.operation(),
+            LatencyMetrics.AUTH,
+            Mono.defer(
+                () ->
+                    accessControl
+                        .check(apiKey.toString(), resource)
+                        .onErrorMap(
+                            AuthenticationException.class, e -> new InvalidAuthenticationToken())))
+        .doOnNext(profile -> access.tenant(profile.tenant()));
+  }
+
+  private <T> Mono<T> accessLogged(AccessRecord access, Mono<T> mono) {
+    return accessLog.log(access, mono.doOnError(th -> logUnexpectedError(access, th)));
+  }
+
+  private <T> Flux<T> accessLogged(AccessRecord access, Flux<T> flux) {
+    return accessLog.log(access, flux.doOnError(th -> logUnexpectedError(access, th)));
+  }
+
+  /**
+   * Errors caused by the request are recorded by the access log alone, the others are logged with
+   * their stack trace.
+   */
+  private static void logUnexpectedError(AccessRecord access, Throwable th) {
+    if (CLIENT_ERRORS.stream().noneMatch(type -> type.isInstance(th))) {
+      logger.error(
+          "{}: tenant: {}, repository: {}, key: {}, error:",
+          access.operation(),
+          access.tenant(),
+          access.repository(),
+          access.key(),
+          th);
+    }
+  }
+
+  private <T> Mono<T> timed(String operation, String stage, Mono<T> mono) {
+    return metrics.time(operation, stage, backend, mono);
+  }
+
+  private <T> Flux<T> timed(String operation, String stage, Flux<T> flux) {
+    return metrics.time(operation, stage, backend, flux);
+  }
+
+  // started on first use and shared by the services created without their own access log
+  private static final class SharedAccessLog {
+
+    private static final AccessLog INSTANCE =
+        new AccessLog(
+            AppConfiguration.configRegistry()
+                .objectProperty("accessLog", AccessLogSettings.class)
+                .value(new AccessLogSettings()));
   }
 }
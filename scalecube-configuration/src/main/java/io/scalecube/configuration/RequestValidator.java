@@ -1,20 +1,55 @@
 package io.scalecube.configuration;
 
+import io.scalecube.configuration.api.CreateOrUpdateEntriesRequest;
 import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
 import io.scalecube.configuration.api.CreateRepositoryRequest;
 import io.scalecube.configuration.api.DeleteEntryRequest;
+import io.scalecube.configuration.api.Entry;
+import io.scalecube.configuration.api.EntryKey;
+import io.scalecube.configuration.api.ReadEntriesRequest;
 import io.scalecube.configuration.api.ReadEntryHistoryRequest;
 import io.scalecube.configuration.api.ReadEntryRequest;
+import io.scalecube.configuration.api.ReadListChangesRequest;
 import io.scalecube.configuration.api.ReadListRequest;
+import io.scalecube.configuration.api.WatchEntryRequest;
+import io.scalecube.configuration.api.WatchRepositoryRequest;
+import io.scalecube.configuration.repository.ValueEncoding;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import reactor.core.publisher.Mono;
 
 final class RequestValidator {
 
+  private static final int MAX_KEYS =
+      AppConfiguration.configRegistry().intValue("read.entries.max.keys", 1000);
+  private static final int MAX_ENTRIES =
+      AppConfiguration.configRegistry().intValue("write.entries.max.size", 1000);
+  // the Smile encoding is kept only to read the repositories created with it
+  private static final List<ValueEncoding> VALUE_ENCODINGS =
+      Arrays.asList(ValueEncoding.JSON, ValueEncoding.RAW);
+
   static Mono<Void> validate(CreateRepositoryRequest request) {
     return Mono.fromRunnable(
         () -> {
           validateToken(request.apiKey());
           validateRepository(request.repository());
+          if (request.maxVersions() != null && request.maxVersions() <= 0) {
+            throw new IllegalArgumentException("Max versions must be a positive number");
+          }
+          if (request.maxAgeSeconds() != null && request.maxAgeSeconds() <= 0) {
+            throw new IllegalArgumentException("Max age must be a positive number");
+          }
+          if (request.compressionThreshold() != null && request.compressionThreshold() <= 0) {
+            throw new IllegalArgumentException("Compression threshold must be a positive number");
+          }
+          if (request.valueEncoding() != null
+              && VALUE_ENCODINGS.stream()
+                  .noneMatch(
+                      encoding -> encoding.name().equalsIgnoreCase(request.valueEncoding()))) {
+            throw new IllegalArgumentException("Value encoding must be one of: json, raw");
+          }
         });
   }
 
@@ -25,6 +60,17 @@ final class RequestValidator {
           validateRepository(request.repository());
           validateKey(request.key());
           validateVersion(request.version());
+          validateVersion(request.knownVersion());
+          validateAsOf(request.version(), request.asOf());
+        });
+  }
+
+  static Mono<Void> validate(ReadEntriesRequest request) {
+    return Mono.fromRunnable(
+        () -> {
+          validateToken(request.apiKey());
+          validateRepository(request.repository());
+          validateKeys(request.keys());
         });
   }
 
@@ -34,6 +80,19 @@ final class RequestValidator {
           validateToken(request.apiKey());
           validateRepository(request.repository());
           validateVersion(request.version());
+          validateAsOf(request.version(), request.asOf());
+          if (request.knownVersions() != null) {
+            request.knownVersions().values().forEach(RequestValidator::validateVersion);
+          }
+        });
+  }
+
+  static Mono<Void> validate(ReadListChangesRequest request) {
+    return Mono.fromRunnable(
+        () -> {
+          validateToken(request.apiKey());
+          validateRepository(request.repository());
+          validateRevision(request.sinceRevision());
         });
   }
 
@@ -43,6 +102,7 @@ final class RequestValidator {
           validateToken(request.apiKey());
           validateRepository(request.repository());
           validateKey(request.key());
+          validateHistoryRange(request);
         });
   }
 
@@ -52,6 +112,18 @@ final class RequestValidator {
           validateToken(request.apiKey());
           validateRepository(request.repository());
           validateKey(request.key());
+          if (request.expectedVersion() != null && request.expectedVersion() <= 0) {
+            throw new IllegalArgumentException("Expected version must be a positive number");
+          }
+        });
+  }
+
+  static Mono<Void> validate(CreateOrUpdateEntriesRequest request) {
+    return Mono.fromRunnable(
+        () -> {
+          validateToken(request.apiKey());
+          validateRepository(request.repository());
+          validateEntries(request.entries());
         });
   }
 
@@ -64,6 +136,25 @@ final class RequestValidator {
         });
   }
 
+  static Mono<Void> validate(WatchEntryRequest request) {
+    return Mono.fromRunnable(
+        () -> {
+          validateToken(request.apiKey());
+          validateRepository(request.repository());
+          validateKey(request.key());
+          validateVersion(request.version());
+        });
+  }
+
+  static Mono<Void> validate(WatchRepositoryRequest request) {
+    return Mono.fromRunnable(
+        () -> {
+          validateToken(request.apiKey());
+          validateRepository(request.repository());
+          validateRevision(request.sinceRevision());
+        });
+  }
+
   private static void validateRepository(String repository) {
     if (repository == null || repository.trim().isEmpty()) {
       throw new IllegalArgumentException("Please specify 'repository'");
@@ -85,6 +176,74 @@ final class RequestValidator {
     }
   }
 
+  private static void validateRevision(Long revision) {
+    if (revision != null && revision < 0) {
+      throw new IllegalArgumentException("Revision must be a non-negative number");
+    }
+  }
+
+  private static void validateKeys(List<EntryKey> keys) {
+    if (keys == null || keys.isEmpty()) {
+      throw new IllegalArgumentException("Please specify 'keys'");
+    }
+    if (keys.size() > MAX_KEYS) {
+      throw new IllegalArgumentException("Please specify at most " + MAX_KEYS + " 'keys'");
+    }
+    for (EntryKey key : keys) {
+      if (key == null) {
+        throw new IllegalArgumentException("Please specify 'key'");
+      }
+      validateKey(key.key());
+      validateVersion(key.version());
+    }
+  }
+
+  private static void validateEntries(List<Entry> entries) {
+    if (entries == null || entries.isEmpty()) {
+      throw new IllegalArgumentException("Please specify 'entries'");
+    }
+    if (entries.size() > MAX_ENTRIES) {
+      throw new IllegalArgumentException("Please specify at most " + MAX_ENTRIES + " 'entries'");
+    }
+    Set<String> keys = new HashSet<>();
+    for (Entry entry : entries) {
+      if (entry == null) {
+        throw new IllegalArgumentException("Please specify 'key'");
+      }
+      validateKey(entry.key());
+      if (!keys.add(entry.key())) {
+        throw new IllegalArgumentException("Key '" + entry.key() + "' is specified more than once");
+      }
+    }
+  }
+
+  private static void validateHistoryRange(ReadEntryHistoryRequest request) {
+    if (request.latest() != null && (request.offset() != null || request.limit() != null)) {
+      throw new IllegalArgumentException("Please specify either 'latest' or 'offset'/'limit'");
+    }
+    if (request.offset() != null && request.offset() < 0) {
+      throw new IllegalArgumentException("Offset must be a non-negative number");
+    }
+    if (request.limit() != null && request.limit() <= 0) {
+      throw new IllegalArgumentException("Limit must be a positive number");
+    }
+    if (request.latest() != null && request.latest() <= 0) {
+      throw new IllegalArgumentException("Latest must be a positive number");
+    }
+  }
+
+  private static void validateAsOf(Object version, Long asOf) {
+    if (asOf == null) {
+      return;
+    }
+    if (version != null) {
+      throw new IllegalArgumentException("Please specify either 'version' or 'asOf'");
+    }
+    if (asOf <= 0) {
+      throw new IllegalArgumentException("AsOf must be a positive number");
+    }
+  }
+
   private static void validateVersion(Object version) {
     try {
       if (version == null
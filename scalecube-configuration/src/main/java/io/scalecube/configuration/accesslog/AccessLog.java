@@ -0,0 +1,157 @@
+package io.scalecube.configuration.accesslog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes one record per service call to the {@code io.scalecube.configuration.access} logger:
+ * operation, tenant, repository, key, outcome, latency and the number of items in the response.
+ *
+ * <p>Successful calls are sampled at the configured rate, failed ones are always recorded.
+ * Completed records are handed over to a bounded queue and written in batches by a single
+ * background thread, so calls never wait for the log. Records which don't fit in the queue are
+ * dropped and counted. Nothing is recorded while the access logger is disabled.
+ */
+public final class AccessLog {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AccessLog.class);
+  private static final Logger ACCESS_LOGGER =
+      LoggerFactory.getLogger("io.scalecube.configuration.access");
+
+  private static final String SUCCESS = "success";
+  private static final String CANCELLED = "cancelled";
+
+  private final double sampleRate;
+  private final int batchSize;
+  private final BlockingQueue<AccessRecord> queue;
+  private final LongAdder dropped = new LongAdder();
+  private final Thread writer;
+
+  /**
+   * Creates access log and starts its writer.
+   *
+   * @param settings access log settings.
+   */
+  public AccessLog(AccessLogSettings settings) {
+    this.sampleRate = settings.sampleRate();
+    this.batchSize = settings.batchSize();
+    this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+    this.writer = new Thread(this::write, "configuration-access-log");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Starts a record of a call.
+   *
+   * @param operation operation name.
+   * @param repository repository the call is made to, or null.
+   * @param key key the call is made to, or null.
+   * @return call record.
+   */
+  public AccessRecord start(String operation, String repository, String key) {
+    return new AccessRecord(operation, repository, key);
+  }
+
+  /**
+   * Records a call from subscription to its completion. Lists in the response count their elements,
+   * other responses count as one item.
+   *
+   * @param record call record.
+   * @param mono call.
+   * @return recorded call.
+   */
+  public <T> Mono<T> log(AccessRecord record, Mono<T> mono) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return mono.doOnSuccess(result -> succeed(record, result, start))
+              .doOnError(th -> complete(record, outcome(th), start))
+              .doOnCancel(() -> complete(record, CANCELLED, start));
+        });
+  }
+
+  /**
+   * Records a stream from subscription to its termination, counting its elements.
+   *
+   * @param record call record.
+   * @param flux stream.
+   * @return recorded stream.
+   */
+  public <T> Flux<T> log(AccessRecord record, Flux<T> flux) {
+    return Flux.defer(
+        () -> {
+          long start = System.nanoTime();
+          return flux.doOnNext(item -> record.addItem())
+              .doOnComplete(() -> complete(record, SUCCESS, start))
+              .doOnError(th -> complete(record, outcome(th), start))
+              .doOnCancel(() -> complete(record, CANCELLED, start));
+        });
+  }
+
+  private void succeed(AccessRecord record, Object result, long start) {
+    record.size(size(result));
+    complete(record, SUCCESS, start);
+  }
+
+  private static int size(Object result) {
+    if (result == null) {
+      return 0;
+    }
+    return result instanceof Collection ? ((Collection<?>) result).size() : 1;
+  }
+
+  private static String outcome(Throwable th) {
+    return th.getClass().getSimpleName();
+  }
+
+  private void complete(AccessRecord record, String outcome, long start) {
+    if (!ACCESS_LOGGER.isInfoEnabled()) {
+      return;
+    }
+    if (SUCCESS.equals(outcome)
+        && sampleRate < 1.0
+        && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+      return;
+    }
+    record.complete(outcome, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    if (!queue.offer(record)) {
+      dropped.increment();
+    }
+  }
+
+  private void write() {
+    List<AccessRecord> batch = new ArrayList<>(batchSize);
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        batch.add(queue.take());
+        queue.drainTo(batch, batchSize - 1);
+        for (AccessRecord record : batch) {
+          ACCESS_LOGGER.info("{}", record);
+        }
+        batch.clear();
+        long droppedRecords = dropped.sumThenReset();
+        if (droppedRecords > 0) {
+          LOGGER.warn("Access log queue is full, dropped {} records", droppedRecords);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Stops the writer, records still in the queue are not written. */
+  public void dispose() {
+    writer.interrupt();
+  }
+}
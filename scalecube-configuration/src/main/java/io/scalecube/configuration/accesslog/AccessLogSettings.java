@@ -0,0 +1,36 @@
+package io.scalecube.configuration.accesslog;
+
+public final class AccessLogSettings {
+
+  private static final double DEFAULT_SAMPLE_RATE = 1.0;
+  private static final int DEFAULT_QUEUE_CAPACITY = 8192;
+  private static final int DEFAULT_BATCH_SIZE = 256;
+
+  private Double sampleRate;
+  private Integer queueCapacity;
+  private Integer batchSize;
+
+  public double sampleRate() {
+    return sampleRate != null ? sampleRate : DEFAULT_SAMPLE_RATE;
+  }
+
+  public int queueCapacity() {
+    return queueCapacity != null ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+  }
+
+  public int batchSize() {
+    return batchSize != null ? batchSize : DEFAULT_BATCH_SIZE;
+  }
+
+  @Override
+  public String toString() {
+    return "AccessLogSettings{"
+        + "sampleRate="
+        + sampleRate()
+        + ", queueCapacity="
+        + queueCapacity()
+        + ", batchSize="
+        + batchSize()
+        + '}';
+  }
+}
@@ -0,0 +1,73 @@
+package io.scalecube.configuration.accesslog;
+
+/**
+ * Access log record of one service call. It's filled in as the call goes and written out once it
+ * has completed.
+ */
+public final class AccessRecord {
+
+  private final String operation;
+  private final String repository;
+  private final String key;
+  private String tenant;
+  private String outcome;
+  private long latencyMicros;
+  private int size;
+
+  AccessRecord(String operation, String repository, String key) {
+    this.operation = operation;
+    this.repository = repository;
+    this.key = key;
+  }
+
+  public String operation() {
+    return operation;
+  }
+
+  public String repository() {
+    return repository;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  public String tenant() {
+    return tenant;
+  }
+
+  public void tenant(String tenant) {
+    this.tenant = tenant;
+  }
+
+  void size(int size) {
+    this.size = size;
+  }
+
+  void addItem() {
+    size++;
+  }
+
+  void complete(String outcome, long latencyMicros) {
+    this.outcome = outcome;
+    this.latencyMicros = latencyMicros;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(128).append("operation=").append(operation);
+    append(sb, "tenant", tenant);
+    append(sb, "repository", repository);
+    append(sb, "key", key);
+    append(sb, "outcome", outcome);
+    sb.append(" latencyMicros=").append(latencyMicros);
+    sb.append(" size=").append(size);
+    return sb.toString();
+  }
+
+  private static void append(StringBuilder sb, String name, String value) {
+    if (value != null) {
+      sb.append(' ').append(name).append('=').append(value);
+    }
+  }
+}
@@ -2,11 +2,10 @@ package io.scalecube.configuration.authorization;
 
 import io.scalecube.account.api.Role;
 import io.scalecube.configuration.api.ConfigurationService;
-import io.scalecube.security.api.Authorizer;
 
 public class DefaultPermissions {
 
-  public static final Authorizer PERMISSIONS =
+  public static final Permissions PERMISSIONS =
       Permissions.builder()
           .grant(ConfigurationService.CONFIG_CREATE_REPO, Role.Owner)
           .grant(ConfigurationService.CONFIG_CREATE_ENTRY, Role.Owner, Role.Admin)
@@ -4,7 +4,6 @@ import io.scalecube.account.api.Role;
 import io.scalecube.configuration.api.InvalidPermissionsException;
 import io.scalecube.security.api.Authorizer;
 import io.scalecube.security.api.Profile;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -25,13 +24,24 @@ import reactor.core.publisher.Mono;
  */
 public class Permissions implements Authorizer {
 
-  private final Map<String, Set<String>> rolesForAllResources;
+  private static final String ROLE_CLAIM = "role";
+  private static final int MAX_ROLES = Integer.SIZE;
+
+  private final Map<String, Integer> resourceIndexes;
+  private final Map<String, Integer> roleBits;
+  private final int[] roleMasks;
 
   private Permissions(Builder builder) {
-    this.rolesForAllResources = new HashMap<>(builder.permissions.size());
+    this.resourceIndexes = new HashMap<>(builder.permissions.size());
+    this.roleBits = new HashMap<>();
+    this.roleMasks = new int[builder.permissions.size()];
     builder.permissions.forEach(
-        (action, subjects) -> {
-          this.rolesForAllResources.put(action, new HashSet<>(subjects));
+        (resource, roles) -> {
+          int index = resourceIndexes.size();
+          resourceIndexes.put(resource, index);
+          for (String role : roles) {
+            roleMasks[index] |= roleBit(role);
+          }
         });
   }
 
@@ -39,19 +49,41 @@ public class Permissions implements Authorizer {
     return new Builder();
   }
 
-  private Set<String> rolesByResource(String resource) {
-    return rolesForAllResources.getOrDefault(resource, Collections.emptySet());
+  private int roleBit(String role) {
+    Integer bit = roleBits.get(role);
+    if (bit == null) {
+      if (roleBits.size() == MAX_ROLES) {
+        throw new IllegalStateException("Too many roles, at most " + MAX_ROLES + " supported");
+      }
+      bit = 1 << roleBits.size();
+      roleBits.put(role, bit);
+    }
+    return bit;
   }
 
-  private static boolean isInRole(Profile profile, Set<String> roles) {
-    return roles.contains(profile.claim("role"));
+  /**
+   * Checks whether the role of the profile is granted access to the resource. The check is done in
+   * the calling thread against a table of role bitmasks by resource, compiled once from the grants,
+   * and allocates nothing.
+   *
+   * @param profile profile to check.
+   * @param resource name of the resource.
+   * @return true if the role of the profile is granted access to the resource.
+   */
+  public boolean isAllowed(Profile profile, String resource) {
+    Integer index = resourceIndexes.get(resource);
+    if (index == null) {
+      return false;
+    }
+    Integer bit = roleBits.get(profile.claim(ROLE_CLAIM));
+    return bit != null && (roleMasks[index] & bit) != 0;
   }
 
   @Override
   public Mono<Profile> authorize(Profile profile, String resource) {
-    return Mono.just(profile)
-        .filter(p -> isInRole(p, rolesByResource(resource)))
-        .switchIfEmpty(Mono.defer(() -> Mono.error(InvalidPermissionsException::new)));
+    return isAllowed(profile, resource)
+        ? Mono.just(profile)
+        : Mono.error(new InvalidPermissionsException());
   }
 
   public static class Builder {
@@ -68,14 +100,19 @@ public class Permissions implements Authorizer {
      */
     public Permissions.Builder grant(String resourceName, Role... roles) {
       for (Role subject : roles) {
-        permissions
-            .computeIfAbsent(resourceName, newAction -> new HashSet<>())
-            .add(subject.toString());
+        grant(resourceName, subject.toString());
+      }
+      return this;
+    }
+
+    Permissions.Builder grant(String resourceName, String... roles) {
+      for (String subject : roles) {
+        permissions.computeIfAbsent(resourceName, newAction -> new HashSet<>()).add(subject);
       }
       return this;
     }
 
-    public Authorizer build() {
+    public Permissions build() {
       return new Permissions(this);
     }
   }
@@ -0,0 +1,121 @@
+package io.scalecube.configuration.execution;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Fixed size thread pool with a bounded queue. Tasks submitted while the queue is full are
+ * rejected, which fails the operation they belong to instead of letting the queue grow without
+ * limit.
+ */
+public final class ExecutionPool implements ExecutionPoolMxBean {
+
+  private final String name;
+  private final int queueCapacity;
+  private final LongAdder rejected = new LongAdder();
+  private final ThreadPoolExecutor executor;
+  private final Scheduler scheduler;
+
+  /**
+   * Creates pool.
+   *
+   * @param name pool name, threads are named after it.
+   * @param threads number of threads.
+   * @param queueCapacity number of tasks which may wait for a thread.
+   */
+  public ExecutionPool(String name, int threads, int queueCapacity) {
+    this.name = name;
+    this.queueCapacity = queueCapacity;
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory(name),
+            (task, executor) -> {
+              rejected.increment();
+              throw new RejectedExecutionException(
+                  String.format("Execution pool '%s' is full", name));
+            });
+    this.scheduler = Schedulers.fromExecutor(executor);
+  }
+
+  private static ThreadFactory threadFactory(String name) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread =
+          new Thread(runnable, "configuration-" + name + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  public Scheduler scheduler() {
+    return scheduler;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public int getThreads() {
+    return executor.getPoolSize();
+  }
+
+  @Override
+  public int getActiveThreads() {
+    return executor.getActiveCount();
+  }
+
+  @Override
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  @Override
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  @Override
+  public long getCompletedCount() {
+    return executor.getCompletedTaskCount();
+  }
+
+  @Override
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  public void dispose() {
+    executor.shutdown();
+  }
+
+  @Override
+  public String toString() {
+    return "ExecutionPool{"
+        + "name='"
+        + name
+        + '\''
+        + ", threads="
+        + getThreads()
+        + ", activeThreads="
+        + getActiveThreads()
+        + ", queueDepth="
+        + getQueueDepth()
+        + ", rejected="
+        + getRejectedCount()
+        + '}';
+  }
+}
@@ -0,0 +1,22 @@
+package io.scalecube.configuration.execution;
+
+import javax.management.MXBean;
+
+/** Management view of an execution pool. */
+@MXBean
+public interface ExecutionPoolMxBean {
+
+  String getName();
+
+  int getThreads();
+
+  int getActiveThreads();
+
+  int getQueueDepth();
+
+  int getQueueCapacity();
+
+  long getCompletedCount();
+
+  long getRejectedCount();
+}
@@ -0,0 +1,43 @@
+package io.scalecube.configuration.execution;
+
+public final class ExecutionSettings {
+
+  private static final ExecutionStrategy DEFAULT_STRATEGY = ExecutionStrategy.POOL;
+  private static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+  private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+  private String strategy;
+  private Integer readThreads;
+  private Integer writeThreads;
+  private Integer queueCapacity;
+
+  public ExecutionStrategy strategy() {
+    return strategy != null ? ExecutionStrategy.valueOf(strategy.toUpperCase()) : DEFAULT_STRATEGY;
+  }
+
+  public int readThreads() {
+    return readThreads != null ? readThreads : DEFAULT_THREADS;
+  }
+
+  public int writeThreads() {
+    return writeThreads != null ? writeThreads : DEFAULT_THREADS;
+  }
+
+  public int queueCapacity() {
+    return queueCapacity != null ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+  }
+
+  @Override
+  public String toString() {
+    return "ExecutionSettings{"
+        + "strategy="
+        + strategy()
+        + ", readThreads="
+        + readThreads()
+        + ", writeThreads="
+        + writeThreads()
+        + ", queueCapacity="
+        + queueCapacity()
+        + '}';
+  }
+}
@@ -0,0 +1,17 @@
+package io.scalecube.configuration.execution;
+
+/**
+ * Where service operations run between the transport and the repository.
+ *
+ * <p>{@link #INLINE} runs validation and access checks on the transport event loop. It saves a
+ * thread hop and a queue wait on every call, which is what dominates latency of small reads, but a
+ * slow token check or a large value to encode holds up every connection on that loop.
+ *
+ * <p>{@link #POOL} runs them on bounded thread pools, one for reads and one for writes. It adds the
+ * hop to every call and rejects calls once a pool queue is full, in exchange for keeping the event
+ * loops free and writes from queueing behind bursts of reads.
+ */
+public enum ExecutionStrategy {
+  INLINE,
+  POOL
+}
@@ -0,0 +1,110 @@
+package io.scalecube.configuration.execution;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/** Schedulers service operations are run on, by operation class. */
+public final class ServiceExecution {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ServiceExecution.class);
+
+  private static final String MBEAN_NAME = "io.scalecube.configuration:type=ExecutionPool,name=%s";
+
+  private final Scheduler reads;
+  private final Scheduler writes;
+  private final List<ExecutionPool> pools;
+
+  private ServiceExecution(Scheduler reads, Scheduler writes, List<ExecutionPool> pools) {
+    this.reads = reads;
+    this.writes = writes;
+    this.pools = pools;
+  }
+
+  /**
+   * Creates schedulers by settings.
+   *
+   * @param settings execution settings.
+   * @return service execution.
+   */
+  public static ServiceExecution create(ExecutionSettings settings) {
+    if (settings.strategy() == ExecutionStrategy.INLINE) {
+      return inline();
+    }
+    return pooled(settings.readThreads(), settings.writeThreads(), settings.queueCapacity());
+  }
+
+  /**
+   * Creates schedulers which run reads and writes on separate bounded pools.
+   *
+   * @param readThreads number of threads running reads.
+   * @param writeThreads number of threads running writes.
+   * @param queueCapacity number of operations which may wait for a thread in each pool.
+   * @return service execution.
+   */
+  public static ServiceExecution pooled(int readThreads, int writeThreads, int queueCapacity) {
+    ExecutionPool reads = new ExecutionPool("read", readThreads, queueCapacity);
+    ExecutionPool writes = new ExecutionPool("write", writeThreads, queueCapacity);
+    return new ServiceExecution(
+        reads.scheduler(), writes.scheduler(), Arrays.asList(reads, writes));
+  }
+
+  /**
+   * Creates schedulers which run operations on the calling thread.
+   *
+   * @return service execution.
+   */
+  public static ServiceExecution inline() {
+    return new ServiceExecution(
+        Schedulers.immediate(), Schedulers.immediate(), Collections.emptyList());
+  }
+
+  /**
+   * Returns scheduler of operations which only read entries or watch them.
+   *
+   * @return scheduler.
+   */
+  public Scheduler reads() {
+    return reads;
+  }
+
+  /**
+   * Returns scheduler of operations which change repositories or entries.
+   *
+   * @return scheduler.
+   */
+  public Scheduler writes() {
+    return writes;
+  }
+
+  public List<ExecutionPool> pools() {
+    return pools;
+  }
+
+  /**
+   * Registers pools in the platform MBean server, so their queue depth, active threads and
+   * rejections can be monitored. Pools which fail to register are logged and left out.
+   */
+  public void registerMBeans() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    for (ExecutionPool pool : pools) {
+      try {
+        server.registerMBean(pool, new ObjectName(String.format(MBEAN_NAME, pool.getName())));
+      } catch (JMException e) {
+        LOGGER.warn("Failed to register execution pool '{}'", pool.getName(), e);
+      }
+    }
+  }
+
+  public void dispose() {
+    pools.forEach(ExecutionPool::dispose);
+  }
+}
@@ -0,0 +1,215 @@
+package io.scalecube.configuration.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Records latencies of service operations and repository calls into histograms, one per operation,
+ * stage, outcome and backend. Service operations are split into the stages a call goes through:
+ * waiting for a thread of its scheduler, request validation, access check and the whole call.
+ * Repository calls are recorded by {@code InstrumentedConfigurationRepository}.
+ *
+ * <p>Histograms are read and reset every reporting interval. The distributions of the last
+ * completed interval are logged and kept for {@link #getLatencies()}.
+ */
+public final class LatencyMetrics implements LatencyMetricsMxBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LatencyMetrics.class);
+
+  public static final String TOTAL = "total";
+  public static final String SCHEDULE = "schedule";
+  public static final String VALIDATE = "validate";
+  public static final String AUTH = "auth";
+  public static final String REPOSITORY = "repository";
+
+  private static final String SUCCESS = "success";
+  private static final String CANCELLED = "cancelled";
+  private static final String MBEAN_NAME = "io.scalecube.configuration:type=LatencyMetrics";
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Map<Key, Recorder> recorders = new ConcurrentHashMap<>();
+  private volatile List<LatencySnapshot> latencies = Collections.emptyList();
+
+  /**
+   * Times a call from subscription to its completion, error or cancellation.
+   *
+   * @param operation operation name.
+   * @param stage stage of the operation.
+   * @param backend repository backend.
+   * @param mono call to time.
+   * @return timed call.
+   */
+  public <T> Mono<T> time(String operation, String stage, String backend, Mono<T> mono) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return mono.doOnSuccess(result -> record(operation, stage, backend, SUCCESS, start))
+              .doOnError(th -> record(operation, stage, backend, outcome(th), start))
+              .doOnCancel(() -> record(operation, stage, backend, CANCELLED, start));
+        });
+  }
+
+  /**
+   * Times a stream from subscription to its completion, error or cancellation.
+   *
+   * @param operation operation name.
+   * @param stage stage of the operation.
+   * @param backend repository backend.
+   * @param flux stream to time.
+   * @return timed stream.
+   */
+  public <T> Flux<T> time(String operation, String stage, String backend, Flux<T> flux) {
+    return Flux.defer(
+        () -> {
+          long start = System.nanoTime();
+          return flux.doOnComplete(() -> record(operation, stage, backend, SUCCESS, start))
+              .doOnError(th -> record(operation, stage, backend, outcome(th), start))
+              .doOnCancel(() -> record(operation, stage, backend, CANCELLED, start));
+        });
+  }
+
+  /**
+   * Subscribes to a call on the given scheduler, recording the time it waits for a thread as the
+   * {@link #SCHEDULE} stage.
+   *
+   * @param operation operation name.
+   * @param backend repository backend.
+   * @param mono call to subscribe to.
+   * @param scheduler scheduler to subscribe on.
+   * @return call subscribed on the scheduler.
+   */
+  public <T> Mono<T> subscribeOn(
+      String operation, String backend, Mono<T> mono, Scheduler scheduler) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return mono.doOnSubscribe(s -> record(operation, SCHEDULE, backend, SUCCESS, start))
+              .subscribeOn(scheduler);
+        });
+  }
+
+  private void record(String operation, String stage, String backend, String outcome, long start) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    recorders
+        .computeIfAbsent(
+            new Key(operation, stage, outcome, backend), key -> new Recorder(SIGNIFICANT_DIGITS))
+        .recordValue(micros);
+  }
+
+  private static String outcome(Throwable th) {
+    return th.getClass().getSimpleName();
+  }
+
+  /**
+   * Completes the current interval, making its distributions available to {@link #getLatencies()},
+   * and starts a new one.
+   *
+   * @return distributions of the completed interval.
+   */
+  public List<LatencySnapshot> report() {
+    latencies =
+        recorders.entrySet().stream()
+            .map(entry -> snapshot(entry.getKey(), entry.getValue().getIntervalHistogram()))
+            .filter(snapshot -> snapshot.getCount() > 0)
+            .sorted(
+                Comparator.comparing(LatencySnapshot::getOperation)
+                    .thenComparing(LatencySnapshot::getStage)
+                    .thenComparing(LatencySnapshot::getBackend)
+                    .thenComparing(LatencySnapshot::getOutcome))
+            .collect(Collectors.toList());
+    return latencies;
+  }
+
+  private static LatencySnapshot snapshot(Key key, Histogram histogram) {
+    return new LatencySnapshot(
+        key.operation,
+        key.stage,
+        key.outcome,
+        key.backend,
+        histogram.getTotalCount(),
+        histogram.getValueAtPercentile(50),
+        histogram.getValueAtPercentile(90),
+        histogram.getValueAtPercentile(99),
+        histogram.getValueAtPercentile(99.9),
+        histogram.getMaxValue());
+  }
+
+  /**
+   * Completes an interval and logs its distributions every given period.
+   *
+   * @param interval reporting interval.
+   * @return handle to stop reporting.
+   */
+  public Disposable startReporting(Duration interval) {
+    return Flux.interval(interval, interval)
+        .onBackpressureDrop()
+        .subscribe(tick -> report().forEach(snapshot -> LOGGER.info("latency: {}", snapshot)));
+  }
+
+  /** Registers metrics in the platform MBean server, failures are logged. */
+  public void registerMBean() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(MBEAN_NAME));
+    } catch (JMException e) {
+      LOGGER.warn("Failed to register latency metrics", e);
+    }
+  }
+
+  @Override
+  public List<LatencySnapshot> getLatencies() {
+    return latencies;
+  }
+
+  private static final class Key {
+
+    private final String operation;
+    private final String stage;
+    private final String outcome;
+    private final String backend;
+
+    private Key(String operation, String stage, String outcome, String backend) {
+      this.operation = operation;
+      this.stage = stage;
+      this.outcome = outcome;
+      this.backend = backend;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return operation.equals(key.operation)
+          && stage.equals(key.stage)
+          && outcome.equals(key.outcome)
+          && backend.equals(key.backend);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(operation, stage, outcome, backend);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package io.scalecube.configuration.metrics;
+
+import java.util.List;
+import javax.management.MXBean;
+
+/** Management view of latency metrics. */
+@MXBean
+public interface LatencyMetricsMxBean {
+
+  /**
+   * Returns latency distributions of the last completed reporting interval.
+   *
+   * @return one snapshot per operation, stage, outcome and backend recorded in the interval.
+   */
+  List<LatencySnapshot> getLatencies();
+}
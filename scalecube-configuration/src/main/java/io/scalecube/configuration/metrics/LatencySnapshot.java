@@ -0,0 +1,104 @@
+package io.scalecube.configuration.metrics;
+
+/** Latency distribution of one operation stage over a reporting interval, in microseconds. */
+public final class LatencySnapshot {
+
+  private final String operation;
+  private final String stage;
+  private final String outcome;
+  private final String backend;
+  private final long count;
+  private final long p50;
+  private final long p90;
+  private final long p99;
+  private final long p999;
+  private final long max;
+
+  LatencySnapshot(
+      String operation,
+      String stage,
+      String outcome,
+      String backend,
+      long count,
+      long p50,
+      long p90,
+      long p99,
+      long p999,
+      long max) {
+    this.operation = operation;
+    this.stage = stage;
+    this.outcome = outcome;
+    this.backend = backend;
+    this.count = count;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+    this.p999 = p999;
+    this.max = max;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  public String getStage() {
+    return stage;
+  }
+
+  public String getOutcome() {
+    return outcome;
+  }
+
+  public String getBackend() {
+    return backend;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getP50() {
+    return p50;
+  }
+
+  public long getP90() {
+    return p90;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+
+  public long getP999() {
+    return p999;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "operation="
+        + operation
+        + ", stage="
+        + stage
+        + ", outcome="
+        + outcome
+        + ", backend="
+        + backend
+        + ", count="
+        + count
+        + ", p50="
+        + p50
+        + "us, p90="
+        + p90
+        + "us, p99="
+        + p99
+        + "us, p999="
+        + p999
+        + "us, max="
+        + max
+        + "us";
+  }
+}
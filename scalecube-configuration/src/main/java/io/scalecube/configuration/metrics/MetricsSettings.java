@@ -0,0 +1,17 @@
+package io.scalecube.configuration.metrics;
+
+public final class MetricsSettings {
+
+  private static final int DEFAULT_REPORT_INTERVAL_SECONDS = 60;
+
+  private Integer reportIntervalSeconds;
+
+  public int reportIntervalSeconds() {
+    return reportIntervalSeconds != null ? reportIntervalSeconds : DEFAULT_REPORT_INTERVAL_SECONDS;
+  }
+
+  @Override
+  public String toString() {
+    return "MetricsSettings{" + "reportIntervalSeconds=" + reportIntervalSeconds() + '}';
+  }
+}
@@ -0,0 +1,335 @@
+package io.scalecube.configuration.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.scalecube.config.ConfigRegistry;
+import io.scalecube.configuration.AppConfiguration;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link ConfigurationRepository} decorator which keeps a bounded node-local cache of read
+ * entries in front of the underlying repository.
+ *
+ * <p>Latest-version reads expire after the configured TTL, since another node may have changed the
+ * entry in the meantime. Pinned-version reads don't change while the key exists, but the key may be
+ * deleted and created again or its old versions removed by retention on another node, so they
+ * expire after their own, longer TTL. Pinned versions are grouped per key, so a key's versions are
+ * dropped at once.
+ *
+ * <p>Writes going through this node invalidate the cached latest version of the written key,
+ * creation and deletion of a key also invalidate its cached pinned versions. A read which started
+ * before an invalidation of its key doesn't cache its result, as it may predate the write.
+ */
+public class CachedConfigurationRepository
+    implements ConfigurationRepository, CachedConfigurationRepositoryMxBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachedConfigurationRepository.class);
+
+  private static final String MBEAN_NAME = "io.scalecube.configuration:type=EntryCache";
+  private static final int GENERATIONS = 1024;
+
+  private final ConfigRegistry configRegistry = AppConfiguration.configRegistry();
+
+  private final int cacheSize = configRegistry.intValue("entry.cache.max.size", 10000);
+  private final int expiresAfterSeconds = configRegistry.intValue("entry.cache.ttl", 5);
+  private final int pinnedExpiresAfterSeconds =
+      configRegistry.intValue("entry.cache.pinned.ttl", 300);
+
+  private final ConfigurationRepository delegate;
+  private final Cache<EntryKey, Document> latest;
+  private final Cache<EntryKey, Map<Integer, Document>> pinned;
+  private final StatsCounter pinnedCounter = new ConcurrentStatsCounter();
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATIONS);
+
+  /**
+   * Creates caching repository.
+   *
+   * @param delegate repository to read from on cache miss.
+   */
+  public CachedConfigurationRepository(ConfigurationRepository delegate) {
+    this.delegate = delegate;
+    this.latest =
+        Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(expiresAfterSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    this.pinned =
+        Caffeine.newBuilder()
+            .maximumWeight(cacheSize)
+            .<EntryKey, Map<Integer, Document>>weigher((entryKey, versions) -> versions.size())
+            .expireAfterWrite(pinnedExpiresAfterSeconds, TimeUnit.SECONDS)
+            .recordStats(() -> pinnedCounter)
+            .build();
+  }
+
+  /**
+   * Returns hit/miss/eviction counters of the latest-version reads cache.
+   *
+   * @return cache statistics.
+   */
+  public CacheStats latestStats() {
+    return latest.stats();
+  }
+
+  /**
+   * Returns hit/miss/eviction counters of the pinned-version reads cache. Evictions are counted per
+   * key, hits and misses per version.
+   *
+   * @return cache statistics.
+   */
+  public CacheStats pinnedStats() {
+    return pinnedCounter.snapshot();
+  }
+
+  @Override
+  public EntryCacheSnapshot getLatest() {
+    return new EntryCacheSnapshot(latestStats(), latest.estimatedSize());
+  }
+
+  @Override
+  public EntryCacheSnapshot getPinned() {
+    return new EntryCacheSnapshot(
+        pinnedStats(), pinned.asMap().values().stream().mapToLong(Map::size).sum());
+  }
+
+  /** Registers cache statistics in the platform MBean server, failures are logged. */
+  public void registerMBean() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(MBEAN_NAME));
+    } catch (JMException e) {
+      LOGGER.warn("Failed to register entry cache", e);
+    }
+  }
+
+  @Override
+  public String backend() {
+    return "cache+" + delegate.backend();
+  }
+
+  @Override
+  public Mono<Boolean> createRepository(Repository repository) {
+    return delegate.createRepository(repository);
+  }
+
+  @Override
+  public Mono<Document> read(String tenant, String repository, String key, Integer version) {
+    EntryKey entryKey = new EntryKey(tenant, repository, key);
+    return Mono.defer(
+        () -> {
+          Document document = cached(entryKey, version);
+          if (document != null) {
+            return Mono.just(document);
+          }
+          long generation = generation(entryKey);
+          return delegate
+              .read(tenant, repository, key, version)
+              .doOnNext(result -> cache(entryKey, version, generation, result));
+        });
+  }
+
+  @Override
+  public Flux<Document> readAll(String tenant, String repository, Integer version) {
+    return delegate.readAll(tenant, repository, version);
+  }
+
+  @Override
+  public Mono<Document> readAsOf(String tenant, String repository, String key, long timestamp) {
+    return delegate.readAsOf(tenant, repository, key, timestamp);
+  }
+
+  @Override
+  public Flux<Document> readAllAsOf(String tenant, String repository, long timestamp) {
+    return delegate.readAllAsOf(tenant, repository, timestamp);
+  }
+
+  @Override
+  public Flux<Document> readAllIfModified(
+      String tenant, String repository, Map<String, Integer> knownVersions) {
+    return delegate.readAllIfModified(tenant, repository, knownVersions);
+  }
+
+  @Override
+  public Mono<RepositoryChanges> readChanges(String tenant, String repository, Long sinceRevision) {
+    return delegate.readChanges(tenant, repository, sinceRevision);
+  }
+
+  @Override
+  public Mono<Long> readRevision(String tenant, String repository) {
+    return delegate.readRevision(tenant, repository);
+  }
+
+  @Override
+  public Mono<Integer> readVersion(String tenant, String repository, String key) {
+    return Mono.defer(
+        () -> {
+          Document document = latest.getIfPresent(new EntryKey(tenant, repository, key));
+          if (document != null && document.version() != null) {
+            return Mono.just(document.version());
+          }
+          return delegate.readVersion(tenant, repository, key);
+        });
+  }
+
+  @Override
+  public Flux<HistoryDocument> readHistory(String tenant, String repository, String key) {
+    return delegate.readHistory(tenant, repository, key);
+  }
+
+  @Override
+  public Flux<HistoryDocument> readHistory(
+      String tenant, String repository, String key, int offset, Integer limit) {
+    return delegate.readHistory(tenant, repository, key, offset, limit);
+  }
+
+  @Override
+  public Mono<Document> save(String tenant, String repository, Document doc) {
+    return delegate
+        .save(tenant, repository, doc)
+        .doOnSuccess(result -> invalidate(tenant, repository, doc.key()));
+  }
+
+  @Override
+  public Mono<Document> saveOrUpdate(String tenant, String repository, Document doc) {
+    return delegate
+        .saveOrUpdate(tenant, repository, doc)
+        .doOnSuccess(
+            result -> {
+              if (result.version() != null && result.version() == 1) {
+                invalidate(tenant, repository, doc.key());
+              } else {
+                invalidateLatest(tenant, repository, doc.key());
+              }
+            });
+  }
+
+  @Override
+  public Mono<Document> update(String tenant, String repository, Document doc) {
+    return delegate
+        .update(tenant, repository, doc)
+        .doOnSuccess(result -> invalidateLatest(tenant, repository, doc.key()));
+  }
+
+  @Override
+  public Mono<Document> update(
+      String tenant, String repository, Document doc, int expectedVersion) {
+    return delegate
+        .update(tenant, repository, doc, expectedVersion)
+        .doOnSuccess(result -> invalidateLatest(tenant, repository, doc.key()));
+  }
+
+  @Override
+  public Mono<Void> delete(String tenant, String repository, String key) {
+    return delegate
+        .delete(tenant, repository, key)
+        .doOnSuccess(result -> invalidate(tenant, repository, key));
+  }
+
+  private Document cached(EntryKey entryKey, Integer version) {
+    if (version == null) {
+      return latest.getIfPresent(entryKey);
+    }
+    // the per-key map is looked up without recording stats, hits and misses are counted per version
+    Map<Integer, Document> versions = pinned.asMap().get(entryKey);
+    Document document = versions != null ? versions.get(version) : null;
+    if (document != null) {
+      pinnedCounter.recordHits(1);
+    } else {
+      pinnedCounter.recordMisses(1);
+    }
+    return document;
+  }
+
+  private void cache(EntryKey entryKey, Integer version, long generation, Document document) {
+    // compute() runs under the key's lock, so an invalidation either is seen here or removes the
+    // entry after it's cached
+    if (version == null) {
+      latest
+          .asMap()
+          .compute(
+              entryKey, (k, current) -> generation(entryKey) == generation ? document : current);
+      return;
+    }
+    pinned
+        .asMap()
+        .compute(
+            entryKey,
+            (k, current) -> {
+              if (generation(entryKey) != generation) {
+                return current;
+              }
+              Map<Integer, Document> versions =
+                  current != null ? new HashMap<>(current) : new HashMap<>();
+              versions.put(version, document);
+              return versions;
+            });
+  }
+
+  private long generation(EntryKey entryKey) {
+    return generations.get(generationIndex(entryKey));
+  }
+
+  private void invalidateLatest(String tenant, String repository, String key) {
+    EntryKey entryKey = new EntryKey(tenant, repository, key);
+    generations.incrementAndGet(generationIndex(entryKey));
+    latest.invalidate(entryKey);
+  }
+
+  private void invalidate(String tenant, String repository, String key) {
+    EntryKey entryKey = new EntryKey(tenant, repository, key);
+    generations.incrementAndGet(generationIndex(entryKey));
+    latest.invalidate(entryKey);
+    // a deleted key may be created again starting from version 1
+    pinned.invalidate(entryKey);
+  }
+
+  private static int generationIndex(EntryKey entryKey) {
+    return (entryKey.hashCode() & Integer.MAX_VALUE) % GENERATIONS;
+  }
+
+  private static final class EntryKey {
+
+    private final String tenant;
+    private final String repository;
+    private final String key;
+
+    private EntryKey(String tenant, String repository, String key) {
+      this.tenant = tenant;
+      this.repository = repository;
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      EntryKey that = (EntryKey) o;
+      return tenant.equals(that.tenant)
+          && repository.equals(that.repository)
+          && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tenant, repository, key);
+    }
+  }
+}
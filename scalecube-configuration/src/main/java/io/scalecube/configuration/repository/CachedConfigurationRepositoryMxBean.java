@@ -0,0 +1,22 @@
+package io.scalecube.configuration.repository;
+
+import javax.management.MXBean;
+
+/** Management view of the entry cache. */
+@MXBean
+public interface CachedConfigurationRepositoryMxBean {
+
+  /**
+   * Returns statistics of the latest-version reads cache.
+   *
+   * @return cache statistics.
+   */
+  EntryCacheSnapshot getLatest();
+
+  /**
+   * Returns statistics of the pinned-version reads cache.
+   *
+   * @return cache statistics.
+   */
+  EntryCacheSnapshot getPinned();
+}
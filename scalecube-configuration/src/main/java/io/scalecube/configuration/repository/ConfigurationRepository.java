@@ -1,5 +1,6 @@
 package io.scalecube.configuration.repository;
 
+import java.util.Map;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -34,6 +35,72 @@ public interface ConfigurationRepository {
    */
   Flux<Document> readAll(String tenant, String repository, Integer version);
 
+  /**
+   * Fetch the version of a key which was the latest one at the given time.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository to fetch from.
+   * @param key of the document to fetch.
+   * @param timestamp point in time, milliseconds since the epoch.
+   * @return Document instance or empty if the key had no versions yet at that time.
+   */
+  Mono<Document> readAsOf(String tenant, String repository, String key, long timestamp);
+
+  /**
+   * Fetch the versions of all keys from a tenant repository which were the latest ones at the given
+   * time. Keys which had no versions yet at that time are skipped.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository to fetch from.
+   * @param timestamp point in time, milliseconds since the epoch.
+   * @return stream of Document instances in the repository.
+   */
+  Flux<Document> readAllAsOf(String tenant, String repository, long timestamp);
+
+  /**
+   * Fetch all keys from a tenant repository skipping the values which were not modified since the
+   * known versions. Documents of the keys which are still at the known version carry no value.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository to fetch from.
+   * @param knownVersions latest versions of the keys known to the caller.
+   * @return stream of Document instances in the repository.
+   */
+  Flux<Document> readAllIfModified(
+      String tenant, String repository, Map<String, Integer> knownVersions);
+
+  /**
+   * Fetch the keys of a tenant repository which were created, updated or deleted after the given
+   * revision. Every save, update and delete bumps the repository revision. If no revision is given
+   * or the changes since it are no longer available the whole repository is fetched instead.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository to fetch from.
+   * @param sinceRevision revision known to the caller or null.
+   * @return changes since the given revision.
+   */
+  Mono<RepositoryChanges> readChanges(String tenant, String repository, Long sinceRevision);
+
+  /**
+   * Fetch the latest revision of a tenant repository whose changes are all written, without
+   * fetching any keys. Changes after it are fetched by {@link #readChanges}.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository to fetch from.
+   * @return repository revision, 0 if nothing was changed yet.
+   */
+  Mono<Long> readRevision(String tenant, String repository);
+
+  /**
+   * Fetch the latest version number of a key without fetching its value.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository to fetch from.
+   * @param key of the document.
+   * @return latest version of the key.
+   */
+  Mono<Integer> readVersion(String tenant, String repository, String key);
+
   /**
    * Fetch a key history (all its version) from a tenant repository by key.
    *
@@ -44,6 +111,20 @@ public interface ConfigurationRepository {
    */
   Flux<HistoryDocument> readHistory(String tenant, String repository, String key);
 
+  /**
+   * Fetch a slice of a key history from a tenant repository by key.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository to fetch from.
+   * @param key of the document to fetch history.
+   * @param offset number of the oldest versions to skip, a negative offset selects that many latest
+   *     versions instead.
+   * @param limit maximum number of versions to fetch or null to fetch all the remaining ones.
+   * @return stream of the key versions in ascending order.
+   */
+  Flux<HistoryDocument> readHistory(
+      String tenant, String repository, String key, int offset, Integer limit);
+
   /**
    * Save a key from a tenant repository by key.
    *
@@ -54,6 +135,17 @@ public interface ConfigurationRepository {
    */
   Mono<Document> save(String tenant, String repository, Document doc);
 
+  /**
+   * Save or update a key in a tenant repository. A key which doesn't exist is created, otherwise it
+   * gets a new version.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository name to save to.
+   * @param doc the document to save.
+   * @return saved Document instance with its version.
+   */
+  Mono<Document> saveOrUpdate(String tenant, String repository, Document doc);
+
   /**
    * Update a key from a tenant repository by key.
    *
@@ -64,6 +156,18 @@ public interface ConfigurationRepository {
    */
   Mono<Document> update(String tenant, String repository, Document doc);
 
+  /**
+   * Update a key from a tenant repository by key only if its latest version is still the expected
+   * one.
+   *
+   * @param tenant namespace of the repository.
+   * @param repository name to update.
+   * @param doc the document to update.
+   * @param expectedVersion the version the key is expected to be at.
+   * @return Document instance with the new version.
+   */
+  Mono<Document> update(String tenant, String repository, Document doc, int expectedVersion);
+
   /**
    * Delete a key from a tenant repository by key.
    *
@@ -72,4 +176,13 @@ public interface ConfigurationRepository {
    * @param key of the document to delete.
    */
   Mono<Void> delete(String tenant, String repository, String key);
+
+  /**
+   * Names the data source behind this repository, latency recordings are tagged with it.
+   *
+   * @return backend name.
+   */
+  default String backend() {
+    return getClass().getSimpleName();
+  }
 }
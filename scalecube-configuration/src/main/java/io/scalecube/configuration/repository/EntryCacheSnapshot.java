@@ -0,0 +1,57 @@
+package io.scalecube.configuration.repository;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/** Statistics of an entry cache since it was created. */
+public final class EntryCacheSnapshot {
+
+  private final long hitCount;
+  private final long missCount;
+  private final double hitRate;
+  private final long evictionCount;
+  private final long size;
+
+  EntryCacheSnapshot(CacheStats stats, long size) {
+    this.hitCount = stats.hitCount();
+    this.missCount = stats.missCount();
+    this.hitRate = stats.hitRate();
+    this.evictionCount = stats.evictionCount();
+    this.size = size;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public double getHitRate() {
+    return hitRate;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "EntryCacheSnapshot{"
+        + "hitCount="
+        + hitCount
+        + ", missCount="
+        + missCount
+        + ", hitRate="
+        + hitRate
+        + ", evictionCount="
+        + evictionCount
+        + ", size="
+        + size
+        + '}';
+  }
+}
@@ -0,0 +1,126 @@
+package io.scalecube.configuration.repository;
+
+import io.scalecube.configuration.metrics.LatencyMetrics;
+import java.util.Map;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link ConfigurationRepository} decorator which records the latency of every call, tagged with
+ * the backend of the underlying repository.
+ */
+public class InstrumentedConfigurationRepository implements ConfigurationRepository {
+
+  private final ConfigurationRepository delegate;
+  private final LatencyMetrics metrics;
+  private final String backend;
+
+  /**
+   * Creates instrumented repository.
+   *
+   * @param delegate repository to time the calls of.
+   * @param metrics metrics to record into.
+   */
+  public InstrumentedConfigurationRepository(
+      ConfigurationRepository delegate, LatencyMetrics metrics) {
+    this.delegate = delegate;
+    this.metrics = metrics;
+    this.backend = delegate.backend();
+  }
+
+  @Override
+  public String backend() {
+    return backend;
+  }
+
+  @Override
+  public Mono<Boolean> createRepository(Repository repository) {
+    return time("createRepository", delegate.createRepository(repository));
+  }
+
+  @Override
+  public Mono<Document> read(String tenant, String repository, String key, Integer version) {
+    return time("read", delegate.read(tenant, repository, key, version));
+  }
+
+  @Override
+  public Flux<Document> readAll(String tenant, String repository, Integer version) {
+    return time("readAll", delegate.readAll(tenant, repository, version));
+  }
+
+  @Override
+  public Mono<Document> readAsOf(String tenant, String repository, String key, long timestamp) {
+    return time("readAsOf", delegate.readAsOf(tenant, repository, key, timestamp));
+  }
+
+  @Override
+  public Flux<Document> readAllAsOf(String tenant, String repository, long timestamp) {
+    return time("readAllAsOf", delegate.readAllAsOf(tenant, repository, timestamp));
+  }
+
+  @Override
+  public Flux<Document> readAllIfModified(
+      String tenant, String repository, Map<String, Integer> knownVersions) {
+    return time("readAllIfModified", delegate.readAllIfModified(tenant, repository, knownVersions));
+  }
+
+  @Override
+  public Mono<RepositoryChanges> readChanges(String tenant, String repository, Long sinceRevision) {
+    return time("readChanges", delegate.readChanges(tenant, repository, sinceRevision));
+  }
+
+  @Override
+  public Mono<Long> readRevision(String tenant, String repository) {
+    return time("readRevision", delegate.readRevision(tenant, repository));
+  }
+
+  @Override
+  public Mono<Integer> readVersion(String tenant, String repository, String key) {
+    return time("readVersion", delegate.readVersion(tenant, repository, key));
+  }
+
+  @Override
+  public Flux<HistoryDocument> readHistory(String tenant, String repository, String key) {
+    return time("readHistory", delegate.readHistory(tenant, repository, key));
+  }
+
+  @Override
+  public Flux<HistoryDocument> readHistory(
+      String tenant, String repository, String key, int offset, Integer limit) {
+    return time("readHistory", delegate.readHistory(tenant, repository, key, offset, limit));
+  }
+
+  @Override
+  public Mono<Document> save(String tenant, String repository, Document doc) {
+    return time("save", delegate.save(tenant, repository, doc));
+  }
+
+  @Override
+  public Mono<Document> saveOrUpdate(String tenant, String repository, Document doc) {
+    return time("saveOrUpdate", delegate.saveOrUpdate(tenant, repository, doc));
+  }
+
+  @Override
+  public Mono<Document> update(String tenant, String repository, Document doc) {
+    return time("update", delegate.update(tenant, repository, doc));
+  }
+
+  @Override
+  public Mono<Document> update(
+      String tenant, String repository, Document doc, int expectedVersion) {
+    return time("update", delegate.update(tenant, repository, doc, expectedVersion));
+  }
+
+  @Override
+  public Mono<Void> delete(String tenant, String repository, String key) {
+    return time("delete", delegate.delete(tenant, repository, key));
+  }
+
+  private <T> Mono<T> time(String operation, Mono<T> mono) {
+    return metrics.time(operation, LatencyMetrics.REPOSITORY, backend, mono);
+  }
+
+  private <T> Flux<T> time(String operation, Flux<T> flux) {
+    return metrics.time(operation, LatencyMetrics.REPOSITORY, backend, flux);
+  }
+}
@@ -4,10 +4,46 @@ package io.scalecube.configuration.repository;
 public class Repository {
   private final String namespace;
   private final String name;
+  private final Retention retention;
+  private final Integer compressionThreshold;
+  private final ValueEncoding valueEncoding;
 
   public Repository(String namespace, String name) {
+    this(namespace, name, null);
+  }
+
+  /**
+   * Constructs a repository object.
+   *
+   * @param namespace the repository namespace.
+   * @param name the repository name.
+   * @param retention history retention, or null to keep all versions.
+   */
+  public Repository(String namespace, String name, Retention retention) {
+    this(namespace, name, retention, null, null);
+  }
+
+  /**
+   * Constructs a repository object.
+   *
+   * @param namespace the repository namespace.
+   * @param name the repository name.
+   * @param retention history retention, or null to keep all versions.
+   * @param compressionThreshold size in bytes of values to store compressed, or null to store all
+   *     values as is.
+   * @param valueEncoding storage format of values, or null for JSON.
+   */
+  public Repository(
+      String namespace,
+      String name,
+      Retention retention,
+      Integer compressionThreshold,
+      ValueEncoding valueEncoding) {
     this.namespace = namespace;
     this.name = name;
+    this.retention = retention;
+    this.compressionThreshold = compressionThreshold;
+    this.valueEncoding = valueEncoding;
   }
 
   /**
@@ -29,8 +65,38 @@ public class Repository {
     return name;
   }
 
+  /**
+   * Returns the history retention of this repository.
+   *
+   * @return the retention or null if all versions are kept
+   */
+  public Retention retention() {
+    return retention;
+  }
+
+  /**
+   * Returns the size of values from which they are stored compressed.
+   *
+   * @return the size in bytes or null if values are stored as is
+   */
+  public Integer compressionThreshold() {
+    return compressionThreshold;
+  }
+
+  /**
+   * Returns the storage format of values of this repository.
+   *
+   * @return the encoding or null if values are stored as JSON
+   */
+  public ValueEncoding valueEncoding() {
+    return valueEncoding;
+  }
+
   @Override
   public String toString() {
-    return super.toString() + String.format("[namespace=%s, name=%s]", namespace, name);
+    return super.toString()
+        + String.format(
+            "[namespace=%s, name=%s, retention=%s, compressionThreshold=%s, valueEncoding=%s]",
+            namespace, name, retention, compressionThreshold, valueEncoding);
   }
 }
@@ -0,0 +1,85 @@
+package io.scalecube.configuration.repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** Represents the changes of a repository up to some revision. */
+public class RepositoryChanges {
+
+  private final long revision;
+  private final boolean reset;
+  private final List<Document> documents;
+  private final List<String> deletedKeys;
+  private final Map<String, Long> keyRevisions;
+
+  /**
+   * Constructs a changes object which tells no revisions of the changed keys.
+   *
+   * @param revision repository revision the changes are up to.
+   * @param reset whether documents hold the whole repository rather than the changes only.
+   * @param documents latest versions of created or updated keys.
+   * @param deletedKeys deleted keys.
+   */
+  public RepositoryChanges(
+      long revision, boolean reset, List<Document> documents, List<String> deletedKeys) {
+    this(revision, reset, documents, deletedKeys, Collections.emptyMap());
+  }
+
+  /**
+   * Constructs a changes object.
+   *
+   * @param revision repository revision the changes are up to.
+   * @param reset whether documents hold the whole repository rather than the changes only.
+   * @param documents latest versions of created or updated keys.
+   * @param deletedKeys deleted keys.
+   * @param keyRevisions revision of the last change of every changed key.
+   */
+  public RepositoryChanges(
+      long revision,
+      boolean reset,
+      List<Document> documents,
+      List<String> deletedKeys,
+      Map<String, Long> keyRevisions) {
+    this.revision = revision;
+    this.reset = reset;
+    this.documents = documents;
+    this.deletedKeys = deletedKeys;
+    this.keyRevisions = keyRevisions;
+  }
+
+  public long revision() {
+    return revision;
+  }
+
+  public boolean reset() {
+    return reset;
+  }
+
+  public List<Document> documents() {
+    return documents;
+  }
+
+  public List<String> deletedKeys() {
+    return deletedKeys;
+  }
+
+  /**
+   * Returns the revision of the last change of a changed key. A key changed after the revision the
+   * changes are up to is read again with the changes after it.
+   *
+   * @param key changed key.
+   * @return revision of the last change of the key or null if it's not known.
+   */
+  public Long keyRevision(String key) {
+    return keyRevisions.get(key);
+  }
+
+  @Override
+  public String toString() {
+    return super.toString()
+        + String.format(
+            " [revision=%s, reset=%s, documents=%s, deletedKeys=%s]",
+            revision, reset, documents.size(), deletedKeys);
+  }
+}
@@ -0,0 +1,36 @@
+package io.scalecube.configuration.repository;
+
+/**
+ * Represents the history retention of a repository. Versions beyond either limit are trimmed by
+ * compaction, the latest version of a key is always kept.
+ */
+public class Retention {
+
+  private final Integer maxVersions;
+  private final Long maxAgeSeconds;
+
+  /**
+   * Constructs a retention object.
+   *
+   * @param maxVersions number of latest versions to keep per key, or null for no limit.
+   * @param maxAgeSeconds age of versions to keep, or null for no limit.
+   */
+  public Retention(Integer maxVersions, Long maxAgeSeconds) {
+    this.maxVersions = maxVersions;
+    this.maxAgeSeconds = maxAgeSeconds;
+  }
+
+  public Integer maxVersions() {
+    return maxVersions;
+  }
+
+  public Long maxAgeSeconds() {
+    return maxAgeSeconds;
+  }
+
+  @Override
+  public String toString() {
+    return super.toString()
+        + String.format(" [maxVersions=%s, maxAgeSeconds=%s]", maxVersions, maxAgeSeconds);
+  }
+}
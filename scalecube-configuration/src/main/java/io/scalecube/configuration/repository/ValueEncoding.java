@@ -0,0 +1,26 @@
+package io.scalecube.configuration.repository;
+
+/** Represents the format entry values of a repository are stored in. */
+public enum ValueEncoding {
+
+  /** Values are stored as JSON, readable by any client of the storage. */
+  JSON,
+
+  /**
+   * Values were stored in the binary Smile format. New repositories can't use it and new versions
+   * in the repositories which do are stored as JSON, their Smile versions still read back.
+   *
+   * <p>Key documents are JSON, as versions are appended and read with sub-document operations, so
+   * the Smile bytes had to be kept as Base64 text which takes a third more. A large value is better
+   * off compressed, and compressed JSON text of a repository with the raw encoding takes about the
+   * same space as compressed Smile and decodes in half the time, as measured by {@code
+   * ValueCodecBenchmark}.
+   *
+   * @deprecated use {@link #RAW} with a compression threshold for large values.
+   */
+  @Deprecated
+  SMILE,
+
+  /** Values are stored as their JSON text as received and are served without being parsed. */
+  RAW
+}
@@ -0,0 +1,331 @@
+package io.scalecube.configuration.repository.couchbase;
+
+import com.couchbase.client.core.message.kv.subdoc.multi.Lookup;
+import com.couchbase.client.java.AsyncBucket;
+import com.couchbase.client.java.document.JsonDocument;
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import com.couchbase.client.java.error.CASMismatchException;
+import com.couchbase.client.java.error.DocumentAlreadyExistsException;
+import com.couchbase.client.java.error.DocumentDoesNotExistException;
+import com.couchbase.client.java.subdoc.DocumentFragment;
+import com.couchbase.client.java.subdoc.SubdocOptionsBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import rx.RxReactiveStreams;
+
+/**
+ * Log of the changes of a repository, kept in a single document holding the latest revision and one
+ * entry per revision for the last {@code limit} revisions.
+ *
+ * <p>A revision is reserved and its change logged in one mutation while the change is written, so a
+ * change takes a single round trip. The same mutation drops the oldest entry, so the document keeps
+ * its size and is never trimmed. Every change carries a random token, logged along with it and
+ * stamped on the key document in the same mutation as the change itself, which tells a written
+ * change from one still in flight. A change which is known to have failed is marked as aborted by
+ * an entry of its own, one which fails in an unknown way stays in flight until {@link
+ * #WRITE_TIMEOUT_MILLIS} passes. The limit should exceed the number of changes a repository takes
+ * within that time, as a change dropped from the log while in flight is not waited for.
+ */
+final class ChangeLog {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChangeLog.class);
+
+  // a change not written within this time is taken as failed, well above the key-value timeout
+  static final long WRITE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private static final String REVISION = "revision";
+  private static final String ENTRIES = "log";
+  private static final String OLDEST_ENTRY = ENTRIES + "[0]";
+
+  // entries are [type, key, time, token] or [type, aborted revision, time] arrays to keep the log
+  // compact, the entries written before changes had tokens have none
+  private static final int CHANGED = 0;
+  private static final int DELETED = 1;
+  private static final int ABORTED = 2;
+
+  // fields of the entries written before they were kept as arrays
+  private static final String LEGACY_KEY = "key";
+  private static final String LEGACY_DELETED = "deleted";
+  private static final String LEGACY_TIME = "time";
+
+  private final AsyncBucket bucket;
+  private final int limit;
+
+  ChangeLog(AsyncBucket bucket, int limit) {
+    this.bucket = bucket;
+    this.limit = limit;
+  }
+
+  /**
+   * Reserves the next revision of a repository for a change of a key.
+   *
+   * @param changesId change log document id.
+   * @param key changed key.
+   * @param deleted whether the key is deleted.
+   * @param token token the key document is stamped with by the change.
+   * @return reserved revision.
+   */
+  Mono<Long> reserve(String changesId, String key, boolean deleted, long token) {
+    return append(changesId, JsonArray.from(deleted ? DELETED : CHANGED, key, now(), token));
+  }
+
+  /**
+   * Marks a reserved revision whose change is known to have failed, so readers don't wait for it.
+   * Failing to do so only delays readers, so it's logged and not propagated.
+   *
+   * @param changesId change log document id.
+   * @param revision reserved revision.
+   * @return completion signal.
+   */
+  Mono<Void> abort(String changesId, long revision) {
+    return append(changesId, JsonArray.from(ABORTED, revision, now()))
+        .onErrorResume(
+            th -> {
+              LOGGER.warn("Failed to abort revision {} of {}: {}", revision, changesId, th);
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  /**
+   * Reads the log. A log kept before it had a fixed size is padded up to the limit.
+   *
+   * @param changesId change log document id.
+   * @return the log, empty at revision 0 if nothing was changed yet.
+   */
+  Mono<Log> read(String changesId) {
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                bucket.lookupIn(changesId).get(REVISION).get(ENTRIES).execute()))
+        .flatMap(fragment -> pad(changesId, fragment).thenReturn(toLog(fragment)))
+        .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.empty())
+        .defaultIfEmpty(new Log(0, 0, new ArrayList<>()));
+  }
+
+  private Mono<Long> append(String changesId, JsonArray entry) {
+    Mono<Long> append = Mono.defer(() -> appendOnce(changesId, entry));
+    return append.onErrorResume(
+        DocumentDoesNotExistException.class, e -> create(changesId).then(append));
+  }
+
+  private Mono<Long> appendOnce(String changesId, JsonArray entry) {
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                bucket
+                    .mutateIn(changesId)
+                    .counter(REVISION, 1)
+                    .arrayAppend(ENTRIES, entry)
+                    .remove(OLDEST_ENTRY)
+                    .execute()))
+        .map(fragment -> fragment.content(REVISION, Long.class));
+  }
+
+  private Mono<Void> create(String changesId) {
+    JsonObject content =
+        JsonObject.create()
+            .put(REVISION, 0L)
+            .put(ENTRIES, JsonArray.from(new ArrayList<Object>(Collections.nCopies(limit, null))));
+    return Mono.from(
+            RxReactiveStreams.toPublisher(bucket.insert(JsonDocument.create(changesId, content))))
+        .onErrorResume(DocumentAlreadyExistsException.class, e -> Mono.empty())
+        .then();
+  }
+
+  /**
+   * Pads the log with empty entries before the oldest one, which stand for revisions no longer
+   * logged. Only a log which is modified meanwhile is skipped, it's padded on a later read.
+   */
+  private Mono<Void> pad(String changesId, DocumentFragment<Lookup> fragment) {
+    int size = arrayOf(fragment, 1).size();
+    if (size >= limit) {
+      return Mono.empty();
+    }
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                bucket
+                    .mutateIn(changesId)
+                    .withCas(fragment.cas())
+                    .arrayPrependAll(
+                        ENTRIES,
+                        new ArrayList<Object>(Collections.nCopies(limit - size, null)),
+                        SubdocOptionsBuilder.builder().createPath(true))
+                    .execute()))
+        .onErrorResume(
+            th -> {
+              if (!(th instanceof CASMismatchException)) {
+                LOGGER.warn("Failed to pad change log {}: {}", changesId, th);
+              }
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  private static Log toLog(DocumentFragment<Lookup> fragment) {
+    long revision = fragment.exists(0) ? ((Number) fragment.content(0)).longValue() : 0;
+    JsonArray entries = arrayOf(fragment, 1);
+    long first = revision - entries.size() + 1;
+    Set<Long> aborted = new HashSet<>();
+    List<Change> changes = new ArrayList<>();
+    long base = first - 1;
+    for (int i = 0; i < entries.size(); i++) {
+      Object entry = entries.get(i);
+      if (entry == null) {
+        // revisions before the padding are no longer logged
+        base = first + i;
+      } else if (entry instanceof JsonObject) {
+        JsonObject legacy = (JsonObject) entry;
+        changes.add(
+            new Change(
+                first + i,
+                legacy.getString(LEGACY_KEY),
+                legacy.getBoolean(LEGACY_DELETED),
+                legacy.getLong(LEGACY_TIME),
+                null));
+      } else {
+        JsonArray fields = (JsonArray) entry;
+        int type = fields.getInt(0);
+        if (type == ABORTED) {
+          aborted.add(((Number) fields.get(1)).longValue());
+        } else {
+          changes.add(
+              new Change(
+                  first + i,
+                  fields.getString(1),
+                  type == DELETED,
+                  ((Number) fields.get(2)).longValue(),
+                  fields.size() > 3 ? ((Number) fields.get(3)).longValue() : null));
+        }
+      }
+    }
+    changes.removeIf(change -> aborted.contains(change.revision));
+    return new Log(revision, base, changes);
+  }
+
+  private static JsonArray arrayOf(DocumentFragment<Lookup> fragment, int index) {
+    return fragment.exists(index) ? (JsonArray) fragment.content(index) : JsonArray.empty();
+  }
+
+  private static long now() {
+    return System.currentTimeMillis();
+  }
+
+  static final class Log {
+
+    private final long revision;
+    private final long base;
+    private final List<Change> changes;
+
+    private Log(long revision, long base, List<Change> changes) {
+      this.revision = revision;
+      this.base = base;
+      this.changes = changes;
+    }
+
+    long revision() {
+      return revision;
+    }
+
+    /**
+     * Tells whether the changes after a revision are still in the log.
+     *
+     * @param revision revision the changes are after.
+     * @return whether the changes are in the log.
+     */
+    boolean covers(long revision) {
+      return revision >= base && revision <= this.revision;
+    }
+
+    /**
+     * Gets the last change of every key changed after a revision.
+     *
+     * @param revision revision the changes are after.
+     * @return last changes in order of their revisions.
+     */
+    Collection<Change> lastChangesAfter(long revision) {
+      Map<String, Change> lastChanges = new LinkedHashMap<>();
+      for (Change change : changes) {
+        if (change.revision > revision) {
+          lastChanges.remove(change.key);
+          lastChanges.put(change.key, change);
+        }
+      }
+      return lastChanges.values();
+    }
+
+    /**
+     * Gets the last change of every key changed recently enough to be still in flight.
+     *
+     * @param now current time.
+     * @return last recent changes in order of their revisions.
+     */
+    Collection<Change> lastRecentChanges(long now) {
+      for (Change change : changes) {
+        if (change.time >= now - WRITE_TIMEOUT_MILLIS) {
+          return lastChangesAfter(change.revision - 1);
+        }
+      }
+      return new ArrayList<>();
+    }
+  }
+
+  static final class Change {
+
+    private final long revision;
+    private final String key;
+    private final boolean deleted;
+    private final long time;
+    private final Long token;
+
+    private Change(long revision, String key, boolean deleted, long time, Long token) {
+      this.revision = revision;
+      this.key = key;
+      this.deleted = deleted;
+      this.time = time;
+      this.token = token;
+    }
+
+    long revision() {
+      return revision;
+    }
+
+    String key() {
+      return key;
+    }
+
+    boolean deleted() {
+      return deleted;
+    }
+
+    /**
+     * Tells whether the change is written given the stamps of its key document. A change logged
+     * before changes had tokens is written once the document is stamped with its revision or a
+     * later one.
+     *
+     * @param stamp revision the key document is stamped with, 0 if none, or null if there is no
+     *     document.
+     * @param stampToken token the key document is stamped with, or null if none.
+     * @param now current time.
+     * @return whether the change is written, or taken as failed after the write timeout.
+     */
+    boolean isWritten(Long stamp, Long stampToken, long now) {
+      if (time < now - WRITE_TIMEOUT_MILLIS) {
+        return true;
+      }
+      if (stamp == null) {
+        return deleted;
+      }
+      return token == null ? stamp >= revision : !deleted && token.equals(stampToken);
+    }
+  }
+}
@@ -1,62 +1,227 @@
 package io.scalecube.configuration.repository.couchbase;
 
+import com.couchbase.client.core.message.kv.subdoc.multi.Lookup;
 import com.couchbase.client.java.AsyncBucket;
-import com.couchbase.client.java.document.AbstractDocument;
+import com.couchbase.client.java.datastructures.MutationOptionBuilder;
 import com.couchbase.client.java.document.JsonArrayDocument;
+import com.couchbase.client.java.document.JsonDocument;
 import com.couchbase.client.java.document.json.JsonArray;
 import com.couchbase.client.java.document.json.JsonObject;
+import com.couchbase.client.java.error.CASMismatchException;
 import com.couchbase.client.java.error.DocumentAlreadyExistsException;
 import com.couchbase.client.java.error.DocumentDoesNotExistException;
 import com.couchbase.client.java.error.subdoc.PathNotFoundException;
+import com.couchbase.client.java.subdoc.AsyncLookupInBuilder;
+import com.couchbase.client.java.subdoc.AsyncMutateInBuilder;
+import com.couchbase.client.java.subdoc.DocumentFragment;
+import com.couchbase.client.java.subdoc.SubdocOptionsBuilder;
+import com.couchbase.client.java.view.AsyncViewRow;
 import com.couchbase.client.java.view.ViewQuery;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.scalecube.configuration.api.RawJson;
 import io.scalecube.configuration.repository.ConfigurationRepository;
 import io.scalecube.configuration.repository.Document;
 import io.scalecube.configuration.repository.HistoryDocument;
 import io.scalecube.configuration.repository.Repository;
+import io.scalecube.configuration.repository.RepositoryChanges;
+import io.scalecube.configuration.repository.Retention;
+import io.scalecube.configuration.repository.ValueEncoding;
+import io.scalecube.configuration.repository.couchbase.ChangeLog.Change;
 import io.scalecube.configuration.repository.exception.DataAccessException;
 import io.scalecube.configuration.repository.exception.KeyNotFoundException;
+import io.scalecube.configuration.repository.exception.KeyVersionConflictException;
 import io.scalecube.configuration.repository.exception.KeyVersionNotFoundException;
 import io.scalecube.configuration.repository.exception.RepositoryAlreadyExistsException;
 import io.scalecube.configuration.repository.exception.RepositoryKeyAlreadyExistsException;
 import io.scalecube.configuration.repository.exception.RepositoryNotFoundException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import reactor.core.publisher.UnicastProcessor;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 import rx.RxReactiveStreams;
 
 public class CouchbaseRepository implements ConfigurationRepository {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(CouchbaseRepository.class);
+
   private static final String REPOSITORY_ALREADY_EXISTS =
       "Repository with name: '%s' already exists";
   private static final String REPOSITORY_NOT_FOUND = "Repository '%s' not found";
   private static final String REPOSITORY_OR_ITS_KEY_NOT_FOUND =
       "Repository '%s' or its key '%s' not found";
+  private static final String KEY_VERSION_CONFLICT = "Key '%s' was modified after version '%s'";
   private static final String DELIMITER = "::";
+  // id of the legacy single registry document and prefix of the per-tenant ones
   private static final String REPOS = "repos";
+  private static final String CHANGES = "changes";
+  // marker document telling that every key document has a version counter
+  private static final String VERSION_COUNTERS_MIGRATED = "migrations::versionCounters";
+  // extended attribute of a key document holding the write time of every version
+  private static final String TIMES = "times";
+  // extended attribute of a key document holding its latest version number
+  private static final String VERSION = "version";
+  // extended attribute of a key document holding the number of versions moved out of it by
+  // archiving or compaction
+  private static final String BASE = "base";
+  // extended attribute of a key document holding the first version still kept in the archive
+  private static final String ARCHIVE_START = "archiveStart";
+  // extended attribute of a key document holding the revision of the change which wrote it last,
+  // set by the changes logged before changes had tokens
+  private static final String REVISION = "revision";
+  // extended attribute of a key document holding the token of the change which wrote it last
+  private static final String TOKEN = "token";
+  // virtual extended attribute holding the size of the document body
+  private static final String VALUE_BYTES = "$document.value_bytes";
+  // id of the registry of tenants with retention, prefix of their registries of repositories with
+  // retention and of the retention settings of every such repository
+  private static final String RETENTION = "retention";
+  // document held by the node compacting repositories in the current compaction period
+  private static final String COMPACTION_LEASE = "compaction::lease";
+  private static final String MAX_VERSIONS = "maxVersions";
+  private static final String MAX_AGE_SECONDS = "maxAgeSeconds";
+  private static final String CODEC = "codec";
+  private static final String THRESHOLD = "threshold";
+  private static final String ENCODING = "encoding";
+  private static final long MIGRATION_RETRIES = 10;
+  private static final long CAS_RETRIES = 10;
+  private static final long RESERVE_RETRIES = 3;
   private static final int DEFAULT_LATEST_VERSION = -1;
-  private static final int INDEX_OF_KEY = 2;
+  private static final int FIRST_VERSION = 1;
+  // server-side limit of paths per single sub-document lookup
+  private static final int MAX_LOOKUP_PATHS = 16;
+  // server-side limit of paths per single sub-document mutation
+  private static final int MAX_MUTATION_PATHS = 16;
+  // how often, in versions, the size of a key document is checked
+  private static final int HEAD_CHECK_VERSIONS = 16;
 
   private final AsyncBucket bucket;
+  private final CouchbaseSettings settings;
+  private final VersionArchive archive;
+  private final ChangeLog changeLog;
+
+  // repositories are never deleted, so once seen they are known to exist for good, while a
+  // missing one may be created by another node at any moment
+  private final Cache<String, Boolean> existingRepositories;
+  private final Cache<String, Boolean> missingRepositories;
+  // value codec settings never change once a repository is created, while a repository without
+  // them may be a just created one whose settings are being saved
+  private final Cache<String, ValueCodec> codecs;
+  private final Cache<String, Boolean> defaultCodecRepositories;
+  // until the legacy registry is migrated, repositories missing from the per-tenant registries
+  // are looked up in it too
+  private volatile boolean legacyRegistryMigrated;
+  // until version counters are migrated, updates check whether the key document has one
+  private volatile boolean versionCountersMigrated;
+  // key documents queued or being checked for archiving, each one is queued once at a time
+  private final Set<String> archivingKeys = ConcurrentHashMap.newKeySet();
+  private final FluxSink<String> archiveRequests;
 
-  public CouchbaseRepository(AsyncBucket bucket) {
+  /**
+   * Creates repository.
+   *
+   * @param bucket bucket holding the repositories.
+   * @param settings couchbase settings.
+   */
+  public CouchbaseRepository(AsyncBucket bucket, CouchbaseSettings settings) {
     this.bucket = bucket;
+    this.settings = settings;
+    this.archive =
+        new VersionArchive(bucket, settings.archiveChunkSize(), settings.archiveChunkBytes());
+    this.changeLog = new ChangeLog(bucket, settings.changesLimit());
+    this.existingRepositories =
+        Caffeine.newBuilder().maximumSize(settings.repositoryCacheSize()).build();
+    this.missingRepositories =
+        Caffeine.newBuilder()
+            .maximumSize(settings.repositoryCacheSize())
+            .expireAfterWrite(settings.missingRepositoryTtlMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    this.codecs = Caffeine.newBuilder().maximumSize(settings.repositoryCacheSize()).build();
+    this.defaultCodecRepositories =
+        Caffeine.newBuilder()
+            .maximumSize(settings.repositoryCacheSize())
+            .expireAfterWrite(settings.missingRepositoryTtlMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    UnicastProcessor<String> archiveQueue = UnicastProcessor.create();
+    this.archiveRequests = archiveQueue.sink();
+    archiveQueue
+        .flatMap(
+            docId ->
+                archiveIfOversized(docId)
+                    .doOnNext(
+                        archived -> LOGGER.debug("Archived {} versions of '{}'", archived, docId))
+                    .onErrorResume(
+                        th -> {
+                          LOGGER.warn("Failed to archive versions of '{}'", docId, th);
+                          return Mono.empty();
+                        })
+                    .doFinally(signal -> archivingKeys.remove(docId)),
+            settings.writeConcurrency())
+        .subscribe();
+  }
+
+  @Override
+  public String backend() {
+    return "couchbase";
   }
 
   @Override
   public Mono<Boolean> createRepository(Repository repository) {
-    return Mono.from(
-            RxReactiveStreams.toPublisher(
-                bucket.setAdd(REPOS, repository.namespace() + DELIMITER + repository.name())))
+    String repositoryId = repository.namespace() + DELIMITER + repository.name();
+    return existsInLegacyRegistry(repositoryId)
+        .flatMap(
+            isLegacyRepo ->
+                isLegacyRepo
+                    ? Mono.just(false)
+                    : Mono.from(
+                        RxReactiveStreams.toPublisher(
+                            bucket.setAdd(
+                                registryId(repository.namespace()),
+                                repository.name(),
+                                MutationOptionBuilder.builder().createDocument(true)))))
+        .doOnNext(isNewRepoAdded -> markExisting(repositoryId))
         .filter(isNewRepoAdded -> isNewRepoAdded)
         .switchIfEmpty(
             Mono.error(
                 () ->
                     new RepositoryAlreadyExistsException(
                         String.format(REPOSITORY_ALREADY_EXISTS, repository.name()))))
+        .flatMap(
+            isNewRepoAdded ->
+                repository.retention() != null
+                    ? saveRetention(
+                            repository.namespace(), repository.name(), repository.retention())
+                        .thenReturn(isNewRepoAdded)
+                    : Mono.just(isNewRepoAdded))
+        .flatMap(
+            isNewRepoAdded ->
+                repository.compressionThreshold() != null || repository.valueEncoding() != null
+                    ? saveCodec(
+                            repositoryId,
+                            new ValueCodec(
+                                Optional.ofNullable(repository.valueEncoding())
+                                    .orElse(ValueEncoding.JSON),
+                                repository.compressionThreshold()))
+                        .thenReturn(isNewRepoAdded)
+                    : Mono.just(isNewRepoAdded))
         .onErrorMap(
             DocumentAlreadyExistsException.class,
             e ->
@@ -65,14 +230,470 @@ public class CouchbaseRepository implements ConfigurationRepository {
         .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
   }
 
-  @Override
-  public Mono<Document> read(String tenant, String repository, String key, Integer version) {
+  /**
+   * Moves repositories from the legacy single {@code repos} registry document to the per-tenant
+   * registry documents and removes the legacy one. Safe to run concurrently from several nodes and
+   * a no-op once the migration is done. Repositories are usable while it runs, those not moved yet
+   * are found in the legacy registry.
+   *
+   * @return completion signal.
+   */
+  public Mono<Void> migrateRepositoryRegistry() {
+    return Mono.defer(this::moveLegacyRepositories)
+        .retry(MIGRATION_RETRIES, CASMismatchException.class::isInstance)
+        .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.empty())
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .doOnSuccess(v -> legacyRegistryMigrated = true);
+  }
+
+  private Mono<Void> moveLegacyRepositories() {
+    return Mono.from(RxReactiveStreams.toPublisher(bucket.get(REPOS, JsonArrayDocument.class)))
+        .flatMap(
+            legacy ->
+                Flux.fromIterable(legacy.content().toList())
+                    .map(String::valueOf)
+                    .flatMap(this::migrateRepository, settings.writeConcurrency())
+                    .then(
+                        // fails on CAS mismatch if a repository was added meanwhile
+                        Mono.from(RxReactiveStreams.toPublisher(bucket.remove(legacy))))
+                    .doOnSuccess(
+                        removed ->
+                            LOGGER.info(
+                                "Migrated {} repositories from '{}' registry",
+                                legacy.content().size(),
+                                REPOS)))
+        .then();
+  }
+
+  /**
+   * Checks whether a repository is still registered in the legacy registry only, and if so moves it
+   * to its per-tenant registry right away, so it's usable while the migration is in progress.
+   */
+  private Mono<Boolean> existsInLegacyRegistry(String repositoryId) {
+    return Mono.defer(
+        () -> {
+          if (legacyRegistryMigrated) {
+            return Mono.just(false);
+          }
+          return Mono.from(RxReactiveStreams.toPublisher(bucket.setContains(REPOS, repositoryId)))
+              .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.just(false))
+              .flatMap(
+                  exists ->
+                      exists ? migrateRepository(repositoryId).thenReturn(true) : Mono.just(false));
+        });
+  }
+
+  private Mono<Boolean> saveRetention(String tenant, String repository, Retention retention) {
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                bucket.upsert(
+                    JsonDocument.create(
+                        RETENTION + DELIMITER + tenant + DELIMITER + repository,
+                        JsonObject.create()
+                            .put(MAX_VERSIONS, retention.maxVersions())
+                            .put(MAX_AGE_SECONDS, retention.maxAgeSeconds())))))
+        .then(
+            Mono.from(
+                RxReactiveStreams.toPublisher(
+                    bucket.setAdd(
+                        RETENTION + DELIMITER + tenant,
+                        repository,
+                        MutationOptionBuilder.builder().createDocument(true)))))
+        // registries are sets, so adding a tenant which is there already is harmless
+        .then(
+            Mono.from(
+                RxReactiveStreams.toPublisher(
+                    bucket.setAdd(
+                        RETENTION, tenant, MutationOptionBuilder.builder().createDocument(true)))));
+  }
+
+  private Mono<Void> saveCodec(String repositoryId, ValueCodec codec) {
     return Mono.from(
             RxReactiveStreams.toPublisher(
-                bucket.listGet(
-                    docId(tenant, repository, key),
-                    version != null ? version - 1 : DEFAULT_LATEST_VERSION,
-                    Object.class)))
+                bucket.upsert(
+                    JsonDocument.create(
+                        CODEC + DELIMITER + repositoryId,
+                        JsonObject.create()
+                            .put(ENCODING, codec.encoding().name())
+                            .put(THRESHOLD, codec.threshold())))))
+        .doOnNext(document -> codecs.put(repositoryId, codec))
+        .then();
+  }
+
+  /**
+   * Returns the codec of values of the given repository.
+   *
+   * @param repositoryId repository id.
+   * @return the codec, {@link ValueCodec#DEFAULT} if the repository has no codec settings.
+   */
+  private Mono<ValueCodec> codec(String repositoryId) {
+    return Mono.defer(
+        () -> {
+          ValueCodec codec = codecs.getIfPresent(repositoryId);
+          if (codec != null) {
+            return Mono.just(codec);
+          }
+          if (defaultCodecRepositories.getIfPresent(repositoryId) != null) {
+            return Mono.just(ValueCodec.DEFAULT);
+          }
+          return Mono.from(
+                  RxReactiveStreams.toPublisher(bucket.get(CODEC + DELIMITER + repositoryId)))
+              .map(
+                  document ->
+                      new ValueCodec(
+                          ValueEncoding.valueOf(document.content().getString(ENCODING)),
+                          document.content().getInt(THRESHOLD)))
+              .doOnNext(found -> codecs.put(repositoryId, found))
+              .switchIfEmpty(
+                  Mono.fromSupplier(
+                      () -> {
+                        defaultCodecRepositories.put(repositoryId, Boolean.TRUE);
+                        return ValueCodec.DEFAULT;
+                      }));
+        });
+  }
+
+  private Mono<Object> storedValue(String tenant, String repository, Object value) {
+    return codec(tenant + DELIMITER + repository).map(codec -> codec.encode(value));
+  }
+
+  /**
+   * Trims the versions beyond the retention of every repository which has one. Trimmed versions
+   * keep their numbers, so readers see the same version numbers as before. Safe to run concurrently
+   * with writes and from several nodes.
+   *
+   * @return completion signal.
+   */
+  public Mono<Void> compact() {
+    return Mono.from(RxReactiveStreams.toPublisher(bucket.get(RETENTION, JsonArrayDocument.class)))
+        .flatMapIterable(tenants -> tenants.content().toList())
+        .map(String::valueOf)
+        .concatMap(
+            tenant ->
+                Mono.from(
+                        RxReactiveStreams.toPublisher(
+                            bucket.get(RETENTION + DELIMITER + tenant, JsonArrayDocument.class)))
+                    .flatMapIterable(repositories -> repositories.content().toList())
+                    .map(repository -> tenant + DELIMITER + repository))
+        .concatMap(this::compactRepository)
+        .reduce(0, Integer::sum)
+        .filter(trimmed -> trimmed > 0)
+        .doOnNext(trimmed -> LOGGER.info("Compaction trimmed {} versions", trimmed))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .then();
+  }
+
+  /**
+   * Takes the compaction lease for the given time unless another node holds it, so a single node
+   * compacts repositories per compaction period.
+   *
+   * @param seconds time to hold the lease for, a bit less than the compaction interval.
+   * @return whether the lease was taken.
+   */
+  public Mono<Boolean> acquireCompactionLease(int seconds) {
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                bucket.insert(
+                    JsonDocument.create(
+                        COMPACTION_LEASE,
+                        seconds,
+                        JsonObject.create().put("acquiredAt", System.currentTimeMillis())))))
+        .thenReturn(true)
+        .onErrorResume(DocumentAlreadyExistsException.class, e -> Mono.just(false))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  private Mono<Integer> compactRepository(String repositoryId) {
+    int index = repositoryId.lastIndexOf(DELIMITER);
+    String tenant = repositoryId.substring(0, index);
+    String repository = repositoryId.substring(index + DELIMITER.length());
+    return Mono.from(
+            RxReactiveStreams.toPublisher(bucket.get(RETENTION + DELIMITER + repositoryId)))
+        .map(
+            document ->
+                new Retention(
+                    document.content().getInt(MAX_VERSIONS),
+                    document.content().getLong(MAX_AGE_SECONDS)))
+        .flatMapMany(
+            retention ->
+                readDocIds(tenant, repository)
+                    .flatMap(docId -> compactKey(docId, retention), settings.writeConcurrency()))
+        .reduce(0, Integer::sum);
+  }
+
+  private Mono<Integer> compactKey(String docId, Retention retention) {
+    return purgeArchive(docId, retention)
+        .expand(purged -> purged > 0 ? purgeArchive(docId, retention) : Mono.empty())
+        .concatWith(
+            trimVersions(docId, retention)
+                .expand(trimmed -> trimmed > 0 ? trimVersions(docId, retention) : Mono.empty()))
+        .reduce(0, Integer::sum)
+        // deleted after the view was indexed
+        .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.just(0));
+  }
+
+  private Mono<Integer> trimVersions(String docId, Retention retention) {
+    return trimHead(
+        docId,
+        fragment -> {
+          JsonArray times = timesOf(fragment);
+          int count = ((Number) fragment.content(3)).intValue();
+          return baseOf(fragment, 1)
+              + expiredVersions(retention, times, Math.max(count - times.size(), 0), count);
+        },
+        false);
+  }
+
+  /**
+   * Removes archived versions beyond the retention from the oldest chunk, deleting the chunk once
+   * none of its versions is kept.
+   *
+   * @param docId key document id.
+   * @param retention retention of the repository.
+   * @return number of purged versions, 0 if there is nothing left to purge.
+   */
+  private Mono<Integer> purgeArchive(String docId, Retention retention) {
+    return Mono.defer(() -> lookupHead(docId))
+        .flatMap(
+            fragment -> {
+              int base = baseOf(fragment, 1);
+              int archiveStart = archiveStartOf(fragment, 2, base);
+              if (archiveStart > base) {
+                return Mono.just(0);
+              }
+              int latest = base + ((Number) fragment.content(3)).intValue();
+              int chunk = archive.chunkOf(archiveStart);
+              return archive
+                  .read(docId, chunk)
+                  .map(found -> firstKeptVersion(retention, found, archiveStart, latest))
+                  // already deleted, nothing left to keep in it
+                  .defaultIfEmpty(archive.lastVersionOf(chunk) + 1)
+                  .map(firstKept -> Math.min(firstKept, base + 1))
+                  .filter(firstKept -> firstKept > archiveStart)
+                  .flatMap(
+                      firstKept ->
+                          Mono.from(
+                                  RxReactiveStreams.toPublisher(
+                                      bucket
+                                          .mutateIn(docId)
+                                          .withCas(fragment.cas())
+                                          .upsert(
+                                              ARCHIVE_START,
+                                              firstKept,
+                                              SubdocOptionsBuilder.builder().xattr(true))
+                                          .execute()))
+                              .then(
+                                  firstKept > archive.lastVersionOf(chunk)
+                                      ? archive.delete(docId, chunk)
+                                      : Mono.empty())
+                              .thenReturn(firstKept - archiveStart))
+                  .defaultIfEmpty(0);
+            })
+        .retry(MIGRATION_RETRIES, CASMismatchException.class::isInstance);
+  }
+
+  private static int firstKeptVersion(
+      Retention retention, VersionArchive.Chunk chunk, int archiveStart, int latest) {
+    long expiresBefore =
+        retention.maxAgeSeconds() != null
+            ? System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(retention.maxAgeSeconds())
+            : Long.MIN_VALUE;
+    int version = Math.max(archiveStart, chunk.first());
+    while (version <= chunk.last()
+        && ((retention.maxVersions() != null && version <= latest - retention.maxVersions())
+            || chunk.time(version) < expiresBefore)) {
+      version++;
+    }
+    return version;
+  }
+
+  /**
+   * Moves versions up to the given one out of the key document into archive chunks, one chunk at a
+   * time.
+   *
+   * @param docId key document id.
+   * @param upTo last version to archive.
+   * @return number of archived versions.
+   */
+  private Mono<Integer> archiveVersions(String docId, int upTo) {
+    return archiveChunk(docId, upTo)
+        .expand(archived -> archived > 0 ? archiveChunk(docId, upTo) : Mono.empty())
+        .reduce(0, Integer::sum);
+  }
+
+  private Mono<Integer> archiveChunk(String docId, int upTo) {
+    // the versions are read along with their numbering in one lookup, so they always match
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                bucket
+                    .lookupIn(docId)
+                    .get(TIMES, SubdocOptionsBuilder.builder().xattr(true))
+                    .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+                    .get(ARCHIVE_START, SubdocOptionsBuilder.builder().xattr(true))
+                    .getCount("")
+                    .get()
+                    .execute()))
+        .flatMap(
+            fragment -> {
+              int base = baseOf(fragment, 1);
+              int count = ((Number) fragment.content(3)).intValue();
+              // the latest version always stays in the key document
+              int last =
+                  Math.min(
+                      Math.min(archive.lastVersionOf(archive.chunkOf(base + 1)), upTo),
+                      base + count - 1);
+              if (last <= base) {
+                return Mono.just(0);
+              }
+              JsonArray times = timesOf(fragment);
+              int untimed = Math.max(count - times.size(), 0);
+              List<Object> values =
+                  ((JsonArray) fragment.content(4)).toList().subList(0, last - base);
+              List<Long> valueTimes = new ArrayList<>(values.size());
+              for (int i = 0; i < values.size(); i++) {
+                valueTimes.add(i < untimed ? 0L : ((Number) times.get(i - untimed)).longValue());
+              }
+              return archive
+                  .append(docId, base + 1, values, valueTimes)
+                  .then(
+                      trimHead(docId, head -> last, true)
+                          .expand(
+                              trimmed ->
+                                  trimmed > 0 ? trimHead(docId, head -> last, true) : Mono.empty())
+                          .reduce(0, Integer::sum));
+            });
+  }
+
+  private void archiveIfDue(String docId, int version) {
+    if (version % Math.min(HEAD_CHECK_VERSIONS, archive.chunkSize()) == 0
+        && archivingKeys.add(docId)) {
+      archiveRequests.next(docId);
+    }
+  }
+
+  /**
+   * Archives the leading versions of a key document which has grown beyond two chunks of versions
+   * or beyond {@code archiveHeadBytes}. One chunk of the latest versions is kept in the former
+   * case, as many as take half the size limit in the latter, at least the latest version either
+   * way.
+   *
+   * @param docId key document id.
+   * @return number of archived versions, 0 if the key document is small enough.
+   */
+  private Mono<Integer> archiveIfOversized(String docId) {
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                bucket
+                    .lookupIn(docId)
+                    .get(VALUE_BYTES, SubdocOptionsBuilder.builder().xattr(true))
+                    .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+                    .getCount("")
+                    .execute()))
+        .flatMap(
+            fragment -> {
+              long bytes = fragment.exists(0) ? ((Number) fragment.content(0)).longValue() : 0;
+              int base = baseOf(fragment, 1);
+              int count = ((Number) fragment.content(2)).intValue();
+              int kept = count >= 2 * archive.chunkSize() ? archive.chunkSize() : count;
+              if (bytes > settings.archiveHeadBytes()) {
+                kept =
+                    (int)
+                        Math.min(
+                            kept,
+                            Math.max(1, count * (long) settings.archiveHeadBytes() / 2 / bytes));
+              }
+              return kept < count ? archiveVersions(docId, base + count - kept) : Mono.just(0);
+            });
+  }
+
+  /**
+   * Removes leading versions from the key document, as many as fit into a single multi-mutation,
+   * and shifts the number of the first remaining version accordingly. The latest version is never
+   * removed.
+   *
+   * @param docId key document id.
+   * @param trimUpTo gives the last version to remove from the {@link #lookupHead} fragment.
+   * @param archived whether the removed versions have been archived.
+   * @return number of removed versions, 0 if there is nothing left to remove.
+   */
+  private Mono<Integer> trimHead(
+      String docId, ToIntFunction<DocumentFragment<Lookup>> trimUpTo, boolean archived) {
+    return Mono.defer(() -> lookupHead(docId))
+        .flatMap(
+            fragment -> {
+              JsonArray times = timesOf(fragment);
+              int base = baseOf(fragment, 1);
+              int count = ((Number) fragment.content(3)).intValue();
+              int expired = Math.min(trimUpTo.applyAsInt(fragment), base + count - 1) - base;
+              if (expired <= 0) {
+                return Mono.just(0);
+              }
+              // versions written before timestamps were introduced lead the array
+              int untimed = Math.max(count - times.size(), 0);
+              // archived versions must stay readable, otherwise they are not kept in the archive
+              boolean moveArchiveStart = archived ? !fragment.exists(2) : fragment.exists(2);
+              int budget = MAX_MUTATION_PATHS - 1 - (moveArchiveStart ? 1 : 0);
+              int trimmed = Math.min(expired, untimed >= budget ? budget : (budget + untimed) / 2);
+              AsyncMutateInBuilder mutation =
+                  bucket
+                      .mutateIn(docId)
+                      .withCas(fragment.cas())
+                      .counter(
+                          BASE,
+                          trimmed,
+                          SubdocOptionsBuilder.builder().xattr(true).createPath(true));
+              if (moveArchiveStart) {
+                mutation.upsert(
+                    ARCHIVE_START,
+                    archived ? base + 1 : base + trimmed + 1,
+                    SubdocOptionsBuilder.builder().xattr(true));
+              }
+              for (int i = untimed; i < trimmed; i++) {
+                mutation.remove(TIMES + "[0]", SubdocOptionsBuilder.builder().xattr(true));
+              }
+              for (int i = 0; i < trimmed; i++) {
+                mutation.remove("[0]");
+              }
+              return Mono.from(RxReactiveStreams.toPublisher(mutation.execute()))
+                  .thenReturn(trimmed);
+            })
+        .retry(MIGRATION_RETRIES, CASMismatchException.class::isInstance);
+  }
+
+  private static int expiredVersions(Retention retention, JsonArray times, int untimed, int count) {
+    int expired = 0;
+    if (retention.maxVersions() != null) {
+      expired = Math.max(count - retention.maxVersions(), 0);
+    }
+    if (retention.maxAgeSeconds() != null) {
+      long expiresBefore =
+          System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(retention.maxAgeSeconds());
+      int old = untimed;
+      for (int i = 0; i < times.size(); i++) {
+        if (((Number) times.get(i)).longValue() >= expiresBefore) {
+          break;
+        }
+        old++;
+      }
+      expired = Math.max(expired, old);
+    }
+    return expired;
+  }
+
+  private Mono<Boolean> migrateRepository(String repositoryId) {
+    int index = repositoryId.lastIndexOf(DELIMITER);
+    return Mono.from(
+        RxReactiveStreams.toPublisher(
+            bucket.setAdd(
+                registryId(repositoryId.substring(0, index)),
+                repositoryId.substring(index + DELIMITER.length()),
+                MutationOptionBuilder.builder().createDocument(true))));
+  }
+
+  @Override
+  public Mono<Document> read(String tenant, String repository, String key, Integer version) {
+    String docId = docId(tenant, repository, key);
+    return (version != null ? readValue(docId, key, version) : readLatest(docId, key))
         .onErrorMap(
             DocumentDoesNotExistException.class,
             e ->
@@ -85,79 +706,627 @@ public class CouchbaseRepository implements ConfigurationRepository {
                     String.format(
                         "Key '%s' version '%s' not found",
                         key, version != null ? version : "latest")))
-        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
-        .map(value -> new Document(key, readJsonValue(value)));
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  @Override
+  public Mono<Integer> readVersion(String tenant, String repository, String key) {
+    return readLatestVersion(docId(tenant, repository, key))
+        .onErrorMap(
+            DocumentDoesNotExistException.class,
+            e ->
+                new KeyNotFoundException(
+                    String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND, repository, key)))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
   }
 
   @Override
   public Flux<Document> readAll(String tenant, String repository, Integer version) {
+    int keyOffset = (tenant + DELIMITER + repository + DELIMITER).length();
+    return readBatched(
+        readDocIds(tenant, repository),
+        docId -> {
+          String key = docId.substring(keyOffset);
+          return version != null ? readValue(docId, key, version) : readLatest(docId, key);
+        });
+  }
+
+  @Override
+  public Mono<Document> readAsOf(String tenant, String repository, String key, long timestamp) {
+    return readValueAsOf(docId(tenant, repository, key), key, timestamp)
+        .onErrorMap(
+            DocumentDoesNotExistException.class,
+            e ->
+                new KeyNotFoundException(
+                    String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND, repository, key)))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  @Override
+  public Flux<Document> readAllAsOf(String tenant, String repository, long timestamp) {
+    int keyOffset = (tenant + DELIMITER + repository + DELIMITER).length();
+    return readBatched(
+        readDocIds(tenant, repository),
+        docId -> readValueAsOf(docId, docId.substring(keyOffset), timestamp));
+  }
+
+  private Mono<Document> readValueAsOf(String docId, String key, long timestamp) {
+    return lookupHead(docId)
+        .flatMap(
+            fragment -> {
+              int base = baseOf(fragment, 1);
+              int index =
+                  versionAsOf(
+                      timesOf(fragment), ((Number) fragment.content(3)).intValue(), timestamp);
+              if (index > 0) {
+                return readValue(docId, key, base + index, base);
+              }
+              // the version current at that time is archived or was trimmed already
+              int archiveStart = archiveStartOf(fragment, 2, base);
+              return archiveStart <= base
+                  ? readArchivedAsOf(docId, key, timestamp, archive.chunkOf(base), archiveStart)
+                  : Mono.empty();
+            });
+  }
+
+  private Mono<Document> readArchivedAsOf(
+      String docId, String key, long timestamp, int chunk, int archiveStart) {
+    return archive
+        .read(docId, chunk)
+        .flatMap(
+            found -> {
+              for (int v = found.last(); v >= Math.max(found.first(), archiveStart); v--) {
+                if (found.time(v) <= timestamp) {
+                  return Mono.just(new Document(key, readJsonValue(found.value(v)), v));
+                }
+              }
+              return Mono.<Document>empty();
+            })
+        .switchIfEmpty(
+            Mono.defer(
+                () ->
+                    chunk > archive.chunkOf(archiveStart)
+                        ? readArchivedAsOf(docId, key, timestamp, chunk - 1, archiveStart)
+                        : Mono.empty()));
+  }
+
+  /**
+   * Finds the latest version written not later than the given time, counting from the first
+   * retained version. Timestamps are kept for the trailing versions only, the leading ones were
+   * written before timestamps were introduced and count as written at the epoch.
+   */
+  private static int versionAsOf(JsonArray times, int versions, long timestamp) {
+    int low = 0;
+    int high = times.size() - 1;
+    int found = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (((Number) times.get(mid)).longValue() <= timestamp) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return Math.max(versions - times.size(), 0) + found + 1;
+  }
+
+  @Override
+  public Flux<Document> readAllIfModified(
+      String tenant, String repository, Map<String, Integer> knownVersions) {
+    int keyOffset = (tenant + DELIMITER + repository + DELIMITER).length();
+    return readBatched(
+        readDocIds(tenant, repository),
+        docId -> {
+          String key = docId.substring(keyOffset);
+          Integer knownVersion = knownVersions.get(key);
+          if (knownVersion == null) {
+            return readLatest(docId, key);
+          }
+          return readLatestVersion(docId)
+              .flatMap(
+                  latestVersion ->
+                      latestVersion.equals(knownVersion)
+                          ? Mono.just(new Document(key, null, latestVersion))
+                          : readLatest(docId, key));
+        });
+  }
+
+  @Override
+  public Mono<RepositoryChanges> readChanges(String tenant, String repository, Long sinceRevision) {
+    return checkRepositoryExists(tenant, repository)
+        .then(changeLog.read(changesId(tenant, repository)))
+        .flatMap(
+            log ->
+                sinceRevision != null && log.covers(sinceRevision)
+                    ? readChangedDocuments(tenant, repository, log, sinceRevision)
+                    : readSnapshot(tenant, repository, log))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  private Mono<RepositoryChanges> readChangedDocuments(
+      String tenant, String repository, ChangeLog.Log log, long sinceRevision) {
+    long now = System.currentTimeMillis();
+    return readStamped(tenant, repository, log.lastChangesAfter(sinceRevision))
+        .collectList()
+        .map(
+            changes -> {
+              long revision = log.revision();
+              List<Document> documents = new ArrayList<>();
+              List<String> deletedKeys = new ArrayList<>();
+              Map<String, Long> keyRevisions = new HashMap<>();
+              for (Tuple2<Change, Optional<StampedDocument>> change : changes) {
+                Optional<StampedDocument> stamped = change.getT2();
+                revision = Math.min(revision, writtenRevision(change.getT1(), stamped, now));
+                if (stamped.isPresent()) {
+                  documents.add(stamped.get().document);
+                } else {
+                  deletedKeys.add(change.getT1().key());
+                }
+                keyRevisions.put(change.getT1().key(), change.getT1().revision());
+              }
+              return new RepositoryChanges(revision, false, documents, deletedKeys, keyRevisions);
+            });
+  }
+
+  @Override
+  public Mono<Long> readRevision(String tenant, String repository) {
+    return checkRepositoryExists(tenant, repository)
+        .then(changeLog.read(changesId(tenant, repository)))
+        .flatMap(log -> writtenRevision(tenant, repository, log))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  private Mono<RepositoryChanges> readSnapshot(
+      String tenant, String repository, ChangeLog.Log log) {
+    // changes found written here are written before the snapshot is read, so it holds them
+    return writtenRevision(tenant, repository, log)
+        .flatMap(
+            revision ->
+                readAll(tenant, repository, null)
+                    .collectList()
+                    .map(
+                        documents ->
+                            new RepositoryChanges(
+                                revision, true, documents, Collections.emptyList())));
+  }
+
+  private Flux<Tuple2<Change, Optional<StampedDocument>>> readStamped(
+      String tenant, String repository, Collection<Change> changes) {
+    return Flux.fromIterable(changes)
+        .flatMapSequential(
+            change ->
+                readStamped(docId(tenant, repository, change.key()), change.key())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .map(stamped -> Tuples.of(change, stamped)),
+            settings.readConcurrency());
+  }
+
+  /**
+   * Reads the latest version of a key along with the stamps of the change which wrote it.
+   *
+   * @param docId key document id.
+   * @param key key.
+   * @return stamped document, or empty if there is no such key.
+   */
+  private Mono<StampedDocument> readStamped(String docId, String key) {
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                bucket
+                    .lookupIn(docId)
+                    .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+                    .getCount("")
+                    .get("[" + DEFAULT_LATEST_VERSION + "]")
+                    .get(REVISION, SubdocOptionsBuilder.builder().xattr(true))
+                    .get(TOKEN, SubdocOptionsBuilder.builder().xattr(true))
+                    .execute()))
+        .map(
+            fragment ->
+                new StampedDocument(
+                    new Document(
+                        key,
+                        readJsonValue(fragment.content(2)),
+                        baseOf(fragment, 0) + ((Number) fragment.content(1)).intValue()),
+                    fragment.exists(3) ? ((Number) fragment.content(3)).longValue() : 0,
+                    fragment.exists(4) ? ((Number) fragment.content(4)).longValue() : null))
+        .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.empty());
+  }
+
+  /**
+   * Gets the latest revision of the log whose changes are all written, that is the revision before
+   * the first change still in flight.
+   */
+  private Mono<Long> writtenRevision(String tenant, String repository, ChangeLog.Log log) {
+    long now = System.currentTimeMillis();
+    return readStamped(tenant, repository, log.lastRecentChanges(now))
+        .map(change -> writtenRevision(change.getT1(), change.getT2(), now))
+        .reduce(log.revision(), Math::min);
+  }
+
+  /**
+   * Gets the revision readers may proceed to given a change, that is all revisions if the change is
+   * written and the revision before it while the change is in flight, so it's read again.
+   */
+  private static long writtenRevision(Change change, Optional<StampedDocument> stamped, long now) {
+    return change.isWritten(
+            stamped.map(document -> document.revision).orElse(null),
+            stamped.map(document -> document.token).orElse(null),
+            now)
+        ? Long.MAX_VALUE
+        : change.revision() - 1;
+  }
+
+  /**
+   * Creates a key document holding the first version of the value together with its write time, the
+   * version counter and the token of the change, all in a single sub-document mutation, so no one
+   * sees the document without them.
+   *
+   * @param docId key document id.
+   * @param value value of the first version.
+   * @param token token of the change.
+   * @return completion signal, or an error if the document exists already.
+   */
+  private Mono<Void> insertFirstVersion(String docId, Object value, long token) {
     return Mono.from(
             RxReactiveStreams.toPublisher(
-                bucket.setContains(REPOS, tenant + DELIMITER + repository)))
-        .filter(isRepoExists -> isRepoExists)
+                bucket
+                    .mutateIn(docId)
+                    .insertDocument(true)
+                    .upsert(
+                        TIMES,
+                        JsonArray.from(System.currentTimeMillis()),
+                        SubdocOptionsBuilder.builder().xattr(true))
+                    .upsert(VERSION, FIRST_VERSION, SubdocOptionsBuilder.builder().xattr(true))
+                    .upsert(TOKEN, token, SubdocOptionsBuilder.builder().xattr(true))
+                    // the document is created with an array root for an array operation on it
+                    .arrayAppend("", value, false)
+                    .execute()))
+        // the client reports an existing document as a CAS mismatch of the mutation
+        .onErrorMap(CASMismatchException.class, e -> new DocumentAlreadyExistsException(docId, e))
         .switchIfEmpty(
             Mono.error(
                 () ->
-                    new RepositoryNotFoundException(
-                        String.format(REPOSITORY_NOT_FOUND, repository))))
+                    new DataAccessException("Save operation is failed because of unknown reason")))
+        .then();
+  }
+
+  /**
+   * Writes a change of a key and reserves its revision at the same time, so the change takes a
+   * single round trip rather than one to reserve the revision and another one to write. The key
+   * document is stamped with the token logged along with the change, as the revision is not known
+   * until both are done. The revision is aborted if the key document rejected the change, so
+   * readers don't wait for it, other failures leave it unknown whether the change was written. A
+   * reservation which fails is retried, as a change which is written but not logged is only seen by
+   * readers which read the whole repository.
+   *
+   * @param changesId change log document id.
+   * @param key changed key.
+   * @param deleted whether the key is deleted.
+   * @param token token the key document is stamped with by the change.
+   * @param change the write of the key document.
+   * @return result of the write.
+   */
+  private <T> Mono<T> writeChange(
+      String changesId, String key, boolean deleted, long token, Mono<T> change) {
+    Mono<Long> reserve = changeLog.reserve(changesId, key, deleted, token).retry(RESERVE_RETRIES);
+    return Mono.zip(reserve.materialize(), change.materialize())
+        .flatMap(
+            signals -> {
+              Signal<Long> revision = signals.getT1();
+              Signal<T> written = signals.getT2();
+              if (written.isOnError()) {
+                Throwable th = written.getThrowable();
+                return revision.isOnNext() && isRejected(th)
+                    ? changeLog.abort(changesId, revision.get()).then(Mono.error(th))
+                    : Mono.error(th);
+              }
+              if (revision.isOnError()) {
+                LOGGER.error(
+                    "Change of key {} is written but not logged in {}: {}",
+                    key,
+                    changesId,
+                    revision.getThrowable());
+                return Mono.error(revision.getThrowable());
+              }
+              return Mono.justOrEmpty(written.get());
+            });
+  }
+
+  private static boolean isRejected(Throwable th) {
+    return th instanceof DocumentAlreadyExistsException
+        || th instanceof DocumentDoesNotExistException
+        || th instanceof CASMismatchException;
+  }
+
+  private static long newToken() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  private Flux<String> readDocIds(String tenant, String repository) {
+    return checkRepositoryExists(tenant, repository)
         .thenMany(
             Flux.from(
                 RxReactiveStreams.toPublisher(
                     bucket.query(
                         ViewQuery.from("keys", "by_keys").key(tenant + DELIMITER + repository)))))
         .flatMap(asyncViewResult -> RxReactiveStreams.toPublisher(asyncViewResult.rows()))
+        .map(AsyncViewRow::id);
+  }
+
+  /**
+   * Reads documents in batches of {@code readBatchSize}. The key-value protocol has no multi-key
+   * sub-document lookup, so a batch is still one lookup per document, but all lookups of a batch
+   * are dispatched at once and the client writes them out together instead of one at a time as
+   * earlier lookups complete. Up to {@code readConcurrency} lookups are in flight overall. Batches
+   * of one document by default read as before batching was introduced, larger ones are to be set
+   * after measuring them against the cluster.
+   */
+  private Flux<Document> readBatched(Flux<String> docIds, Function<String, Mono<Document>> read) {
+    int batchSize = settings.readBatchSize();
+    return docIds
+        .buffer(batchSize)
         .flatMap(
-            asyncViewRow ->
-                read(tenant, repository, asyncViewRow.id().split(DELIMITER)[INDEX_OF_KEY], version))
-        .onErrorContinue(
-            KeyVersionNotFoundException.class,
-            (e, o) -> {
-              // no-op
-            })
+            batch ->
+                Flux.fromIterable(batch)
+                    .flatMap(docId -> skipMissing(read.apply(docId)), batch.size()),
+            Math.max(1, settings.readConcurrency() / batchSize))
         .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
   }
 
-  @Override
-  public Flux<HistoryDocument> readHistory(String tenant, String repository, String key) {
-    AtomicInteger currentVersion = new AtomicInteger(0);
+  private Mono<Document> skipMissing(Mono<Document> document) {
+    return document
+        // the key has no such version or it was deleted after the view was indexed
+        .onErrorResume(PathNotFoundException.class, e -> Mono.empty())
+        .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.empty());
+  }
+
+  private Mono<Document> readValue(String docId, String key, int version) {
+    // most keys are never compacted, so the first attempt assumes nothing was trimmed
+    return readValue(docId, key, version, 0);
+  }
+
+  private Mono<Document> readValue(String docId, String key, int version, int base) {
+    AsyncLookupInBuilder lookup =
+        bucket
+            .lookupIn(docId)
+            .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+            .get(ARCHIVE_START, SubdocOptionsBuilder.builder().xattr(true));
+    if (version > base) {
+      lookup.get("[" + (version - 1 - base) + "]");
+    }
+    return Mono.from(RxReactiveStreams.toPublisher(lookup.execute()))
+        .flatMap(
+            fragment -> {
+              int actualBase = baseOf(fragment, 0);
+              if (version <= actualBase) {
+                return version >= archiveStartOf(fragment, 1, actualBase)
+                    ? readArchived(docId, key, version)
+                    : Mono.error(new PathNotFoundException("Version was trimmed", docId));
+              }
+              if (actualBase != base) {
+                return readValue(docId, key, version, actualBase);
+              }
+              if (!fragment.exists(2)) {
+                return Mono.error(new PathNotFoundException("Version not found", docId));
+              }
+              return Mono.just(new Document(key, readJsonValue(fragment.content(2)), version));
+            });
+  }
+
+  private Mono<Document> readArchived(String docId, String key, int version) {
+    return archive
+        .read(docId, archive.chunkOf(version))
+        .filter(chunk -> chunk.contains(version))
+        .map(chunk -> new Document(key, readJsonValue(chunk.value(version)), version))
+        .switchIfEmpty(
+            Mono.error(() -> new PathNotFoundException("Version was not archived", docId)));
+  }
+
+  private Flux<HistoryDocument> readArchived(String docId, int from, int to) {
+    if (from > to) {
+      return Flux.empty();
+    }
+    return Flux.range(archive.chunkOf(from), archive.chunkOf(to) - archive.chunkOf(from) + 1)
+        .flatMapSequential(chunk -> archive.read(docId, chunk), settings.readConcurrency())
+        .flatMapIterable(
+            chunk -> {
+              List<HistoryDocument> versions = new ArrayList<>();
+              for (int v = Math.max(from, chunk.first()); v <= Math.min(to, chunk.last()); v++) {
+                versions.add(new HistoryDocument(v, readJsonValue(chunk.value(v))));
+              }
+              return versions;
+            });
+  }
+
+  private Mono<Document> readLatest(String docId, String key) {
     return Mono.from(
             RxReactiveStreams.toPublisher(
-                bucket.get(docId(tenant, repository, key), JsonArrayDocument.class)))
+                bucket
+                    .lookupIn(docId)
+                    .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+                    .getCount("")
+                    .get("[" + DEFAULT_LATEST_VERSION + "]")
+                    .execute()))
+        .map(
+            fragment ->
+                new Document(
+                    key,
+                    readJsonValue(fragment.content(2)),
+                    baseOf(fragment, 0) + ((Number) fragment.content(1)).intValue()));
+  }
+
+  private Mono<Integer> readLatestVersion(String docId) {
+    return lookupVersions(docId).map(CouchbaseRepository::latestVersionOf);
+  }
+
+  /**
+   * Looks up where the versions of a key are kept.
+   *
+   * @param docId key document id.
+   * @return fragment holding the number of versions moved out of the key document at index 0, the
+   *     first version kept in the archive at index 1 and the number of versions in the key document
+   *     at index 2.
+   */
+  private Mono<DocumentFragment<Lookup>> lookupVersions(String docId) {
+    return Mono.from(
+        RxReactiveStreams.toPublisher(
+            bucket
+                .lookupIn(docId)
+                .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+                .get(ARCHIVE_START, SubdocOptionsBuilder.builder().xattr(true))
+                .getCount("")
+                .execute()));
+  }
+
+  /**
+   * Looks up the versions of a key along with their write times.
+   *
+   * @param docId key document id.
+   * @return fragment holding the same as {@link #lookupVersions} shifted by one, write times at
+   *     index 0.
+   */
+  private Mono<DocumentFragment<Lookup>> lookupHead(String docId) {
+    return Mono.from(
+        RxReactiveStreams.toPublisher(
+            bucket
+                .lookupIn(docId)
+                .get(TIMES, SubdocOptionsBuilder.builder().xattr(true))
+                .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+                .get(ARCHIVE_START, SubdocOptionsBuilder.builder().xattr(true))
+                .getCount("")
+                .execute()));
+  }
+
+  private static int latestVersionOf(DocumentFragment<Lookup> fragment) {
+    return baseOf(fragment, 0) + ((Number) fragment.content(2)).intValue();
+  }
+
+  private static int baseOf(DocumentFragment<Lookup> fragment, int index) {
+    return fragment.exists(index) ? ((Number) fragment.content(index)).intValue() : 0;
+  }
+
+  private static int archiveStartOf(DocumentFragment<Lookup> fragment, int index, int base) {
+    // nothing was archived, trimmed versions are gone
+    return fragment.exists(index) ? ((Number) fragment.content(index)).intValue() : base + 1;
+  }
+
+  private static JsonArray timesOf(DocumentFragment<Lookup> fragment) {
+    return fragment.exists(0) ? (JsonArray) fragment.content(0) : JsonArray.empty();
+  }
+
+  @Override
+  public Flux<HistoryDocument> readHistory(String tenant, String repository, String key) {
+    return readAllVersions(docId(tenant, repository, key))
         .switchIfEmpty(
             Mono.error(
                 () ->
                     new KeyNotFoundException(
                         String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND, repository, key))))
-        .map(AbstractDocument::content)
-        .flatMapIterable(
-            objects ->
-                objects.toList().stream()
-                    .map(
-                        value ->
-                            new HistoryDocument(
-                                currentVersion.incrementAndGet(), readJsonValue(value)))
-                    .collect(Collectors.toList()))
+        .flatMapIterable(versions -> versions)
+        .onErrorMap(
+            DocumentDoesNotExistException.class,
+            e ->
+                new KeyNotFoundException(
+                    String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND, repository, key)))
         .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
   }
 
   @Override
-  public Mono<Document> save(String tenant, String repository, Document document) {
+  public Flux<HistoryDocument> readHistory(
+      String tenant, String repository, String key, int offset, Integer limit) {
+    String docId = docId(tenant, repository, key);
+    return lookupVersions(docId)
+        .flatMapMany(
+            fragment -> {
+              int base = baseOf(fragment, 0);
+              int kept = archiveStartOf(fragment, 1, base) - 1;
+              int size = latestVersionOf(fragment);
+              // offsets count from the very first version, trimmed ones are just skipped
+              int from =
+                  offset >= 0
+                      ? Math.min(Math.max(offset, kept), size)
+                      : Math.max(size + offset, kept);
+              int to = limit != null ? (int) Math.min((long) from + limit, size) : size;
+              return readArchived(docId, from + 1, Math.min(to, base))
+                  .concatWith(
+                      Flux.range(Math.max(from, base), Math.max(to - Math.max(from, base), 0))
+                          .buffer(MAX_LOOKUP_PATHS - 1)
+                          .concatMap(indexes -> readVersions(docId, indexes, base)));
+            })
+        .onErrorMap(
+            DocumentDoesNotExistException.class,
+            e ->
+                new KeyNotFoundException(
+                    String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND, repository, key)))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible);
+  }
+
+  private Mono<List<HistoryDocument>> readAllVersions(String docId) {
+    // the values are read along with their numbering in one lookup, so they always match
     return Mono.from(
             RxReactiveStreams.toPublisher(
-                bucket.setContains(REPOS, tenant + DELIMITER + repository)))
-        .filter(isRepoExists -> isRepoExists)
-        .switchIfEmpty(
-            Mono.error(
-                () ->
-                    new RepositoryNotFoundException(
-                        String.format(REPOSITORY_NOT_FOUND, repository))))
-        .then(
-            Mono.from(
-                RxReactiveStreams.toPublisher(
-                    bucket.insert(
-                        JsonArrayDocument.create(
-                            docId(tenant, repository, document.key()),
-                            JsonArray.create().add(savedJsonValue(document.value())))))))
+                bucket
+                    .lookupIn(docId)
+                    .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+                    .get(ARCHIVE_START, SubdocOptionsBuilder.builder().xattr(true))
+                    .get()
+                    .execute()))
+        .flatMap(
+            fragment -> {
+              int base = baseOf(fragment, 0);
+              JsonArray values = (JsonArray) fragment.content(2);
+              List<HistoryDocument> versions = new ArrayList<>(values.size());
+              for (int i = 0; i < values.size(); i++) {
+                versions.add(new HistoryDocument(base + i + 1, readJsonValue(values.get(i))));
+              }
+              return readArchived(docId, archiveStartOf(fragment, 1, base), base)
+                  .collectList()
+                  .map(
+                      archived -> {
+                        archived.addAll(versions);
+                        return archived;
+                      });
+            });
+  }
+
+  private Flux<HistoryDocument> readVersions(String docId, List<Integer> indexes, int base) {
+    AsyncLookupInBuilder lookup =
+        bucket.lookupIn(docId).get(BASE, SubdocOptionsBuilder.builder().xattr(true));
+    indexes.forEach(index -> lookup.get("[" + (index - base) + "]"));
+    return Mono.from(RxReactiveStreams.toPublisher(lookup.execute()))
+        .flatMapIterable(
+            fragment -> {
+              // numbered by the actual base in case versions were trimmed since it was read
+              int actualBase = baseOf(fragment, 0);
+              List<HistoryDocument> versions = new ArrayList<>(indexes.size());
+              for (int i = 0; i < indexes.size(); i++) {
+                if (fragment.exists(i + 1)) {
+                  versions.add(
+                      new HistoryDocument(
+                          actualBase + indexes.get(i) - base + 1,
+                          readJsonValue(fragment.content(i + 1))));
+                }
+              }
+              return versions;
+            });
+  }
+
+  @Override
+  public Mono<Document> save(String tenant, String repository, Document document) {
+    String changesId = changesId(tenant, repository);
+    String docId = docId(tenant, repository, document.key());
+    long token = newToken();
+    return checkRepositoryExists(tenant, repository)
+        .then(storedValue(tenant, repository, document.value()))
+        .flatMap(
+            value ->
+                writeChange(
+                    changesId,
+                    document.key(),
+                    false,
+                    token,
+                    insertFirstVersion(docId, value, token)))
         .onErrorMap(
             DocumentAlreadyExistsException.class,
             e ->
@@ -165,41 +1334,305 @@ public class CouchbaseRepository implements ConfigurationRepository {
                     String.format(
                         "Repository '%s' key '%s' already exists", repository, document.key())))
         .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
-        .switchIfEmpty(
-            Mono.error(
-                () ->
-                    new DataAccessException("Save operation is failed because of unknown reason")))
         .thenReturn(document);
   }
 
+  @Override
+  public Mono<Document> saveOrUpdate(String tenant, String repository, Document document) {
+    String changesId = changesId(tenant, repository);
+    String docId = docId(tenant, repository, document.key());
+    long token = newToken();
+    return checkRepositoryExists(tenant, repository)
+        .then(storedValue(tenant, repository, document.value()))
+        .flatMap(
+            value ->
+                writeChange(
+                    changesId,
+                    document.key(),
+                    false,
+                    token,
+                    insertFirstVersion(docId, value, token)
+                        .thenReturn(FIRST_VERSION)
+                        // the change is logged already, so its token is used to update
+                        .onErrorResume(
+                            DocumentAlreadyExistsException.class,
+                            e -> appendVersion(docId, value, 0, token))))
+        .onErrorMap(
+            DocumentDoesNotExistException.class,
+            e ->
+                new DocumentDoesNotExistException(
+                    String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND, repository, document.key())))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .map(version -> new Document(document.key(), document.value(), version));
+  }
+
   @Override
   public Mono<Document> update(String tenant, String repository, Document document) {
-    return Mono.from(
-            RxReactiveStreams.toPublisher(
-                bucket.listAppend(docId(tenant, repository, document.key()), document.value())))
-        .filter(isUpdated -> isUpdated)
-        .switchIfEmpty(
-            Mono.error(
-                () ->
-                    new DataAccessException("Save operation is failed because of unknown reason")))
-        .then(
-            Mono.from(
-                RxReactiveStreams.toPublisher(
-                    bucket.listSize(docId(tenant, repository, document.key())))))
+    String changesId = changesId(tenant, repository);
+    String docId = docId(tenant, repository, document.key());
+    long token = newToken();
+    return storedValue(tenant, repository, document.value())
+        .flatMap(
+            value ->
+                writeChange(
+                    changesId, document.key(), false, token, appendVersion(docId, value, 0, token)))
         .onErrorMap(
             DocumentDoesNotExistException.class,
             e ->
                 new DocumentDoesNotExistException(
                     String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND, repository, document.key())))
         .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .map(lastVersion -> new Document(document.key(), document.value(), lastVersion));
+  }
+
+  @Override
+  public Mono<Document> update(
+      String tenant, String repository, Document document, int expectedVersion) {
+    String changesId = changesId(tenant, repository);
+    String docId = docId(tenant, repository, document.key());
+    String conflict = String.format(KEY_VERSION_CONFLICT, document.key(), expectedVersion);
+    long token = newToken();
+    return storedValue(tenant, repository, document.value())
+        .flatMap(
+            value ->
+                lookupVersions(docId)
+                    .flatMap(
+                        fragment -> {
+                          if (latestVersionOf(fragment) != expectedVersion) {
+                            return Mono.error(new KeyVersionConflictException(conflict));
+                          }
+                          return writeChange(
+                              changesId,
+                              document.key(),
+                              false,
+                              token,
+                              appendVersionIfLatest(
+                                  docId, value, expectedVersion, fragment, token, 0));
+                        }))
+        .onErrorMap(CASMismatchException.class, e -> new KeyVersionConflictException(conflict, e))
+        .onErrorMap(
+            DocumentDoesNotExistException.class,
+            e ->
+                new KeyNotFoundException(
+                    String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND, repository, document.key())))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .map(version -> new Document(document.key(), document.value(), version));
+  }
+
+  /**
+   * Appends a new version of the value if the latest version is still the expected one. The write
+   * is rejected if anyone changed the document since the lookup, but compaction and archiving
+   * change it without adding versions, so then it's looked up again and only a moved version is a
+   * conflict.
+   *
+   * @param docId key document id.
+   * @param value value of the new version.
+   * @param expectedVersion version the latest one is expected to be.
+   * @param fragment lookup of the versions the expected version was checked against.
+   * @param token token of the change.
+   * @param attempts number of attempts made so far.
+   * @return number of the appended version, or a CAS mismatch if the version moved.
+   */
+  private Mono<Integer> appendVersionIfLatest(
+      String docId,
+      Object value,
+      int expectedVersion,
+      DocumentFragment<Lookup> fragment,
+      long token,
+      long attempts) {
+    return appendVersion(docId, value, fragment.cas(), token)
+        .onErrorResume(
+            CASMismatchException.class,
+            e ->
+                attempts >= CAS_RETRIES
+                    ? Mono.error(e)
+                    : lookupVersions(docId)
+                        .flatMap(
+                            latest ->
+                                latestVersionOf(latest) != expectedVersion
+                                    ? Mono.error(e)
+                                    : appendVersionIfLatest(
+                                        docId,
+                                        value,
+                                        expectedVersion,
+                                        latest,
+                                        token,
+                                        attempts + 1)));
+  }
+
+  /**
+   * Appends a new version of the value together with its write time and bumps the version counter,
+   * all in a single sub-document multi-mutation which also stamps the document with the token of
+   * the change. A document written before the counter was introduced gets it set from the number of
+   * its versions instead, which takes a lookup and is retried on CAS mismatch unless the caller
+   * holds the CAS.
+   *
+   * @param docId key document id.
+   * @param value value of the new version.
+   * @param cas CAS the document must still have, or 0 to append unconditionally.
+   * @param token token of the change.
+   * @return number of the appended version.
+   */
+  private Mono<Integer> appendVersion(String docId, Object value, long cas, long token) {
+    Mono<Integer> version;
+    if (versionCountersMigrated) {
+      version = appendVersion(docId, value, cas, token, null);
+    } else {
+      version =
+          Mono.defer(() -> lookupVersionCounter(docId))
+              .flatMap(
+                  fragment ->
+                      fragment.exists(0)
+                          ? appendVersion(docId, value, cas, token, null)
+                          : appendVersion(
+                              docId,
+                              value,
+                              cas != 0 ? cas : fragment.cas(),
+                              token,
+                              versionCountOf(fragment) + 1))
+              .retry(cas != 0 ? 0 : CAS_RETRIES, CASMismatchException.class::isInstance);
+    }
+    return version
+        .switchIfEmpty(
+            Mono.error(
+                () ->
+                    new DataAccessException("Save operation is failed because of unknown reason")))
+        .doOnNext(v -> archiveIfDue(docId, v));
+  }
+
+  private Mono<Integer> appendVersion(
+      String docId, Object value, long cas, long token, Integer version) {
+    AsyncMutateInBuilder mutation =
+        bucket
+            .mutateIn(docId)
+            .withCas(cas)
+            .arrayAppend(
+                TIMES,
+                System.currentTimeMillis(),
+                SubdocOptionsBuilder.builder().xattr(true).createPath(true));
+    if (version == null) {
+      mutation.counter(VERSION, 1, SubdocOptionsBuilder.builder().xattr(true));
+    } else {
+      mutation.upsert(VERSION, version, SubdocOptionsBuilder.builder().xattr(true));
+    }
+    return Mono.from(
+            RxReactiveStreams.toPublisher(
+                mutation
+                    .upsert(TOKEN, token, SubdocOptionsBuilder.builder().xattr(true))
+                    .arrayAppend("", value, false)
+                    .execute()))
         .map(
-            lastVersion ->
-                new Document(document.key(), savedJsonValue(document.value()), lastVersion));
+            fragment ->
+                version != null ? version : fragment.content(VERSION, Long.class).intValue());
+  }
+
+  /**
+   * Sets the version counter of every key document written before the counter was introduced from
+   * the number of its versions, and records that it's done in a marker document, so later starts
+   * skip it. Safe to run concurrently from several nodes. Keys are updatable while it runs, updates
+   * set the counter of a key without one themselves.
+   *
+   * @return completion signal.
+   */
+  public Mono<Void> migrateVersionCounters() {
+    return Mono.defer(this::isVersionCountersMigrated)
+        .flatMap(migrated -> migrated ? Mono.<Void>empty() : initVersionCounters())
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .doOnSuccess(v -> versionCountersMigrated = true)
+        .then();
+  }
+
+  private Mono<Boolean> isVersionCountersMigrated() {
+    return Mono.from(RxReactiveStreams.toPublisher(bucket.exists(VERSION_COUNTERS_MIGRATED)));
+  }
+
+  private Mono<Void> initVersionCounters() {
+    return Flux.from(RxReactiveStreams.toPublisher(bucket.query(ViewQuery.from("keys", "by_keys"))))
+        .flatMap(asyncViewResult -> RxReactiveStreams.toPublisher(asyncViewResult.rows()))
+        // documents of a repository are keyed by its tenant and name
+        .filter(row -> String.valueOf(row.key()).contains(DELIMITER))
+        .flatMap(row -> initVersionCounter(row.id()), settings.writeConcurrency())
+        .filter(initialized -> initialized)
+        .count()
+        .flatMap(
+            count ->
+                Mono.from(
+                        RxReactiveStreams.toPublisher(
+                            bucket.upsert(
+                                JsonDocument.create(
+                                    VERSION_COUNTERS_MIGRATED,
+                                    JsonObject.create().put("keys", count)))))
+                    .doOnSuccess(
+                        marker -> LOGGER.info("Migrated version counters of {} keys", count)))
+        .then();
+  }
+
+  /**
+   * Initializes the version counter of a document written before the counter was introduced from
+   * the number of its versions.
+   *
+   * @param docId key document id.
+   * @return whether the counter was initialized, false if there was one already.
+   */
+  private Mono<Boolean> initVersionCounter(String docId) {
+    return Mono.defer(() -> lookupVersionCounter(docId))
+        .flatMap(
+            fragment ->
+                fragment.exists(0)
+                    ? Mono.just(false)
+                    : Mono.from(
+                            RxReactiveStreams.toPublisher(
+                                bucket
+                                    .mutateIn(docId)
+                                    .withCas(fragment.cas())
+                                    .upsert(
+                                        VERSION,
+                                        versionCountOf(fragment),
+                                        SubdocOptionsBuilder.builder().xattr(true))
+                                    .execute()))
+                        .thenReturn(true))
+        .retry(MIGRATION_RETRIES, CASMismatchException.class::isInstance)
+        // deleted since it was listed
+        .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.just(false));
+  }
+
+  /**
+   * Looks up the version counter of a key.
+   *
+   * @param docId key document id.
+   * @return fragment holding the version counter at index 0, the number of versions moved out of
+   *     the key document at index 1 and the number of versions in the key document at index 2.
+   */
+  private Mono<DocumentFragment<Lookup>> lookupVersionCounter(String docId) {
+    return Mono.from(
+        RxReactiveStreams.toPublisher(
+            bucket
+                .lookupIn(docId)
+                .get(VERSION, SubdocOptionsBuilder.builder().xattr(true))
+                .get(BASE, SubdocOptionsBuilder.builder().xattr(true))
+                .getCount("")
+                .execute()));
+  }
+
+  private static int versionCountOf(DocumentFragment<Lookup> fragment) {
+    return baseOf(fragment, 1) + ((Number) fragment.content(2)).intValue();
   }
 
   @Override
   public Mono<Void> delete(String tenant, String repository, String key) {
-    return Mono.from(RxReactiveStreams.toPublisher(bucket.remove(docId(tenant, repository, key))))
+    String changesId = changesId(tenant, repository);
+    String docId = docId(tenant, repository, key);
+    long token = newToken();
+    return lookupVersions(docId)
+        .flatMap(
+            fragment ->
+                writeChange(
+                        changesId,
+                        key,
+                        true,
+                        token,
+                        Mono.from(RxReactiveStreams.toPublisher(bucket.remove(docId))))
+                    .thenReturn(fragment))
         .onErrorMap(
             DocumentDoesNotExistException.class,
             e ->
@@ -211,32 +1644,96 @@ public class CouchbaseRepository implements ConfigurationRepository {
                 () ->
                     new DataAccessException(
                         "Delete operation is failed because of unknown reason")))
+        .flatMap(fragment -> deleteArchive(docId, fragment))
+        .onErrorMap(CouchbaseExceptionTranslator::translateExceptionIfPossible)
+        .then();
+  }
+
+  private Mono<Void> deleteArchive(String docId, DocumentFragment<Lookup> fragment) {
+    int base = baseOf(fragment, 0);
+    int archiveStart = archiveStartOf(fragment, 1, base);
+    if (archiveStart > base) {
+      return Mono.empty();
+    }
+    int firstChunk = archive.chunkOf(archiveStart);
+    return Flux.range(firstChunk, archive.chunkOf(base) - firstChunk + 1)
+        .flatMap(chunk -> archive.delete(docId, chunk), settings.writeConcurrency())
         .then();
   }
 
+  private Mono<Void> checkRepositoryExists(String tenant, String repository) {
+    String repositoryId = tenant + DELIMITER + repository;
+    return Mono.defer(
+        () -> {
+          if (existingRepositories.getIfPresent(repositoryId) != null) {
+            return Mono.empty();
+          }
+          if (missingRepositories.getIfPresent(repositoryId) != null) {
+            return Mono.error(
+                new RepositoryNotFoundException(String.format(REPOSITORY_NOT_FOUND, repository)));
+          }
+          return Mono.from(
+                  RxReactiveStreams.toPublisher(bucket.setContains(registryId(tenant), repository)))
+              .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.just(false))
+              .flatMap(
+                  isRepoExists ->
+                      isRepoExists ? Mono.just(true) : existsInLegacyRegistry(repositoryId))
+              .doOnNext(
+                  isRepoExists -> {
+                    if (isRepoExists) {
+                      markExisting(repositoryId);
+                    } else {
+                      missingRepositories.put(repositoryId, Boolean.TRUE);
+                    }
+                  })
+              .filter(isRepoExists -> isRepoExists)
+              .switchIfEmpty(
+                  Mono.error(
+                      () ->
+                          new RepositoryNotFoundException(
+                              String.format(REPOSITORY_NOT_FOUND, repository))))
+              .then();
+        });
+  }
+
+  private void markExisting(String repositoryId) {
+    existingRepositories.put(repositoryId, Boolean.TRUE);
+    missingRepositories.invalidate(repositoryId);
+  }
+
+  private String registryId(String tenant) {
+    return REPOS + DELIMITER + tenant;
+  }
+
+  private String changesId(String tenant, String repository) {
+    return CHANGES + DELIMITER + tenant + DELIMITER + repository;
+  }
+
   private String docId(String tenant, String repository, String key) {
     return tenant + DELIMITER + repository + DELIMITER + key;
   }
 
-  private Object savedJsonValue(Object v) {
-    if (v instanceof LinkedHashMap) {
-      return JsonObject.from((Map<String, ?>) v);
-    } else if (v instanceof ArrayList) {
-      return JsonArray.from((ArrayList) v);
-    } else if (v == null) {
+  private Object readJsonValue(Object stored) {
+    Object v = ValueCodec.decode(stored);
+    // served as their text, as the raw ones, rather than converted to maps and lists
+    if (v instanceof JsonObject || v instanceof JsonArray) {
+      return new RawJson(v.toString());
+    } else if (v == null || v == JsonObject.NULL) {
       return JsonObject.NULL;
     }
     return v;
   }
 
-  private Object readJsonValue(Object v) {
-    if (v instanceof JsonObject) {
-      return ((JsonObject) v).toMap();
-    } else if (v instanceof JsonArray) {
-      return ((JsonArray) v).toList();
-    } else if (v == null || v == JsonObject.NULL) {
-      return JsonObject.NULL;
+  private static final class StampedDocument {
+
+    private final Document document;
+    private final long revision;
+    private final Long token;
+
+    private StampedDocument(Document document, long revision, Long token) {
+      this.document = document;
+      this.revision = revision;
+      this.token = token;
     }
-    return v;
   }
 }
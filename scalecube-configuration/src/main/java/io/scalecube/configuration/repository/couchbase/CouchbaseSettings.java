@@ -4,10 +4,31 @@ import java.util.List;
 
 public final class CouchbaseSettings {
 
+  private static final int DEFAULT_READ_CONCURRENCY = 256;
+  private static final int DEFAULT_READ_BATCH_SIZE = 1;
+  private static final int DEFAULT_WRITE_CONCURRENCY = 32;
+  private static final int DEFAULT_REPOSITORY_CACHE_SIZE = 10000;
+  private static final int DEFAULT_MISSING_REPOSITORY_TTL_MILLIS = 1000;
+  private static final int DEFAULT_CHANGES_LIMIT = 1000;
+  private static final int DEFAULT_COMPACTION_INTERVAL_SECONDS = 10 * 60;
+  private static final int DEFAULT_ARCHIVE_CHUNK_SIZE = 100;
+  private static final int DEFAULT_ARCHIVE_HEAD_BYTES = 1024 * 1024;
+  private static final int DEFAULT_ARCHIVE_CHUNK_BYTES = 1024 * 1024;
+
   private List<String> hosts;
   private String username;
   private String password;
   private String bucketName;
+  private Integer readConcurrency;
+  private Integer readBatchSize;
+  private Integer writeConcurrency;
+  private Integer repositoryCacheSize;
+  private Integer missingRepositoryTtlMillis;
+  private Integer changesLimit;
+  private Integer compactionIntervalSeconds;
+  private Integer archiveChunkSize;
+  private Integer archiveHeadBytes;
+  private Integer archiveChunkBytes;
 
   public List<String> hosts() {
     return hosts;
@@ -24,4 +45,60 @@ public final class CouchbaseSettings {
   public String bucketName() {
     return bucketName;
   }
+
+  public int readConcurrency() {
+    return readConcurrency != null ? readConcurrency : DEFAULT_READ_CONCURRENCY;
+  }
+
+  public int readBatchSize() {
+    return readBatchSize != null ? readBatchSize : DEFAULT_READ_BATCH_SIZE;
+  }
+
+  public int writeConcurrency() {
+    return writeConcurrency != null ? writeConcurrency : DEFAULT_WRITE_CONCURRENCY;
+  }
+
+  public int repositoryCacheSize() {
+    return repositoryCacheSize != null ? repositoryCacheSize : DEFAULT_REPOSITORY_CACHE_SIZE;
+  }
+
+  /**
+   * Returns for how long a repository found missing is remembered as missing, so requests to it
+   * fail without looking it up again.
+   *
+   * @return time in milliseconds.
+   */
+  public int missingRepositoryTtlMillis() {
+    return missingRepositoryTtlMillis != null
+        ? missingRepositoryTtlMillis
+        : DEFAULT_MISSING_REPOSITORY_TTL_MILLIS;
+  }
+
+  public int changesLimit() {
+    return changesLimit != null ? changesLimit : DEFAULT_CHANGES_LIMIT;
+  }
+
+  /**
+   * Returns how often repositories with retention settings are compacted. In every period a single
+   * node compacts them, the one which took the compaction lease for it.
+   *
+   * @return interval in seconds.
+   */
+  public int compactionIntervalSeconds() {
+    return compactionIntervalSeconds != null
+        ? compactionIntervalSeconds
+        : DEFAULT_COMPACTION_INTERVAL_SECONDS;
+  }
+
+  public int archiveChunkSize() {
+    return archiveChunkSize != null ? archiveChunkSize : DEFAULT_ARCHIVE_CHUNK_SIZE;
+  }
+
+  public int archiveHeadBytes() {
+    return archiveHeadBytes != null ? archiveHeadBytes : DEFAULT_ARCHIVE_HEAD_BYTES;
+  }
+
+  public int archiveChunkBytes() {
+    return archiveChunkBytes != null ? archiveChunkBytes : DEFAULT_ARCHIVE_CHUNK_BYTES;
+  }
 }
@@ -0,0 +1,246 @@
+package io.scalecube.configuration.repository.couchbase;
+
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.scalecube.configuration.api.RawJson;
+import io.scalecube.configuration.repository.ValueEncoding;
+import io.scalecube.configuration.repository.exception.DataAccessException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes values stored in key documents. Values are kept as JSON by default. Values of a
+ * repository with the raw encoding and large values of a repository with a compression threshold
+ * take the place of the original value as an object naming its codec and holding the JSON text or
+ * the Base64 encoded bytes, so every version records how it was stored and reads back regardless of
+ * the current repository settings. Versions stored in the Smile format still read back, but no
+ * longer get written, see {@link ValueEncoding#SMILE}.
+ */
+public final class ValueCodec {
+
+  /** Stores values as JSON without compression. */
+  public static final ValueCodec DEFAULT = new ValueCodec(ValueEncoding.JSON, null);
+
+  private static final String CODEC = "@codec";
+  private static final String DATA = "@data";
+  private static final String GZIP = "gzip";
+  private static final String SMILE = "smile";
+  private static final String SMILE_GZIP = "smile+gzip";
+  private static final String RAW = "raw";
+  private static final String RAW_GZIP = "raw+gzip";
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+  private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+  private final ValueEncoding encoding;
+  private final Integer threshold;
+
+  /**
+   * Creates codec.
+   *
+   * @param encoding storage format of values.
+   * @param threshold size in bytes of encoded values to compress from, or null to never compress.
+   */
+  public ValueCodec(ValueEncoding encoding, Integer threshold) {
+    this.encoding = encoding;
+    this.threshold = threshold;
+  }
+
+  public ValueEncoding encoding() {
+    return encoding;
+  }
+
+  public Integer threshold() {
+    return threshold;
+  }
+
+  /**
+   * Encodes a value, compressing it if its encoded form is at least as large as the threshold,
+   * unless compression doesn't make it smaller. Values of a repository with the Smile encoding are
+   * stored as JSON.
+   *
+   * @param value value as received from a client: its JSON text, maps, lists, scalars, a Jackson
+   *     tree or null.
+   * @return value to store in a key document.
+   */
+  public Object encode(Object value) {
+    if (encoding == ValueEncoding.RAW) {
+      return encodeRaw(value instanceof RawJson ? ((RawJson) value).json() : writeJson(value));
+    }
+    Object json = jsonValue(value);
+    // would be taken for an encoded value otherwise, so it's compressed to read back as is
+    boolean reserved = codecOf(json) != null;
+    if (!reserved
+        && (threshold == null
+            || !(json instanceof JsonObject
+                || json instanceof JsonArray
+                || json instanceof String))) {
+      return json;
+    }
+    byte[] bytes = JsonArray.create().add(json).toString().getBytes(StandardCharsets.UTF_8);
+    if (!reserved && bytes.length < threshold) {
+      return json;
+    }
+    byte[] compressed = gzip(bytes);
+    if (!reserved && base64Length(compressed) >= bytes.length) {
+      return json;
+    }
+    return encoded(GZIP, compressed);
+  }
+
+  private Object encodeRaw(String json) {
+    if (threshold != null) {
+      byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+      if (bytes.length >= threshold) {
+        byte[] compressed = gzip(bytes);
+        if (base64Length(compressed) < bytes.length) {
+          return encoded(RAW_GZIP, compressed);
+        }
+      }
+    }
+    return JsonObject.create().put(CODEC, RAW).put(DATA, json);
+  }
+
+  /**
+   * Restores a value written by {@link #encode}, values which were stored as plain JSON are
+   * returned as is.
+   *
+   * @param value value as stored in a key document or archive chunk.
+   * @return stored JSON value, maps and lists for values stored in the Smile format, or the JSON
+   *     text for values stored raw or compressed.
+   */
+  public static Object decode(Object value) {
+    String codec = codecOf(value);
+    if (codec == null) {
+      return value;
+    }
+    String data =
+        value instanceof JsonObject
+            ? ((JsonObject) value).getString(DATA)
+            : String.valueOf(((Map<?, ?>) value).get(DATA));
+    if (RAW.equals(codec)) {
+      return new RawJson(data);
+    }
+    byte[] bytes = Base64.getDecoder().decode(data);
+    switch (codec) {
+      case GZIP:
+        // compressed as a single element array, which is stripped rather than parsed
+        String json = new String(gunzip(bytes), StandardCharsets.UTF_8);
+        return new RawJson(json.substring(1, json.length() - 1));
+      case SMILE:
+        return readSmile(bytes);
+      case SMILE_GZIP:
+        return readSmile(gunzip(bytes));
+      case RAW_GZIP:
+        return new RawJson(new String(gunzip(bytes), StandardCharsets.UTF_8));
+      default:
+        throw new DataAccessException(String.format("Unknown value codec '%s'", codec));
+    }
+  }
+
+  /**
+   * Converts a value as received from a client to the one stored as JSON.
+   *
+   * @param value JSON text, maps, lists, scalars, Jackson trees of in-process callers or null.
+   * @return JSON value.
+   */
+  static Object jsonValue(Object value) {
+    if (value instanceof JsonNode) {
+      return jsonValue(new RawJson(value.toString()));
+    } else if (value instanceof RawJson) {
+      String json = ((RawJson) value).json();
+      if (json.startsWith("{")) {
+        return JsonObject.fromJson(json);
+      } else if (json.startsWith("[")) {
+        return JsonArray.fromJson(json);
+      }
+      Object scalar = JsonArray.fromJson("[" + json + "]").get(0);
+      return scalar != null ? scalar : JsonObject.NULL;
+    } else if (value instanceof LinkedHashMap) {
+      return JsonObject.from((Map<String, ?>) value);
+    } else if (value instanceof ArrayList) {
+      return JsonArray.from((ArrayList) value);
+    } else if (value == null) {
+      return JsonObject.NULL;
+    }
+    return value;
+  }
+
+  private static JsonObject encoded(String codec, byte[] bytes) {
+    return JsonObject.create()
+        .put(CODEC, codec)
+        .put(DATA, Base64.getEncoder().encodeToString(bytes));
+  }
+
+  private static int base64Length(byte[] bytes) {
+    return (bytes.length + 2) / 3 * 4;
+  }
+
+  private static String codecOf(Object value) {
+    // whole versions lists read at once hold objects as maps
+    if (value instanceof JsonObject) {
+      JsonObject object = (JsonObject) value;
+      return object.size() == 2 && object.containsKey(CODEC) && object.containsKey(DATA)
+          ? String.valueOf(object.get(CODEC))
+          : null;
+    }
+    if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      return map.size() == 2 && map.containsKey(CODEC) && map.containsKey(DATA)
+          ? String.valueOf(map.get(CODEC))
+          : null;
+    }
+    return null;
+  }
+
+  private static String writeJson(Object value) {
+    try {
+      return JSON_MAPPER.writeValueAsString(value);
+    } catch (IOException e) {
+      throw new DataAccessException("Failed to encode value", e);
+    }
+  }
+
+  private static Object readSmile(byte[] bytes) {
+    try {
+      return SMILE_MAPPER.readValue(bytes, Object.class);
+    } catch (IOException e) {
+      throw new DataAccessException("Failed to decode value", e);
+    }
+  }
+
+  private static byte[] gzip(byte[] bytes) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE)) {
+      gzip.write(bytes);
+    } catch (IOException e) {
+      throw new DataAccessException("Failed to compress value", e);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] gunzip(byte[] bytes) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes), BUFFER_SIZE)) {
+      byte[] buffer = new byte[BUFFER_SIZE];
+      for (int read = gzip.read(buffer); read > 0; read = gzip.read(buffer)) {
+        out.write(buffer, 0, read);
+      }
+    } catch (IOException e) {
+      throw new DataAccessException("Failed to decompress value", e);
+    }
+    return out.toByteArray();
+  }
+}
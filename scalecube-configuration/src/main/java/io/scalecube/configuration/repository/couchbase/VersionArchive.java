@@ -0,0 +1,238 @@
+package io.scalecube.configuration.repository.couchbase;
+
+import com.couchbase.client.java.AsyncBucket;
+import com.couchbase.client.java.document.JsonDocument;
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import com.couchbase.client.java.error.DocumentDoesNotExistException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import rx.RxReactiveStreams;
+
+/**
+ * Archive of older versions moved out of key documents. Versions are grouped into chunk documents
+ * of a fixed number of versions, so the chunk holding a version is known from its number alone. A
+ * chunk may start later than its first slot if leading versions were trimmed before archiving.
+ *
+ * <p>A chunk whose values take more than {@code chunkBytes} is split into parts: the chunk document
+ * holds the leading versions and the number of parts, every part the versions following the
+ * previous one. A single version is never split, so a part may exceed the limit by one value.
+ */
+final class VersionArchive {
+
+  private static final String ARCHIVE = "archive";
+  private static final String DELIMITER = "::";
+  private static final String FIRST = "first";
+  private static final String VALUES = "values";
+  private static final String TIMES = "times";
+  private static final String PARTS = "parts";
+  // rough size of a write time in a chunk document
+  private static final int TIME_BYTES = 14;
+
+  private final AsyncBucket bucket;
+  private final int chunkSize;
+  private final int chunkBytes;
+
+  VersionArchive(AsyncBucket bucket, int chunkSize, int chunkBytes) {
+    this.bucket = bucket;
+    this.chunkSize = chunkSize;
+    this.chunkBytes = chunkBytes;
+  }
+
+  int chunkSize() {
+    return chunkSize;
+  }
+
+  int chunkOf(int version) {
+    return (version - 1) / chunkSize;
+  }
+
+  int lastVersionOf(int chunk) {
+    return (chunk + 1) * chunkSize;
+  }
+
+  /**
+   * Adds versions to the chunk of the first of them. The versions the chunk already holds before
+   * them are kept if they lead up to them, otherwise the chunk is started over. Adding the same
+   * versions again is harmless, so an interrupted archiving may simply be repeated.
+   *
+   * @param docId key document id.
+   * @param first number of the first version to add.
+   * @param values stored values of the versions.
+   * @param times write times of the versions.
+   * @return completion signal.
+   */
+  Mono<Void> append(String docId, int first, List<Object> values, List<Long> times) {
+    int chunk = chunkOf(first);
+    return read(docId, chunk)
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(
+            existing -> {
+              List<Object> chunkValues = new ArrayList<>(values.size());
+              List<Long> chunkTimes = new ArrayList<>(values.size());
+              int chunkFirst = first;
+              if (existing.isPresent()
+                  && existing.get().first() < first
+                  && existing.get().last() >= first - 1) {
+                Chunk found = existing.get();
+                for (int version = found.first(); version < first; version++) {
+                  chunkValues.add(found.value(version));
+                  chunkTimes.add(found.time(version));
+                }
+                chunkFirst = found.first();
+              }
+              chunkValues.addAll(values);
+              chunkTimes.addAll(times);
+              int previousParts = existing.map(found -> found.parts).orElse(0);
+              return write(docId, chunk, chunkFirst, chunkValues, chunkTimes, previousParts);
+            });
+  }
+
+  private Mono<Void> write(
+      String docId,
+      int chunk,
+      int first,
+      List<Object> values,
+      List<Long> times,
+      int previousParts) {
+    List<JsonObject> parts = new ArrayList<>();
+    int from = 0;
+    long bytes = 0;
+    for (int i = 0; i < values.size(); i++) {
+      int size = sizeOf(values.get(i)) + TIME_BYTES;
+      if (i > from && bytes + size > chunkBytes) {
+        parts.add(part(first + from, values.subList(from, i), times.subList(from, i)));
+        from = i;
+        bytes = 0;
+      }
+      bytes += size;
+    }
+    parts.add(
+        part(first + from, values.subList(from, values.size()), times.subList(from, times.size())));
+    int partCount = parts.size() - 1;
+    // parts first, so the chunk document never refers to parts which aren't written yet
+    return Flux.range(1, partCount)
+        .flatMap(part -> upsert(partId(docId, chunk, part), parts.get(part)))
+        .then(upsert(chunkId(docId, chunk), parts.get(0).put(PARTS, partCount)))
+        .thenMany(
+            Flux.range(partCount + 1, Math.max(previousParts - partCount, 0))
+                .flatMap(part -> remove(partId(docId, chunk, part))))
+        .then();
+  }
+
+  /**
+   * Reads a chunk along with all its parts.
+   *
+   * @param docId key document id.
+   * @param chunk chunk number.
+   * @return the chunk or empty if there is no such chunk.
+   */
+  Mono<Chunk> read(String docId, int chunk) {
+    return get(chunkId(docId, chunk))
+        .flatMap(
+            content -> {
+              int parts = partsOf(content);
+              JsonArray values = content.getArray(VALUES);
+              JsonArray times = content.getArray(TIMES);
+              return Flux.range(1, parts)
+                  .concatMap(part -> get(partId(docId, chunk, part)))
+                  // a part rewritten meanwhile starts elsewhere, the versions before it are whole
+                  .takeWhile(part -> part.getInt(FIRST) == content.getInt(FIRST) + values.size())
+                  .doOnNext(
+                      part -> {
+                        part.getArray(VALUES).forEach(values::add);
+                        part.getArray(TIMES).forEach(times::add);
+                      })
+                  .then(
+                      Mono.fromCallable(
+                          () -> new Chunk(content.getInt(FIRST), values, times, parts)));
+            });
+  }
+
+  Mono<Void> delete(String docId, int chunk) {
+    return get(chunkId(docId, chunk))
+        .flatMapMany(
+            content ->
+                Flux.range(1, partsOf(content)).flatMap(part -> remove(partId(docId, chunk, part))))
+        .then(remove(chunkId(docId, chunk)));
+  }
+
+  private Mono<JsonObject> get(String id) {
+    return Mono.from(RxReactiveStreams.toPublisher(bucket.get(id))).map(JsonDocument::content);
+  }
+
+  private Mono<Void> upsert(String id, JsonObject content) {
+    return Mono.from(RxReactiveStreams.toPublisher(bucket.upsert(JsonDocument.create(id, content))))
+        .then();
+  }
+
+  private Mono<Void> remove(String id) {
+    return Mono.from(RxReactiveStreams.toPublisher(bucket.remove(id)))
+        .onErrorResume(DocumentDoesNotExistException.class, e -> Mono.empty())
+        .then();
+  }
+
+  private static JsonObject part(int first, List<Object> values, List<Long> times) {
+    return JsonObject.create()
+        .put(FIRST, first)
+        .put(VALUES, JsonArray.from(values))
+        .put(TIMES, JsonArray.from(times));
+  }
+
+  private static int partsOf(JsonObject content) {
+    Integer parts = content.getInt(PARTS);
+    return parts != null ? parts : 0;
+  }
+
+  private static int sizeOf(Object value) {
+    // json objects and arrays print as json, encoded values are quoted strings
+    return value instanceof String ? ((String) value).length() + 2 : String.valueOf(value).length();
+  }
+
+  private String partId(String docId, int chunk, int part) {
+    return chunkId(docId, chunk) + DELIMITER + part;
+  }
+
+  private String chunkId(String docId, int chunk) {
+    return ARCHIVE + DELIMITER + docId + DELIMITER + chunk;
+  }
+
+  static final class Chunk {
+
+    private final int first;
+    private final JsonArray values;
+    private final JsonArray times;
+    private final int parts;
+
+    private Chunk(int first, JsonArray values, JsonArray times, int parts) {
+      this.first = first;
+      this.values = values;
+      this.times = times;
+      this.parts = parts;
+    }
+
+    int first() {
+      return first;
+    }
+
+    int last() {
+      return first + values.size() - 1;
+    }
+
+    boolean contains(int version) {
+      return version >= first && version <= last();
+    }
+
+    Object value(int version) {
+      return values.get(version - first);
+    }
+
+    long time(int version) {
+      return ((Number) times.get(version - first)).longValue();
+    }
+  }
+}
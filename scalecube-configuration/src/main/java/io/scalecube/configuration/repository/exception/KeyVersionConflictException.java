@@ -0,0 +1,12 @@
+package io.scalecube.configuration.repository.exception;
+
+public class KeyVersionConflictException extends DataAccessException {
+
+  public KeyVersionConflictException(String message) {
+    super(message);
+  }
+
+  public KeyVersionConflictException(String message, Throwable ex) {
+    super(message, ex);
+  }
+}
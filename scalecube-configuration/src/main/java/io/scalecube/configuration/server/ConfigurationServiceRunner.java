@@ -8,15 +8,23 @@ import io.scalecube.app.packages.PackageInfo;
 import io.scalecube.config.ConfigRegistry;
 import io.scalecube.configuration.AppConfiguration;
 import io.scalecube.configuration.ConfigurationServiceImpl;
+import io.scalecube.configuration.accesslog.AccessLog;
+import io.scalecube.configuration.accesslog.AccessLogSettings;
 import io.scalecube.configuration.api.ConfigurationService;
 import io.scalecube.configuration.authorization.DefaultPermissions;
+import io.scalecube.configuration.execution.ExecutionSettings;
+import io.scalecube.configuration.execution.ServiceExecution;
+import io.scalecube.configuration.metrics.LatencyMetrics;
+import io.scalecube.configuration.metrics.MetricsSettings;
+import io.scalecube.configuration.repository.CachedConfigurationRepository;
 import io.scalecube.configuration.repository.ConfigurationRepository;
+import io.scalecube.configuration.repository.InstrumentedConfigurationRepository;
 import io.scalecube.configuration.repository.couchbase.CouchbaseRepository;
 import io.scalecube.configuration.repository.couchbase.CouchbaseSettings;
+import io.scalecube.configuration.tokens.CachingAuthenticator;
 import io.scalecube.configuration.tokens.OrganizationServiceKeyProvider;
 import io.scalecube.security.acl.DefaultAccessControl;
 import io.scalecube.security.api.AccessControl;
-import io.scalecube.security.api.Authenticator;
 import io.scalecube.security.jwt.DefaultJwtAuthenticator;
 import io.scalecube.services.Microservices;
 import io.scalecube.services.ServiceEndpoint;
@@ -28,6 +36,7 @@ import java.time.Duration;
 import java.util.Collections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.tcp.TcpClient;
 import reactor.netty.tcp.TcpServer;
@@ -89,17 +98,53 @@ public class ConfigurationServiceRunner {
     CouchbaseSettings settings =
         configRegistry.objectProperty("couchbase", CouchbaseSettings.class).value(null);
 
+    CouchbaseRepository couchbaseRepository =
+        new CouchbaseRepository(couchbaseBucket(settings), settings);
+    migrateInBackground("Repository registry", couchbaseRepository.migrateRepositoryRegistry());
+    migrateInBackground("Version counter", couchbaseRepository.migrateVersionCounters());
+    scheduleCompaction(couchbaseRepository, settings);
+
+    MetricsSettings metricsSettings =
+        configRegistry
+            .objectProperty("metrics", MetricsSettings.class)
+            .value(new MetricsSettings());
+    LatencyMetrics metrics = new LatencyMetrics();
+    metrics.registerMBean();
+    metrics.startReporting(Duration.ofSeconds(metricsSettings.reportIntervalSeconds()));
+
+    ExecutionSettings executionSettings =
+        configRegistry
+            .objectProperty("execution", ExecutionSettings.class)
+            .value(new ExecutionSettings());
+    LOGGER.info("Running configuration service operations with {}", executionSettings);
+    ServiceExecution execution = ServiceExecution.create(executionSettings);
+    execution.registerMBeans();
+
+    AccessLogSettings accessLogSettings =
+        configRegistry
+            .objectProperty("accessLog", AccessLogSettings.class)
+            .value(new AccessLogSettings());
+    LOGGER.info("Writing access log with {}", accessLogSettings);
+    AccessLog accessLog = new AccessLog(accessLogSettings);
+
+    CachedConfigurationRepository cachedRepository =
+        new CachedConfigurationRepository(
+            new InstrumentedConfigurationRepository(couchbaseRepository, metrics));
+    cachedRepository.registerMBean();
     ConfigurationRepository configurationRepository =
-        new CouchbaseRepository(couchbaseBucket(settings));
+        new InstrumentedConfigurationRepository(cachedRepository, metrics);
 
     return call -> {
       OrganizationService organizationService = call.api(OrganizationService.class);
 
       OrganizationServiceKeyProvider keyProvider =
           new OrganizationServiceKeyProvider(organizationService);
+      keyProvider.prefetch().subscribe();
 
-      Authenticator authenticator =
-          new DefaultJwtAuthenticator(map -> keyProvider.get(map.get("kid").toString()));
+      CachingAuthenticator authenticator =
+          new CachingAuthenticator(
+              new DefaultJwtAuthenticator(map -> keyProvider.get(map.get("kid").toString())));
+      keyProvider.addRotationListener(authenticator::invalidateKey);
 
       AccessControl accessControl =
           DefaultAccessControl.builder()
@@ -108,12 +153,37 @@ public class ConfigurationServiceRunner {
               .build();
 
       ConfigurationService configurationService =
-          new ConfigurationServiceImpl(configurationRepository, accessControl);
+          new ConfigurationServiceImpl(
+              configurationRepository, accessControl, execution, metrics, accessLog);
 
       return Collections.singleton(ServiceInfo.fromServiceInstance(configurationService).build());
     };
   }
 
+  private static void migrateInBackground(String name, Mono<Void> migration) {
+    migration
+        .doOnError(th -> LOGGER.warn("{} migration failed, retrying", name, th))
+        .retryBackoff(Long.MAX_VALUE, Duration.ofSeconds(1), Duration.ofMinutes(1))
+        .subscribe();
+  }
+
+  private static void scheduleCompaction(
+      CouchbaseRepository couchbaseRepository, CouchbaseSettings settings) {
+    Duration interval = Duration.ofSeconds(settings.compactionIntervalSeconds());
+    Flux.interval(interval, interval)
+        .onBackpressureDrop()
+        .concatMap(
+            tick ->
+                couchbaseRepository
+                    // another node compacts this period if it holds the lease
+                    .acquireCompactionLease(Math.max(1, settings.compactionIntervalSeconds() - 1))
+                    .filter(acquired -> acquired)
+                    .flatMap(acquired -> couchbaseRepository.compact())
+                    .doOnError(th -> LOGGER.warn("Compaction failed", th))
+                    .onErrorResume(th -> Mono.empty()))
+        .subscribe();
+  }
+
   private static AsyncBucket couchbaseBucket(CouchbaseSettings settings) {
     return Mono.fromCallable(() -> newAsyncBucket(settings))
         .retryBackoff(3, Duration.ofSeconds(1))
@@ -0,0 +1,157 @@
+package io.scalecube.configuration.tokens;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.scalecube.config.ConfigRegistry;
+import io.scalecube.configuration.AppConfiguration;
+import io.scalecube.security.api.Authenticator;
+import io.scalecube.security.api.Profile;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import reactor.core.publisher.Mono;
+
+/**
+ * An {@link Authenticator} decorator which keeps the profiles of verified tokens, so a token is
+ * parsed and its signature verified only the first time it's seen. Tokens are keyed by their
+ * SHA-256 hash and kept until their {@code exp} claim, but no longer than the configured TTL.
+ * Tokens signed with a key which was rotated are dropped by {@link #invalidateKey(String)}.
+ */
+public final class CachingAuthenticator implements Authenticator {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String EXPIRATION_CLAIM = "exp";
+  private static final String KEY_ID_HEADER = "kid";
+
+  private static final ThreadLocal<MessageDigest> SHA256 =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+              throw new IllegalStateException(e);
+            }
+          });
+
+  private final ConfigRegistry configRegistry = AppConfiguration.configRegistry();
+
+  private final int cacheSize = configRegistry.intValue("token.cache.max.size", 10000);
+  private final int expiresAfterSeconds = configRegistry.intValue("token.cache.ttl", 300);
+
+  private final Authenticator delegate;
+  private final Cache<String, VerifiedToken> cache;
+
+  /**
+   * Creates caching authenticator.
+   *
+   * @param delegate authenticator verifying tokens which are not cached.
+   */
+  public CachingAuthenticator(Authenticator delegate) {
+    this(delegate, Ticker.systemTicker());
+  }
+
+  CachingAuthenticator(Authenticator delegate, Ticker ticker) {
+    this.delegate = delegate;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfter(new TokenExpiry())
+            .ticker(ticker)
+            .build();
+  }
+
+  @Override
+  public Mono<Profile> authenticate(String token) {
+    return Mono.defer(
+        () -> {
+          String hash = hash(token);
+          VerifiedToken verified = cache.getIfPresent(hash);
+          if (verified != null) {
+            return Mono.just(verified.profile);
+          }
+          return delegate
+              .authenticate(token)
+              .doOnNext(profile -> cache.put(hash, new VerifiedToken(profile, keyId(token))));
+        });
+  }
+
+  /**
+   * Drops the tokens signed with the given key, so they are verified again with its current key.
+   *
+   * @param keyId key id.
+   */
+  public void invalidateKey(String keyId) {
+    cache.asMap().values().removeIf(verified -> keyId.equals(verified.keyId));
+  }
+
+  private static String hash(String token) {
+    MessageDigest digest = SHA256.get();
+    digest.reset();
+    return Base64.getEncoder()
+        .encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String keyId(String token) {
+    int end = token.indexOf('.');
+    if (end < 0) {
+      return null;
+    }
+    try {
+      JsonNode header =
+          OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(token.substring(0, end)));
+      JsonNode keyId = header.get(KEY_ID_HEADER);
+      return keyId != null ? keyId.asText() : null;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static final class VerifiedToken {
+
+    private final Profile profile;
+    private final String keyId;
+    private final long expiresAtMillis;
+
+    private VerifiedToken(Profile profile, String keyId) {
+      this.profile = profile;
+      this.keyId = keyId;
+      Object exp = profile.claim(EXPIRATION_CLAIM);
+      this.expiresAtMillis =
+          exp instanceof Number
+              ? TimeUnit.SECONDS.toMillis(((Number) exp).longValue())
+              : Long.MAX_VALUE;
+    }
+  }
+
+  private final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+    @Override
+    public long expireAfterCreate(String hash, VerifiedToken verified, long currentTime) {
+      long ttlNanos = TimeUnit.SECONDS.toNanos(expiresAfterSeconds);
+      if (verified.expiresAtMillis == Long.MAX_VALUE) {
+        return ttlNanos;
+      }
+      long untilExpirationNanos =
+          TimeUnit.MILLISECONDS.toNanos(verified.expiresAtMillis - System.currentTimeMillis());
+      return Math.max(0, Math.min(ttlNanos, untilExpirationNanos));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String hash, VerifiedToken verified, long currentTime, long currentDuration) {
+      return expireAfterCreate(hash, verified, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String hash, VerifiedToken verified, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
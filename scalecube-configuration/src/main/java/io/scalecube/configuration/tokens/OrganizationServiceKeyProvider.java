@@ -1,7 +1,11 @@
 package io.scalecube.configuration.tokens;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.scalecube.account.api.GetPublicKeyRequest;
 import io.scalecube.account.api.GetPublicKeyResponse;
 import io.scalecube.account.api.OrganizationService;
@@ -11,18 +15,55 @@ import java.security.Key;
 import java.security.KeyFactory;
 import java.security.spec.EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+/**
+ * Provides public keys of organizations by key id.
+ *
+ * <p>Keys are loaded from the organization service once per key id: concurrent requests for a
+ * missing key wait for the same call. Loaded keys are refreshed in the background after the refresh
+ * interval, requests keep getting the current key meanwhile and keep it if the refresh fails.
+ *
+ * <p>Failed loads are not cached. Instead, requests for the key fail fast for a backoff period
+ * which doubles with every consecutive failure up to its maximum, so unknown key ids are negatively
+ * cached and an unavailable organization service isn't called on every request.
+ */
 public final class OrganizationServiceKeyProvider {
 
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(OrganizationServiceKeyProvider.class);
+
   ConfigRegistry configRegistry = AppConfiguration.configRegistry();
 
   int cacheSize = configRegistry.intValue("key.cache.max.size", 1000);
   int expiresAfterSeconds = configRegistry.intValue("key.cache.ttl", 300);
   int refreshIntervalSeconds = configRegistry.intValue("key.cache.refresh.interval", 60);
-  private final LoadingCache<String, Mono<Key>> cache;
+  int failureBackoffSeconds = configRegistry.intValue("key.cache.failure.backoff", 1);
+  int failureBackoffMaxSeconds = configRegistry.intValue("key.cache.failure.backoff.max", 60);
+  List<String> prefetchKeyIds =
+      configRegistry.stringListValue("key.cache.prefetch", Collections.emptyList());
+  int prefetchRetries = configRegistry.intValue("key.cache.prefetch.retries", 5);
+
+  private final OrganizationService organizationService;
+  private final Ticker ticker;
+  private final AsyncLoadingCache<String, Key> cache;
+  private final Cache<String, Failure> failures;
+  private final ConcurrentMap<String, Key> keys = new ConcurrentHashMap<>();
+  private final List<Consumer<String>> rotationListeners = new CopyOnWriteArrayList<>();
 
   /**
    * Creates key provider.
@@ -30,22 +71,137 @@ public final class OrganizationServiceKeyProvider {
    * @param organizationService organization service.
    */
   public OrganizationServiceKeyProvider(OrganizationService organizationService) {
+    this(organizationService, Ticker.systemTicker());
+  }
+
+  OrganizationServiceKeyProvider(OrganizationService organizationService, Ticker ticker) {
+    this.organizationService = organizationService;
+    this.ticker = ticker;
     cache =
         Caffeine.newBuilder()
             .maximumSize(cacheSize)
             .expireAfterWrite(expiresAfterSeconds, TimeUnit.SECONDS)
             .refreshAfterWrite(refreshIntervalSeconds, TimeUnit.SECONDS)
-            .build(
-                keyId ->
-                    organizationService
-                        .getPublicKey(new GetPublicKeyRequest(keyId))
-                        .publishOn(Schedulers.parallel())
-                        .map(OrganizationServiceKeyProvider::parsePublicKey)
-                        .cache());
+            .ticker(ticker)
+            .<String, Key>removalListener(
+                (keyId, key, cause) -> {
+                  if (key != null && cause != RemovalCause.REPLACED) {
+                    keys.remove(keyId);
+                    rotated(keyId);
+                  }
+                })
+            .buildAsync(new KeyLoader());
+    failures =
+        Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(2L * failureBackoffMaxSeconds, TimeUnit.SECONDS)
+            .ticker(ticker)
+            .build();
   }
 
+  /**
+   * Gets the key with the given id.
+   *
+   * @param keyId key id.
+   * @return key, or the error of its last load while backing off from it.
+   */
   public Mono<Key> get(String keyId) {
-    return cache.get(keyId);
+    return Mono.defer(
+        () -> {
+          Failure failure = failures.getIfPresent(keyId);
+          if (failure != null && failure.isBackingOff(ticker.read())) {
+            return Mono.error(failure.error);
+          }
+          return Mono.fromFuture(cache.get(keyId));
+        });
+  }
+
+  /**
+   * Adds a listener which is called with the key id once a key is replaced by a different one or is
+   * no longer cached, so whatever was verified with the previous key can be dropped.
+   *
+   * @param listener key rotation listener.
+   */
+  public void addRotationListener(Consumer<String> listener) {
+    rotationListeners.add(listener);
+  }
+
+  /**
+   * Loads the keys listed in {@code key.cache.prefetch}, so the first requests with them don't wait
+   * for the organization service. The organization service may not be discovered yet, so failed
+   * loads are retried with the failure backoff up to {@code key.cache.prefetch.retries} times. They
+   * never put a key into backoff, requests go on loading it on demand.
+   *
+   * @return completes once all keys are loaded or failed.
+   */
+  public Mono<Void> prefetch() {
+    return Flux.fromIterable(prefetchKeyIds)
+        .flatMap(
+            keyId ->
+                Mono.defer(() -> prefetch(keyId))
+                    .retryBackoff(
+                        prefetchRetries,
+                        Duration.ofSeconds(failureBackoffSeconds),
+                        Duration.ofSeconds(failureBackoffMaxSeconds))
+                    .onErrorResume(
+                        th -> {
+                          LOGGER.warn("Failed to prefetch key {}: {}", keyId, th.toString());
+                          return Mono.empty();
+                        }))
+        .count()
+        .doOnNext(loaded -> LOGGER.info("Prefetched {} of {} keys", loaded, prefetchKeyIds.size()))
+        .then();
+  }
+
+  private Mono<Key> prefetch(String keyId) {
+    CompletableFuture<Key> cached = cache.getIfPresent(keyId);
+    if (cached != null) {
+      return Mono.fromFuture(cached);
+    }
+    // loaded past the cache loader, which would back off from the key on failure
+    return fetch(keyId)
+        .doOnNext(
+            key -> {
+              cache.put(keyId, CompletableFuture.completedFuture(key));
+              loaded(keyId, key);
+            });
+  }
+
+  private Mono<Key> fetch(String keyId) {
+    return organizationService
+        .getPublicKey(new GetPublicKeyRequest(keyId))
+        .publishOn(Schedulers.parallel())
+        .map(OrganizationServiceKeyProvider::parsePublicKey)
+        .switchIfEmpty(Mono.error(() -> new KeyProviderException("Unknown key id: " + keyId)));
+  }
+
+  private void loaded(String keyId, Key key) {
+    failures.invalidate(keyId);
+    Key previous = keys.put(keyId, key);
+    if (previous != null && !previous.equals(key)) {
+      rotated(keyId);
+    }
+  }
+
+  private void failed(String keyId, Throwable error) {
+    // dropped before the callers see the failure, so the next load doesn't get the failed one
+    cache.synchronous().invalidate(keyId);
+    Failure previous = failures.getIfPresent(keyId);
+    int attempts = previous != null ? previous.attempts + 1 : 1;
+    long backoffSeconds =
+        Math.min(
+            failureBackoffMaxSeconds, (long) failureBackoffSeconds << (Math.min(attempts, 31) - 1));
+    failures.put(keyId, new Failure(error, attempts, ticker.read(), backoffSeconds));
+    LOGGER.warn(
+        "Failed to get key {} ({} attempts), backing off for {}s: {}",
+        keyId,
+        attempts,
+        backoffSeconds,
+        error.toString());
+  }
+
+  private void rotated(String keyId) {
+    rotationListeners.forEach(listener -> listener.accept(keyId));
   }
 
   private static Key parsePublicKey(GetPublicKeyResponse publicKeyInfo) {
@@ -59,4 +215,45 @@ public final class OrganizationServiceKeyProvider {
       throw new KeyProviderException(e);
     }
   }
+
+  private final class KeyLoader implements AsyncCacheLoader<String, Key> {
+
+    @Override
+    public CompletableFuture<Key> asyncLoad(String keyId, Executor executor) {
+      return fetch(keyId)
+          .doOnNext(key -> loaded(keyId, key))
+          .doOnError(th -> failed(keyId, th))
+          .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Key> asyncReload(String keyId, Key oldKey, Executor executor) {
+      return fetch(keyId)
+          .doOnNext(key -> loaded(keyId, key))
+          .doOnError(
+              th ->
+                  LOGGER.warn(
+                      "Failed to refresh key {}, keeping the current one: {}",
+                      keyId,
+                      th.toString()))
+          .toFuture();
+    }
+  }
+
+  private static final class Failure {
+
+    private final Throwable error;
+    private final int attempts;
+    private final long retryAtNanos;
+
+    private Failure(Throwable error, int attempts, long nowNanos, long backoffSeconds) {
+      this.error = error;
+      this.attempts = attempts;
+      this.retryAtNanos = nowNanos + TimeUnit.SECONDS.toNanos(backoffSeconds);
+    }
+
+    private boolean isBackingOff(long nowNanos) {
+      return nowNanos - retryAtNanos < 0;
+    }
+  }
 }
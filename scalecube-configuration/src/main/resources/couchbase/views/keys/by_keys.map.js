@@ -0,0 +1,9 @@
+function (doc, meta) {
+  // key documents are "<tenant>::<repository>::<key>", every other document the service keeps in
+  // the bucket is named by one of these or prefixed by one of these and "::"
+  var internal = ['repos', 'changes', 'archive', 'codec', 'retention', 'compaction', 'migrations'];
+  var delimiter = meta.id.lastIndexOf('::');
+  if (delimiter > 0 && internal.indexOf(meta.id.split('::')[0]) < 0) {
+    emit(meta.id.substring(0, delimiter), null);
+  }
+}
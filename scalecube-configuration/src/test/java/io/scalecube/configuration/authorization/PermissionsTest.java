@@ -0,0 +1,127 @@
+package io.scalecube.configuration.authorization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.account.api.Role;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.InvalidPermissionsException;
+import io.scalecube.security.api.Profile;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+final class PermissionsTest {
+
+  private static final Map<String, Set<Role>> GRANTS = new HashMap<>();
+
+  static {
+    GRANTS.put(ConfigurationService.CONFIG_CREATE_REPO, EnumSet.of(Role.Owner));
+    GRANTS.put(ConfigurationService.CONFIG_CREATE_ENTRY, EnumSet.of(Role.Owner, Role.Admin));
+    GRANTS.put(ConfigurationService.CONFIG_UPDATE_ENTRY, EnumSet.of(Role.Owner, Role.Admin));
+    GRANTS.put(ConfigurationService.CONFIG_DELETE_ENTRY, EnumSet.of(Role.Owner, Role.Admin));
+    GRANTS.put(
+        ConfigurationService.CONFIG_READ_ENTRY, EnumSet.of(Role.Owner, Role.Admin, Role.Member));
+    GRANTS.put(
+        ConfigurationService.CONFIG_READ_ENTRY_HISTORY,
+        EnumSet.of(Role.Owner, Role.Admin, Role.Member));
+    GRANTS.put(
+        ConfigurationService.CONFIG_READ_LIST, EnumSet.of(Role.Owner, Role.Admin, Role.Member));
+  }
+
+  @Test
+  @DisplayName("Default permissions allow exactly the granted roles for every resource")
+  void defaultPermissionsAllowGrantedRoles() {
+    GRANTS.forEach(
+        (resource, allowed) -> {
+          for (Role role : Role.values()) {
+            assertEquals(
+                allowed.contains(role),
+                DefaultPermissions.PERMISSIONS.isAllowed(profile(role.toString()), resource),
+                role + " on " + resource);
+          }
+        });
+  }
+
+  @Test
+  @DisplayName("Authorization fails for a role which is not granted")
+  void authorizeRejectsRoleNotGranted() {
+    Profile owner = profile(Role.Owner.toString());
+    Profile member = profile(Role.Member.toString());
+
+    StepVerifier.create(
+            DefaultPermissions.PERMISSIONS.authorize(
+                owner, ConfigurationService.CONFIG_CREATE_REPO))
+        .expectNext(owner)
+        .verifyComplete();
+    StepVerifier.create(
+            DefaultPermissions.PERMISSIONS.authorize(
+                member, ConfigurationService.CONFIG_CREATE_REPO))
+        .expectError(InvalidPermissionsException.class)
+        .verify();
+  }
+
+  @Test
+  @DisplayName("No role is allowed an unknown resource")
+  void denyUnknownResource() {
+    for (Role role : Role.values()) {
+      assertFalse(
+          DefaultPermissions.PERMISSIONS.isAllowed(
+              profile(role.toString()), "configuration/unknown"));
+    }
+  }
+
+  @Test
+  @DisplayName("An unknown role or a profile without a role is allowed nothing")
+  void denyUnknownRole() {
+    Profile noRole = Profile.builder().userId("user").claims(Collections.emptyMap()).build();
+    for (String resource : GRANTS.keySet()) {
+      assertFalse(DefaultPermissions.PERMISSIONS.isAllowed(profile("Guest"), resource));
+      assertFalse(DefaultPermissions.PERMISSIONS.isAllowed(profile("owner"), resource));
+      assertFalse(DefaultPermissions.PERMISSIONS.isAllowed(noRole, resource));
+    }
+  }
+
+  @Test
+  @DisplayName("Up to 32 roles are supported, each allowed only its own resources")
+  void supportThirtyTwoRoles() {
+    Permissions.Builder builder = Permissions.builder();
+    String[] roles = roles(32);
+    for (String role : roles) {
+      builder.grant("resource-" + role, role);
+    }
+    builder.grant("shared", roles);
+    Permissions permissions = builder.build();
+
+    for (String role : roles) {
+      for (String other : roles) {
+        assertEquals(role.equals(other), permissions.isAllowed(profile(role), "resource-" + other));
+      }
+      assertTrue(permissions.isAllowed(profile(role), "shared"));
+    }
+  }
+
+  @Test
+  @DisplayName("More than 32 roles are rejected")
+  void rejectMoreThanThirtyTwoRoles() {
+    Permissions.Builder builder = Permissions.builder().grant("resource", roles(33));
+
+    assertThrows(IllegalStateException.class, builder::build);
+  }
+
+  private static String[] roles(int count) {
+    return IntStream.range(0, count).mapToObj(i -> "role-" + i).toArray(String[]::new);
+  }
+
+  private static Profile profile(String role) {
+    return Profile.builder().userId("user").claims(Collections.singletonMap("role", role)).build();
+  }
+}
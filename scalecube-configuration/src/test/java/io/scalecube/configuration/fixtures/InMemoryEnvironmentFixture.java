@@ -23,6 +23,7 @@ import io.scalecube.account.api.Role;
 import io.scalecube.configuration.ConfigurationServiceImpl;
 import io.scalecube.configuration.api.ConfigurationService;
 import io.scalecube.configuration.authorization.DefaultPermissions;
+import io.scalecube.configuration.repository.CachedConfigurationRepository;
 import io.scalecube.configuration.repository.ConfigurationRepository;
 import io.scalecube.configuration.repository.InMemoryConfigurationRepository;
 import io.scalecube.configuration.tokens.OrganizationServiceKeyProvider;
@@ -60,7 +61,8 @@ public final class InMemoryEnvironmentFixture implements Fixture {
   public void setUp() throws TestAbortedException {
     organizationService = mockOrganization();
 
-    ConfigurationRepository repository = new InMemoryConfigurationRepository();
+    ConfigurationRepository repository =
+        new CachedConfigurationRepository(new InMemoryConfigurationRepository());
 
     System.setProperty("key.cache.ttl", String.valueOf(KEY_CACHE_TTL));
     System.setProperty("key.cache.refresh.interval", String.valueOf(KEY_CACHE_REFRESH_INTERVAL));
@@ -23,6 +23,7 @@ import io.scalecube.config.ConfigRegistry;
 import io.scalecube.configuration.ConfigurationServiceImpl;
 import io.scalecube.configuration.api.ConfigurationService;
 import io.scalecube.configuration.authorization.DefaultPermissions;
+import io.scalecube.configuration.repository.CachedConfigurationRepository;
 import io.scalecube.configuration.repository.ConfigurationRepository;
 import io.scalecube.configuration.repository.couchbase.CouchbaseRepository;
 import io.scalecube.configuration.server.DiscoveryOptions;
@@ -46,19 +47,25 @@ import io.scalecube.services.ServiceProvider;
 import io.scalecube.services.discovery.ScalecubeServiceDiscovery;
 import io.scalecube.services.gateway.ws.WebsocketGateway;
 import io.scalecube.services.transport.rsocket.RSocketServiceTransport;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.containers.wait.strategy.LogMessageWaitStrategy;
 import org.testcontainers.couchbase.CouchbaseContainer;
 import org.testcontainers.shaded.org.apache.commons.lang.RandomStringUtils;
 import org.testcontainers.vault.VaultContainer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.tcp.TcpServer;
 import rx.RxReactiveStreams;
@@ -71,6 +78,7 @@ final class IntegrationEnvironment {
   private static final String COUCHBASE_USERNAME = "admin";
   private static final String COUCHBASE_PASSWORD = "123456";
   private static final String BUCKET_FULL_ACCESS = "bucket_full_access";
+  private static final String BY_KEYS_MAP_FUNCTION = "/couchbase/views/keys/by_keys.map.js";
 
   private static final String VAULT_DOCKER_IMAGE = "vault:0.9.5";
   private static final int VAULT_PORT = 8200;
@@ -216,20 +224,27 @@ final class IntegrationEnvironment {
 
     DesignDocument designDoc =
         DesignDocument.create(
-            "keys",
-            Arrays.asList(
-                DefaultView.create(
-                    "by_keys",
-                    "function (doc, meta) { "
-                        + "  if (meta.id != 'repos') { "
-                        + "    emit(meta.id.substring(0, meta.id.lastIndexOf('::')), null);"
-                        + "  }"
-                        + "}")),
-            options);
+            "keys", Arrays.asList(DefaultView.create("by_keys", byKeysMapFunction())), options);
 
     bucketManager.insertDesignDocument(designDoc).toBlocking().first();
   }
 
+  /**
+   * Reads the map function of the by_keys view as it's defined for production, which lists the key
+   * documents of every repository.
+   */
+  private static String byKeysMapFunction() {
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                IntegrationEnvironment.class.getResourceAsStream(BY_KEYS_MAP_FUNCTION),
+                StandardCharsets.UTF_8))) {
+      return reader.lines().collect(Collectors.joining("\n"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   private VaultContainer startVault() {
     LOGGER.info("### Start vault");
 
@@ -248,6 +263,9 @@ final class IntegrationEnvironment {
                 "io.scalecube.configuration.discoveryPort=" + CONF_SERVICE_DISCOVERY_PORT,
                 "io.scalecube.configuration.servicePort=" + CONF_SERVICE_TRANSPORT_PORT,
                 "couchbase.bucketName=configurations",
+                // small enough for the scenarios to exercise archiving and chunk parts
+                "couchbase.archiveChunkSize=2",
+                "couchbase.archiveChunkBytes=64",
                 "api.keys.path.pattern=%s/api-keys/",
                 "key.cache.ttl=" + KEY_CACHE_TTL,
                 "key.cache.refresh.interval=" + KEY_CACHE_REFRESH_INTERVAL)
@@ -390,8 +408,24 @@ final class IntegrationEnvironment {
                 io.scalecube.configuration.repository.couchbase.CouchbaseSettings.class)
             .value(null);
 
+    CouchbaseRepository couchbaseRepository =
+        new CouchbaseRepository(couchbaseBucket(settings), settings);
+    couchbaseRepository.migrateRepositoryRegistry().block(Duration.ofSeconds(30));
+    couchbaseRepository.migrateVersionCounters().block(Duration.ofSeconds(30));
+    // compacts every second, so scenarios see versions beyond the retention trimmed shortly
+    Flux.interval(Duration.ofSeconds(1))
+        .onBackpressureDrop()
+        .concatMap(
+            tick ->
+                couchbaseRepository
+                    .acquireCompactionLease(1)
+                    .filter(acquired -> acquired)
+                    .flatMap(acquired -> couchbaseRepository.compact())
+                    .onErrorResume(th -> Mono.empty()))
+        .subscribe();
+
     ConfigurationRepository configurationRepository =
-        new CouchbaseRepository(couchbaseBucket(settings));
+        new CachedConfigurationRepository(couchbaseRepository);
 
     return call -> {
       OrganizationService organizationService = call.api(OrganizationService.class);
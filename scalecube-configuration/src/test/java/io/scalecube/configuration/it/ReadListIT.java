@@ -21,4 +21,19 @@ final class ReadListIT extends ReadListScenario {
   protected void readEntriesWithSpecificVersions(ConfigurationService configurationService) {
     // not used
   }
+
+  @Override
+  protected void readEntriesStream(ConfigurationService configurationService) {
+    // not used
+  }
+
+  @Override
+  protected void readEntriesIfModified(ConfigurationService configurationService) {
+    // not used
+  }
+
+  @Override
+  protected void readEntriesChanges(ConfigurationService configurationService) {
+    // not used
+  }
 }
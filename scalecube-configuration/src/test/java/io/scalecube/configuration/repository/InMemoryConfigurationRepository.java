@@ -1,15 +1,18 @@
 package io.scalecube.configuration.repository;
 
 import io.scalecube.configuration.repository.exception.KeyNotFoundException;
+import io.scalecube.configuration.repository.exception.KeyVersionConflictException;
 import io.scalecube.configuration.repository.exception.KeyVersionNotFoundException;
 import io.scalecube.configuration.repository.exception.RepositoryAlreadyExistsException;
 import io.scalecube.configuration.repository.exception.RepositoryKeyAlreadyExistsException;
 import io.scalecube.configuration.repository.exception.RepositoryNotFoundException;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import reactor.core.publisher.Flux;
@@ -20,6 +23,10 @@ public class InMemoryConfigurationRepository implements ConfigurationRepository
   private static final String TENANT_REPO_DELIMITER = "-";
 
   private final Map<String, Map<String, List<Document>>> repoKeyValues = new HashMap<>();
+  // per repository log of changed keys, a change revision is its position in the log
+  private final Map<String, List<SimpleEntry<String, Boolean>>> repoChanges = new HashMap<>();
+  // write times of every version per repository key
+  private final Map<String, List<Long>> keyTimes = new HashMap<>();
 
   @Override
   public Mono<Boolean> createRepository(Repository repository) {
@@ -43,28 +50,128 @@ public class InMemoryConfigurationRepository implements ConfigurationRepository
 
   @Override
   public Flux<Document> readAll(String tenant, String repository, Integer version) {
-    Set<Document> values =
-        getRepository(new Repository(tenant, repository)).values().stream()
+    List<Document> values =
+        getRepository(new Repository(tenant, repository)).entrySet().stream()
             .map(
-                vl ->
-                    version == null
-                        ? vl.get(vl.size() - 1)
-                        : version <= vl.size() ? vl.get(version - 1) : null)
+                entry -> {
+                  List<Document> vl = entry.getValue();
+                  int index = version == null ? vl.size() : version;
+                  return index <= vl.size()
+                      ? new Document(entry.getKey(), vl.get(index - 1).value(), index)
+                      : null;
+                })
             .filter(v -> v != null)
-            .collect(Collectors.toSet());
+            .collect(Collectors.toList());
     return Flux.fromIterable(values);
   }
 
+  @Override
+  public Mono<Document> readAsOf(String tenant, String repository, String key, long timestamp) {
+    return Mono.defer(
+        () -> {
+          getRepositoryKeyAllVersions(new Repository(tenant, repository), key);
+          int version =
+              (int)
+                  keyTimes.get(keyTimesId(tenant, repository, key)).stream()
+                      .filter(time -> time <= timestamp)
+                      .count();
+          return version > 0
+              ? Mono.just(getRepositoryKey(new Repository(tenant, repository), key, version))
+              : Mono.empty();
+        });
+  }
+
+  @Override
+  public Flux<Document> readAllAsOf(String tenant, String repository, long timestamp) {
+    return Flux.fromIterable(getRepository(new Repository(tenant, repository)).keySet())
+        .concatMap(key -> readAsOf(tenant, repository, key, timestamp));
+  }
+
+  @Override
+  public Flux<Document> readAllIfModified(
+      String tenant, String repository, Map<String, Integer> knownVersions) {
+    return readAll(tenant, repository, null)
+        .map(
+            doc ->
+                doc.version().equals(knownVersions.get(doc.key()))
+                    ? new Document(doc.key(), null, doc.version())
+                    : doc);
+  }
+
+  @Override
+  public Mono<RepositoryChanges> readChanges(String tenant, String repository, Long sinceRevision) {
+    return readAll(tenant, repository, null)
+        .collectList()
+        .map(
+            documents -> {
+              List<SimpleEntry<String, Boolean>> changes = changes(tenant, repository);
+              long revision = changes.size();
+              if (sinceRevision == null || sinceRevision > revision) {
+                return new RepositoryChanges(revision, true, documents, new ArrayList<>());
+              }
+              Map<String, Boolean> deletedByKey = new LinkedHashMap<>();
+              Map<String, Long> keyRevisions = new HashMap<>();
+              for (int i = sinceRevision.intValue(); i < changes.size(); i++) {
+                SimpleEntry<String, Boolean> change = changes.get(i);
+                deletedByKey.remove(change.getKey());
+                deletedByKey.put(change.getKey(), change.getValue());
+                keyRevisions.put(change.getKey(), i + 1L);
+              }
+              return new RepositoryChanges(
+                  revision,
+                  false,
+                  documents.stream()
+                      .filter(doc -> Boolean.FALSE.equals(deletedByKey.get(doc.key())))
+                      .collect(Collectors.toList()),
+                  deletedByKey.entrySet().stream()
+                      .filter(Map.Entry::getValue)
+                      .map(Map.Entry::getKey)
+                      .collect(Collectors.toList()),
+                  keyRevisions);
+            });
+  }
+
+  @Override
+  public Mono<Long> readRevision(String tenant, String repository) {
+    return Mono.fromCallable(
+        () -> {
+          getRepository(new Repository(tenant, repository));
+          return (long) changes(tenant, repository).size();
+        });
+  }
+
+  @Override
+  public Mono<Integer> readVersion(String tenant, String repository, String key) {
+    return Mono.fromCallable(
+        () -> getRepositoryKeyAllVersions(new Repository(tenant, repository), key).size());
+  }
+
   @Override
   public Flux<HistoryDocument> readHistory(String tenant, String repository, String key) {
     AtomicInteger version = new AtomicInteger(0);
-    Set<HistoryDocument> values =
+    List<HistoryDocument> values =
         getRepositoryKeyAllVersions(new Repository(tenant, repository), key).stream()
             .map(doc -> new HistoryDocument(version.incrementAndGet(), doc.value()))
-            .collect(Collectors.toSet());
+            .collect(Collectors.toList());
     return Flux.fromIterable(values);
   }
 
+  @Override
+  public Flux<HistoryDocument> readHistory(
+      String tenant, String repository, String key, int offset, Integer limit) {
+    return readHistory(tenant, repository, key)
+        .collectList()
+        .flatMapMany(
+            versions -> {
+              int from =
+                  offset >= 0
+                      ? Math.min(offset, versions.size())
+                      : Math.max(versions.size() + offset, 0);
+              return Flux.fromIterable(versions.subList(from, versions.size()))
+                  .take(limit != null ? limit : Long.MAX_VALUE);
+            });
+  }
+
   @Override
   public Mono<Document> save(String tenant, String repository, Document doc) {
     Repository repo = new Repository(tenant, repository);
@@ -73,16 +180,35 @@ public class InMemoryConfigurationRepository implements ConfigurationRepository
       List<Document> value = new ArrayList<>();
       value.add(doc);
       getRepository(repo).put(doc.key(), value);
+      keyTimes.put(
+          keyTimesId(tenant, repository, doc.key()),
+          new ArrayList<>(Collections.singletonList(System.currentTimeMillis())));
+      recordChange(tenant, repository, doc.key(), false);
       return Mono.create(sink -> sink.success(doc));
     }
     throw new RepositoryKeyAlreadyExistsException(
         String.format("Repository '%s' key '%s' already exists", repository, doc.key()));
   }
 
+  @Override
+  public Mono<Document> saveOrUpdate(String tenant, String repository, Document doc) {
+    Repository repo = new Repository(tenant, repository);
+    return Mono.defer(
+        () -> {
+          getRepository(repo);
+          return repositoryAndKeyExists(repo, doc.key())
+              ? update(tenant, repository, doc)
+              : save(tenant, repository, doc)
+                  .map(saved -> new Document(saved.key(), saved.value(), 1));
+        });
+  }
+
   @Override
   public Mono<Void> delete(String tenant, String repository, String key) {
     Repository repo = new Repository(tenant, repository);
     if (repositoryAndKeyExists(repo, key)) {
+      keyTimes.remove(keyTimesId(tenant, repository, key));
+      recordChange(tenant, repository, key, true);
       return Mono.justOrEmpty(getRepository(repo).remove(key)).then();
     }
     return Mono.defer(
@@ -96,8 +222,12 @@ public class InMemoryConfigurationRepository implements ConfigurationRepository
   public Mono<Document> update(String tenant, String repository, Document doc) {
     Repository repo = new Repository(tenant, repository);
     if (repositoryAndKeyExists(repo, doc.key())) {
-      getRepositoryKeyAllVersions(repo, doc.key()).add(doc);
-      return Mono.create(sink -> sink.success(doc));
+      List<Document> versions = getRepositoryKeyAllVersions(repo, doc.key());
+      versions.add(doc);
+      keyTimes.get(keyTimesId(tenant, repository, doc.key())).add(System.currentTimeMillis());
+      recordChange(tenant, repository, doc.key(), false);
+      Document updated = new Document(doc.key(), doc.value(), versions.size());
+      return Mono.create(sink -> sink.success(updated));
     }
     return Mono.defer(
         () ->
@@ -107,13 +237,47 @@ public class InMemoryConfigurationRepository implements ConfigurationRepository
                         "Repository '%s' or its key '%s' not found", repository, doc.key()))));
   }
 
+  @Override
+  public Mono<Document> update(
+      String tenant, String repository, Document doc, int expectedVersion) {
+    Repository repo = new Repository(tenant, repository);
+    if (repositoryAndKeyExists(repo, doc.key())
+        && getRepositoryKeyAllVersions(repo, doc.key()).size() != expectedVersion) {
+      return Mono.error(
+          new KeyVersionConflictException(
+              String.format(
+                  "Key '%s' was modified after version '%s'", doc.key(), expectedVersion)));
+    }
+    return update(tenant, repository, doc);
+  }
+
+  private String keyTimesId(String tenant, String repository, String key) {
+    return tenantRepo(tenant, repository) + TENANT_REPO_DELIMITER + key;
+  }
+
+  private void recordChange(String tenant, String repository, String key, boolean deleted) {
+    synchronized (repoChanges) {
+      repoChanges
+          .computeIfAbsent(tenantRepo(tenant, repository), k -> new ArrayList<>())
+          .add(new SimpleEntry<>(key, deleted));
+    }
+  }
+
+  // watchers poll the changes from other threads
+  private List<SimpleEntry<String, Boolean>> changes(String tenant, String repository) {
+    synchronized (repoChanges) {
+      return new ArrayList<>(
+          repoChanges.getOrDefault(tenantRepo(tenant, repository), Collections.emptyList()));
+    }
+  }
+
   private Document getRepositoryKey(Repository repository, String key, Integer version) {
     List<Document> values = getRepositoryKeyAllVersions(repository, key);
     if (version == null) {
-      return values.get(values.size() - 1);
+      return new Document(key, values.get(values.size() - 1).value(), values.size());
     }
     if (values.size() >= version) {
-      return values.get(version - 1);
+      return new Document(key, values.get(version - 1).value(), version);
     }
     throw new KeyVersionNotFoundException(
         String.format("Key '%s' version '%s' not found", key, version));
@@ -124,7 +288,7 @@ public class InMemoryConfigurationRepository implements ConfigurationRepository
     if (repositoryExists(repository) && (values = getRepository(repository).get(key)) != null) {
       return values;
     } else {
-      throw new RepositoryNotFoundException(
+      throw new KeyNotFoundException(
           String.format("Repository '%s' or its key '%s' not found", repository.name(), key));
     }
   }
@@ -0,0 +1,114 @@
+package io.scalecube.configuration.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.account.api.Role;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
+import io.scalecube.configuration.api.CreateRepositoryRequest;
+import io.scalecube.configuration.api.ReadEntryHistoryRequest;
+import io.scalecube.configuration.api.ReadEntryHistoryResponse;
+import io.scalecube.configuration.api.ReadEntryRequest;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestTemplate;
+import org.testcontainers.shaded.org.apache.commons.lang.RandomStringUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+public class ArchiveScenario extends BaseScenario {
+
+  private static final int VERSIONS = 20;
+
+  @TestTemplate
+  @DisplayName(
+      "#93 Scenario: Archived versions of a key are read by number and in its history as before")
+  void readArchivedVersions(
+      ConfigurationService configurationService, OrganizationService organizationService)
+      throws InterruptedException {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+    String memberApiKey = createApiKey(organizationService, orgId, Role.Member).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(
+                    ownerApiKey,
+                    repoName,
+                    entryKey,
+                    OBJECT_MAPPER.createObjectNode().put("value", 1))))
+        .thenMany(
+            Flux.range(2, VERSIONS - 1)
+                .concatMap(
+                    value ->
+                        configurationService.updateEntry(
+                            new CreateOrUpdateEntryRequest(
+                                ownerApiKey,
+                                repoName,
+                                entryKey,
+                                OBJECT_MAPPER.createObjectNode().put("value", value)))))
+        .blockLast(TIMEOUT);
+
+    // archiving runs in the background
+    TimeUnit.SECONDS.sleep(1);
+
+    for (int version = 1; version <= VERSIONS; version++) {
+      int expected = version;
+      StepVerifier.create(
+              configurationService.readEntry(
+                  new ReadEntryRequest(memberApiKey, repoName, entryKey, version)))
+          .assertNext(
+              entry ->
+                  assertEquals(
+                      OBJECT_MAPPER.createObjectNode().put("value", expected),
+                      parse(entry.value()),
+                      "Fetched entry value of version " + expected))
+          .expectComplete()
+          .verify();
+    }
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(memberApiKey, repoName, entryKey)))
+        .assertNext(
+            entries -> {
+              assertEquals(
+                  IntStream.rangeClosed(1, VERSIONS).boxed().collect(Collectors.toList()),
+                  versionsOf(entries),
+                  "Versions in the history");
+              entries.forEach(
+                  entry ->
+                      assertEquals(
+                          OBJECT_MAPPER.createObjectNode().put("value", entry.version()),
+                          parse(entry.value()),
+                          "Value of version " + entry.version()));
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(memberApiKey, repoName, entryKey, 3, 4)))
+        .assertNext(
+            entries ->
+                assertEquals(
+                    IntStream.rangeClosed(4, 7).boxed().collect(Collectors.toList()),
+                    versionsOf(entries),
+                    "Versions in the history page"))
+        .expectComplete()
+        .verify();
+  }
+
+  private static List<Integer> versionsOf(List<ReadEntryHistoryResponse> entries) {
+    return entries.stream().map(ReadEntryHistoryResponse::version).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,78 @@
+package io.scalecube.configuration.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.account.api.Role;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
+import io.scalecube.configuration.api.CreateRepositoryRequest;
+import io.scalecube.configuration.api.ReadEntryHistoryRequest;
+import io.scalecube.configuration.api.ReadEntryHistoryResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestTemplate;
+import org.testcontainers.shaded.org.apache.commons.lang.RandomStringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class CompactionScenario extends BaseScenario {
+
+  private static final Duration COMPACTION_TIMEOUT = Duration.ofSeconds(30);
+
+  @TestTemplate
+  @DisplayName(
+      "#92 Scenario: Versions beyond the Repository retention are compacted keeping their numbers")
+  void compactVersionsBeyondRetention(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+    String memberApiKey = createApiKey(organizationService, orgId, Role.Member).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName, 2, null))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(
+                    ownerApiKey,
+                    repoName,
+                    entryKey,
+                    OBJECT_MAPPER.createObjectNode().put("value", 1))))
+        .thenMany(
+            Flux.range(2, 4)
+                .concatMap(
+                    value ->
+                        configurationService.updateEntry(
+                            new CreateOrUpdateEntryRequest(
+                                ownerApiKey,
+                                repoName,
+                                entryKey,
+                                OBJECT_MAPPER.createObjectNode().put("value", value)))))
+        .blockLast(TIMEOUT);
+
+    StepVerifier.create(
+            Mono.defer(
+                    () ->
+                        configurationService.readEntryHistory(
+                            new ReadEntryHistoryRequest(memberApiKey, repoName, entryKey)))
+                // compaction runs in the background
+                .filter(entries -> entries.size() <= 2)
+                .repeatWhenEmpty(repeats -> repeats.delayElements(Duration.ofMillis(500))))
+        .assertNext(
+            entries ->
+                assertEquals(
+                    Arrays.asList(4, 5),
+                    entries.stream()
+                        .map(ReadEntryHistoryResponse::version)
+                        .collect(Collectors.toList()),
+                    "Versions kept by the retention"))
+        .expectComplete()
+        .verify(COMPACTION_TIMEOUT);
+  }
+}
@@ -0,0 +1,172 @@
+package io.scalecube.configuration.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.account.api.Role;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.CreateOrUpdateEntriesRequest;
+import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
+import io.scalecube.configuration.api.CreateRepositoryRequest;
+import io.scalecube.configuration.api.Entry;
+import io.scalecube.configuration.api.ReadEntryRequest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestTemplate;
+import org.testcontainers.shaded.org.apache.commons.lang.RandomStringUtils;
+import reactor.test.StepVerifier;
+
+public class CreateOrUpdateEntriesScenario extends BaseScenario {
+
+  @TestTemplate
+  @DisplayName(
+      "#77 Scenario: Successful createOrUpdateEntries of new and existing keys applying the"
+          + " \"Admin\" API key")
+  void createOrUpdateEntries(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+    String adminApiKey = createApiKey(organizationService, orgId, Role.Admin).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey1 = "KEY-FOR-PRECIOUS-METAL-123";
+    String entryKey2 = "KEY-FOR-CURRENCY-999";
+
+    ObjectNode entryValue11 = OBJECT_MAPPER.createObjectNode().put("instrumentId", "XAG");
+    ObjectNode entryValue12 = OBJECT_MAPPER.createObjectNode().put("instrumentId", "XAU");
+    ObjectNode entryValue21 = OBJECT_MAPPER.createObjectNode().put("instrumentId", "JPY");
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey1, entryValue11)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.createOrUpdateEntries(
+                new CreateOrUpdateEntriesRequest(
+                    adminApiKey,
+                    repoName,
+                    Arrays.asList(
+                        new Entry(entryKey1, entryValue12), new Entry(entryKey2, entryValue21)))))
+        .assertNext(
+            acks -> {
+              assertEquals(2, acks.size());
+              assertEquals(entryKey1, acks.get(0).key(), "Saved entry key");
+              assertEquals(2, (int) acks.get(0).version(), "Saved entry version");
+              assertEquals(entryKey2, acks.get(1).key(), "Saved entry key");
+              assertEquals(1, (int) acks.get(1).version(), "Saved entry version");
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(new ReadEntryRequest(adminApiKey, repoName, entryKey1)))
+        .assertNext(
+            entry -> assertEquals(entryValue12, parse(entry.value()), "Fetched entry value"))
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(new ReadEntryRequest(adminApiKey, repoName, entryKey2)))
+        .assertNext(
+            entry -> assertEquals(entryValue21, parse(entry.value()), "Fetched entry value"))
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName(
+      "#78 Scenario: Fail to createOrUpdateEntries due to specified Repository doesn't exist")
+  void createOrUpdateEntriesWithNotExistsRepo(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoNameNotExists = RandomStringUtils.randomAlphabetic(5) + "_not_exists";
+
+    StepVerifier.create(
+            configurationService.createOrUpdateEntries(
+                new CreateOrUpdateEntriesRequest(
+                    ownerApiKey,
+                    repoNameNotExists,
+                    Collections.singletonList(
+                        new Entry("key", OBJECT_MAPPER.createObjectNode().put("value", 1))))))
+        .expectErrorMessage(String.format(REPOSITORY_NOT_FOUND_FORMATTER, repoNameNotExists))
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#79 Scenario: Fail to createOrUpdateEntries applying the \"Member\" API key")
+  void createOrUpdateEntriesByMember(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+    String memberApiKey = createApiKey(organizationService, orgId, Role.Member).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.createOrUpdateEntries(
+                new CreateOrUpdateEntriesRequest(
+                    memberApiKey,
+                    repoName,
+                    Collections.singletonList(
+                        new Entry("key", OBJECT_MAPPER.createObjectNode().put("value", 1))))))
+        .expectErrorMessage(PERMISSION_DENIED)
+        .verify();
+
+    StepVerifier.create(
+            configurationService.createOrUpdateEntries(
+                new CreateOrUpdateEntriesRequest(ownerApiKey, repoName, Collections.emptyList())))
+        .expectErrorMessage("Please specify 'entries'")
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#91 Scenario: Fail to createOrUpdateEntries with duplicate or too many keys")
+  void createOrUpdateEntriesWithDuplicateOrTooManyKeys(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    ObjectNode entryValue = OBJECT_MAPPER.createObjectNode().put("value", 1);
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.createOrUpdateEntries(
+                new CreateOrUpdateEntriesRequest(
+                    ownerApiKey,
+                    repoName,
+                    Arrays.asList(
+                        new Entry("key1", entryValue),
+                        new Entry("key2", entryValue),
+                        new Entry("key1", entryValue)))))
+        .expectErrorMessage("Key 'key1' is specified more than once")
+        .verify();
+
+    StepVerifier.create(
+            configurationService.createOrUpdateEntries(
+                new CreateOrUpdateEntriesRequest(
+                    ownerApiKey,
+                    repoName,
+                    IntStream.rangeClosed(0, 1000)
+                        .mapToObj(i -> new Entry("key" + i, entryValue))
+                        .collect(Collectors.toList()))))
+        .expectErrorMessage("Please specify at most 1000 'entries'")
+        .verify();
+  }
+}
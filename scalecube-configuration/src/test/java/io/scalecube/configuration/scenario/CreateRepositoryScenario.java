@@ -205,4 +205,32 @@ public class CreateRepositoryScenario extends BaseScenario {
         .expectErrorMessage(String.format(PLEASE_SPECIFY_API_KEY))
         .verify();
   }
+
+  @TestTemplate
+  @DisplayName("#86 Scenario: Repository creation with history retention")
+  void createRepositoryWithRetention(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String apiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+    String repository = RandomStringUtils.randomAlphabetic(5);
+
+    StepVerifier.create(
+            configurationService.createRepository(
+                new CreateRepositoryRequest(apiKey, repository, 10, 3600L)))
+        .expectNextCount(1)
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.createRepository(
+                new CreateRepositoryRequest(apiKey, repository + "1", 0, null)))
+        .expectErrorMessage("Max versions must be a positive number")
+        .verify();
+
+    StepVerifier.create(
+            configurationService.createRepository(
+                new CreateRepositoryRequest(apiKey, repository + "2", null, -1L)))
+        .expectErrorMessage("Max age must be a positive number")
+        .verify();
+  }
 }
@@ -0,0 +1,151 @@
+package io.scalecube.configuration.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.account.api.Role;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
+import io.scalecube.configuration.api.CreateRepositoryRequest;
+import io.scalecube.configuration.api.EntryKey;
+import io.scalecube.configuration.api.ReadEntriesRequest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestTemplate;
+import org.testcontainers.shaded.org.apache.commons.lang.RandomStringUtils;
+import reactor.test.StepVerifier;
+
+public class ReadEntriesScenario extends BaseScenario {
+
+  @TestTemplate
+  @DisplayName(
+      "#75 Scenario: Successful readEntries (latest and specific versions) from the related"
+          + " Repository")
+  void readEntries(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+    String memberApiKey = createApiKey(organizationService, orgId, Role.Member).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey1 = "KEY-FOR-PRECIOUS-METAL-123";
+    String entryKey2 = "KEY-FOR-CURRENCY-999";
+    String entryKeyNotExists = "KEY-NOT-EXISTS";
+
+    ObjectNode entryValue11 = OBJECT_MAPPER.createObjectNode().put("instrumentId", "XAG");
+    ObjectNode entryValue12 = OBJECT_MAPPER.createObjectNode().put("instrumentId", "XAU");
+    ObjectNode entryValue21 = OBJECT_MAPPER.createObjectNode().put("instrumentId", "JPY");
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey1, entryValue11)))
+        .then(
+            configurationService.updateEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey1, entryValue12)))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey2, entryValue21)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.readEntries(
+                new ReadEntriesRequest(
+                    memberApiKey,
+                    repoName,
+                    Arrays.asList(
+                        new EntryKey(entryKey1),
+                        new EntryKey(entryKey1, 1),
+                        new EntryKey(entryKey2),
+                        new EntryKey(entryKey2, 2),
+                        new EntryKey(entryKeyNotExists)))))
+        .assertNext(
+            entries -> {
+              assertEquals(5, entries.size());
+
+              assertEquals(entryKey1, entries.get(0).key(), "Fetched entry key");
+              assertEquals(entryValue12, parse(entries.get(0).value()), "Fetched entry value");
+              assertEquals(2, entries.get(0).version(), "Fetched entry version");
+              assertNull(entries.get(0).error(), "Fetched entry error");
+
+              assertEquals(entryKey1, entries.get(1).key(), "Fetched entry key");
+              assertEquals(entryValue11, parse(entries.get(1).value()), "Fetched entry value");
+              assertEquals(1, entries.get(1).version(), "Fetched entry version");
+              assertNull(entries.get(1).error(), "Fetched entry error");
+
+              assertEquals(entryKey2, entries.get(2).key(), "Fetched entry key");
+              assertEquals(entryValue21, parse(entries.get(2).value()), "Fetched entry value");
+              assertEquals(1, entries.get(2).version(), "Fetched entry version");
+              assertNull(entries.get(2).error(), "Fetched entry error");
+
+              assertEquals(entryKey2, entries.get(3).key(), "Fetched entry key");
+              assertNull(entries.get(3).value(), "Fetched entry value");
+              assertEquals(
+                  String.format(KEY_VERSION_NOT_FOUND_FORMATTER, entryKey2, 2),
+                  entries.get(3).error(),
+                  "Fetched entry error");
+
+              assertEquals(entryKeyNotExists, entries.get(4).key(), "Fetched entry key");
+              assertNull(entries.get(4).value(), "Fetched entry value");
+              assertEquals(
+                  String.format(
+                      REPOSITORY_OR_ITS_KEY_NOT_FOUND_FORMATTER, repoName, entryKeyNotExists),
+                  entries.get(4).error(),
+                  "Fetched entry error");
+            })
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#76 Scenario: Fail to readEntries with empty, undefined or too many keys")
+  void readEntriesWithEmptyUndefinedOrTooManyKeys(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+
+    StepVerifier.create(
+            configurationService.readEntries(
+                new ReadEntriesRequest(ownerApiKey, repoName, Collections.emptyList())))
+        .expectErrorMessage("Please specify 'keys'")
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntries(new ReadEntriesRequest(ownerApiKey, repoName, null)))
+        .expectErrorMessage("Please specify 'keys'")
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntries(
+                new ReadEntriesRequest(
+                    ownerApiKey, repoName, Collections.singletonList(new EntryKey("")))))
+        .expectErrorMessage(PLEASE_SPECIFY_KEY)
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntries(
+                new ReadEntriesRequest(
+                    ownerApiKey, repoName, Collections.singletonList(new EntryKey("key", 0)))))
+        .expectErrorMessage(VERSION_MUST_BE_A_POSITIVE_NUMBER)
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntries(
+                new ReadEntriesRequest(
+                    ownerApiKey,
+                    repoName,
+                    IntStream.rangeClosed(0, 1000)
+                        .mapToObj(i -> new EntryKey("key" + i))
+                        .collect(Collectors.toList()))))
+        .expectErrorMessage("Please specify at most 1000 'keys'")
+        .verify();
+  }
+}
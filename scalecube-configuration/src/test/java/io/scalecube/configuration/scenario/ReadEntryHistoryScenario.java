@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.TestTemplate;
 import org.testcontainers.shaded.org.apache.commons.lang.RandomStringUtils;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 public class ReadEntryHistoryScenario extends BaseScenario {
@@ -453,6 +454,139 @@ public class ReadEntryHistoryScenario extends BaseScenario {
         .verify();
   }
 
+  @TestTemplate
+  @DisplayName("#80 Scenario: Successful readEntryHistory of a page (offset and limit) of versions")
+  void readEntryHistoryPage(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+
+    createEntryVersions(configurationService, ownerApiKey, repoName, entryKey, 5);
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey, 1, 3)))
+        .assertNext(
+            entries -> {
+              assertEquals(3, entries.size(), "Fetched entries count");
+              for (int i = 0; i < entries.size(); i++) {
+                ReadEntryHistoryResponse entry = entries.get(i);
+                assertEquals(i + 2, (int) entry.version(), "Entry version");
+                assertEquals(
+                    i + 2, valueObjectNodes(entry).get("rev").intValue(), "Entry value");
+              }
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey, 4, 10)))
+        .assertNext(
+            entries -> {
+              assertEquals(1, entries.size(), "Fetched entries count");
+              assertEquals(5, (int) entries.get(0).version(), "Entry version");
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey, 5, null)))
+        .assertNext(entries -> assertTrue(entries.isEmpty(), "No entries beyond latest version"))
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#81 Scenario: Successful readEntryHistory of the latest N versions")
+  void readEntryHistoryLatest(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+
+    createEntryVersions(configurationService, ownerApiKey, repoName, entryKey, 5);
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey, 2)))
+        .assertNext(
+            entries -> {
+              assertEquals(2, entries.size(), "Fetched entries count");
+              assertEquals(4, (int) entries.get(0).version(), "Entry version");
+              assertEquals(5, (int) entries.get(1).version(), "Entry version");
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey, 10)))
+        .assertNext(entries -> assertEquals(5, entries.size(), "Fetched entries count"))
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#82 Scenario: Fail to readEntryHistory with invalid offset, limit or latest")
+  void readEntryHistoryWithInvalidRange(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey, -1, 1)))
+        .expectErrorMessage("Offset must be a non-negative number")
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey, 0, 0)))
+        .expectErrorMessage("Limit must be a positive number")
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey, 0)))
+        .expectErrorMessage("Latest must be a positive number")
+        .verify();
+  }
+
+  private void createEntryVersions(
+      ConfigurationService configurationService,
+      String apiKey,
+      String repoName,
+      String entryKey,
+      int versions) {
+    configurationService
+        .createRepository(new CreateRepositoryRequest(apiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(
+                    apiKey, repoName, entryKey, OBJECT_MAPPER.createObjectNode().put("rev", 1))))
+        .thenMany(
+            Flux.range(2, versions - 1)
+                .concatMap(
+                    rev ->
+                        configurationService.updateEntry(
+                            new CreateOrUpdateEntryRequest(
+                                apiKey,
+                                repoName,
+                                entryKey,
+                                OBJECT_MAPPER.createObjectNode().put("rev", rev)))))
+        .blockLast(TIMEOUT);
+  }
+
   private ObjectNode valueObjectNodes(ReadEntryHistoryResponse readEntryHistoryResponse) {
     Object value = readEntryHistoryResponse.value();
 
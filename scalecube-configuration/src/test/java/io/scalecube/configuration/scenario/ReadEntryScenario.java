@@ -1,6 +1,9 @@
 package io.scalecube.configuration.scenario;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.couchbase.client.java.document.json.JsonArray;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -13,7 +16,9 @@ import io.scalecube.configuration.api.ConfigurationService;
 import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
 import io.scalecube.configuration.api.CreateRepositoryRequest;
 import io.scalecube.configuration.api.DeleteEntryRequest;
+import io.scalecube.configuration.api.ReadEntryHistoryRequest;
 import io.scalecube.configuration.api.ReadEntryRequest;
+import io.scalecube.configuration.api.ReadListRequest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -27,7 +32,8 @@ public class ReadEntryScenario extends BaseScenario {
 
   @TestTemplate
   @DisplayName(
-      "#42 Scenario: Successful readEntry (latest version) from the related Repository applying all API keys roles")
+      "#42 Scenario: Successful readEntry (latest version) from the related Repository applying all"
+          + " API keys roles")
   void readEntry(
       ConfigurationService configurationService, OrganizationService organizationService) {
     String orgId = createOrganization(organizationService).id();
@@ -558,4 +564,253 @@ public class ReadEntryScenario extends BaseScenario {
             String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND_FORMATTER, repoName, entryKeyNotExists))
         .verify();
   }
+
+  @TestTemplate
+  @DisplayName("#83 Scenario: Successful conditional readEntry with the latest version known")
+  void readEntryIfModified(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+    ObjectNode entryValue1 = OBJECT_MAPPER.createObjectNode().put("name", "Silver");
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode().put("name", "Gold");
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue1)))
+        .then(
+            configurationService.updateEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue2)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.readEntry(
+                new ReadEntryRequest(ownerApiKey, repoName, entryKey, null, 2)))
+        .assertNext(
+            entry -> {
+              assertTrue(entry.notModified(), "Not modified since version 2");
+              assertEquals(2, (int) entry.version(), "Latest version");
+              assertNull(entry.value(), "No value");
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(
+                new ReadEntryRequest(ownerApiKey, repoName, entryKey, null, 1)))
+        .assertNext(
+            entry -> {
+              assertFalse(entry.notModified(), "Modified since version 1");
+              assertEquals(2, (int) entry.version(), "Latest version");
+              assertEquals(entryValue2, parse(entry.value()), "Latest value");
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(
+                new ReadEntryRequest(ownerApiKey, repoName, entryKey, null, 0)))
+        .expectErrorMessage(VERSION_MUST_BE_A_POSITIVE_NUMBER)
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#84 Scenario: Successful readEntry and readList as of a point in time")
+  void readEntryAsOf(
+      ConfigurationService configurationService, OrganizationService organizationService)
+      throws InterruptedException {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+    ObjectNode entryValue1 = OBJECT_MAPPER.createObjectNode().put("name", "Silver");
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode().put("name", "Gold");
+
+    long beforeCreate = System.currentTimeMillis() - 1;
+    TimeUnit.MILLISECONDS.sleep(10);
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue1)))
+        .block(TIMEOUT);
+
+    TimeUnit.MILLISECONDS.sleep(10);
+    long beforeUpdate = System.currentTimeMillis();
+    TimeUnit.MILLISECONDS.sleep(10);
+
+    configurationService
+        .updateEntry(new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue2))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.readEntry(
+                ReadEntryRequest.asOf(ownerApiKey, repoName, entryKey, beforeUpdate)))
+        .assertNext(
+            entry -> {
+              assertEquals(1, (int) entry.version(), "Version as of update time");
+              assertEquals(entryValue1, parse(entry.value()), "Value as of update time");
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readList(
+                ReadListRequest.asOf(ownerApiKey, repoName, System.currentTimeMillis())))
+        .assertNext(
+            entries -> {
+              assertEquals(1, entries.size(), "Entries as of now");
+              assertEquals(entryValue2, parse(entries.get(0).value()), "Value as of now");
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readList(
+                ReadListRequest.asOf(ownerApiKey, repoName, beforeCreate)))
+        .assertNext(entries -> assertTrue(entries.isEmpty(), "No entries before creation"))
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(
+                ReadEntryRequest.asOf(ownerApiKey, repoName, entryKey, beforeCreate)))
+        .expectErrorMessage(
+            String.format("Key '%s' version as of '%s' not found", entryKey, beforeCreate))
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(
+                ReadEntryRequest.asOf(ownerApiKey, repoName, entryKey, 0)))
+        .expectErrorMessage("AsOf must be a positive number")
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#87 Scenario: Successful readEntry and readList of large values stored compressed")
+  void readCompressedEntry(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-ROUTING-TABLE";
+    ObjectNode entryValue1 = OBJECT_MAPPER.createObjectNode();
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode();
+    for (int i = 0; i < 1000; i++) {
+      entryValue1.put("route-" + i, "destination-" + i % 10);
+      entryValue2.put("route-" + i, "destination-" + i % 20);
+    }
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName, null, null, 1024))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue1)))
+        .then(
+            configurationService.updateEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue2)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.readEntry(new ReadEntryRequest(ownerApiKey, repoName, entryKey)))
+        .assertNext(entry -> assertEquals(entryValue2, parse(entry.value()), "Latest value"))
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(
+                new ReadEntryRequest(ownerApiKey, repoName, entryKey, 1)))
+        .assertNext(entry -> assertEquals(entryValue1, parse(entry.value()), "First value"))
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(configurationService.readList(new ReadListRequest(ownerApiKey, repoName)))
+        .assertNext(
+            entries -> {
+              assertEquals(1, entries.size(), "Entries");
+              assertEquals(entryValue2, parse(entries.get(0).value()), "Latest value");
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.createRepository(
+                new CreateRepositoryRequest(ownerApiKey, repoName + "1", null, null, 0)))
+        .expectErrorMessage("Compression threshold must be a positive number")
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName(
+      "#88 Scenario: Fail to create Repository with the Smile or an unknown value encoding")
+  void createRepositoryWithUnsupportedEncoding(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+
+    StepVerifier.create(
+            configurationService.createRepository(
+                new CreateRepositoryRequest(ownerApiKey, repoName, null, null, 1024, "smile")))
+        .expectErrorMessage("Value encoding must be one of: json, raw")
+        .verify();
+
+    StepVerifier.create(
+            configurationService.createRepository(
+                new CreateRepositoryRequest(ownerApiKey, repoName, null, null, null, "xml")))
+        .expectErrorMessage("Value encoding must be one of: json, raw")
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#89 Scenario: Successful readEntry and readEntryHistory of values stored raw")
+  void readRawEntry(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+    ObjectNode entryValue1 =
+        OBJECT_MAPPER.createObjectNode().put("name", "Silver").put("DecimalPrecision", 4);
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode().put("name", "Gold");
+    entryValue2.putArray("markets").add("XAU/USD").add("XAU/EUR");
+
+    configurationService
+        .createRepository(
+            new CreateRepositoryRequest(ownerApiKey, repoName, null, null, null, "raw"))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue1)))
+        .then(
+            configurationService.updateEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue2)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.readEntry(new ReadEntryRequest(ownerApiKey, repoName, entryKey)))
+        .assertNext(entry -> assertEquals(entryValue2, parse(entry.value()), "Latest value"))
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntryHistory(
+                new ReadEntryHistoryRequest(ownerApiKey, repoName, entryKey)))
+        .assertNext(
+            history -> {
+              assertEquals(2, history.size(), "Versions");
+              assertEquals(entryValue1, parse(history.get(0).value()), "First value");
+              assertEquals(entryValue2, parse(history.get(1).value()), "Second value");
+            })
+        .expectComplete()
+        .verify();
+  }
 }
@@ -1,6 +1,9 @@
 package io.scalecube.configuration.scenario;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.couchbase.client.java.document.json.JsonArray;
@@ -13,8 +16,12 @@ import io.scalecube.account.api.Role;
 import io.scalecube.configuration.api.ConfigurationService;
 import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
 import io.scalecube.configuration.api.CreateRepositoryRequest;
+import io.scalecube.configuration.api.DeleteEntryRequest;
 import io.scalecube.configuration.api.ReadEntryResponse;
+import io.scalecube.configuration.api.ReadListChangesRequest;
 import io.scalecube.configuration.api.ReadListRequest;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -257,6 +264,131 @@ public class ReadListScenario extends BaseScenario {
         .verify();
   }
 
+  @TestTemplate
+  @DisplayName(
+      "#57.1 Scenario: Successful readListStream (latest key versions) from the related Repository")
+  protected void readEntriesStream(ConfigurationService configurationService) {
+    StepVerifier.create(
+            configurationService
+                .readListStream(new ReadListRequest(memberApiKey, repoName))
+                .collectList())
+        .assertNext(
+            entries -> {
+              assertEquals(3, entries.size());
+
+              Map<String, Object> keyValue = keyValueMap(entries);
+
+              assertTrue(keyValue.containsKey(entryKey1));
+              assertTrue(keyValue.containsValue(entryValue12));
+
+              assertTrue(keyValue.containsKey(entryKey2));
+              assertTrue(keyValue.containsValue(entryValue23));
+
+              assertTrue(keyValue.containsKey(entryKey3));
+              assertTrue(keyValue.containsValue(entryValue31));
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readListStream(
+                new ReadListRequest(ownerApiKey, repoNameNotExists)))
+        .expectErrorMessage(String.format(REPOSITORY_NOT_FOUND_FORMATTER, repoNameNotExists))
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName(
+      "#57.2 Scenario: Successful readList skipping values not modified since the known versions")
+  protected void readEntriesIfModified(ConfigurationService configurationService) {
+    Map<String, Integer> knownVersions = new HashMap<>();
+    knownVersions.put(entryKey1, 1);
+    knownVersions.put(entryKey2, 3);
+
+    StepVerifier.create(
+            configurationService.readList(
+                new ReadListRequest(memberApiKey, repoName, null, knownVersions)))
+        .assertNext(
+            entries -> {
+              assertEquals(3, entries.size());
+
+              Map<String, ReadEntryResponse> byKey =
+                  entries.stream()
+                      .collect(Collectors.toMap(ReadEntryResponse::key, entry -> entry));
+
+              assertFalse(byKey.get(entryKey1).notModified(), "Modified since version 1");
+              assertEquals(2, (int) byKey.get(entryKey1).version());
+              assertNotNull(byKey.get(entryKey1).value());
+
+              assertTrue(byKey.get(entryKey2).notModified(), "Not modified since version 3");
+              assertEquals(3, (int) byKey.get(entryKey2).version());
+              assertNull(byKey.get(entryKey2).value());
+
+              assertFalse(byKey.get(entryKey3).notModified(), "Unknown to the client");
+              assertEquals(1, (int) byKey.get(entryKey3).version());
+              assertNotNull(byKey.get(entryKey3).value());
+            })
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName(
+      "#57.3 Scenario: Successful readListChanges (keys changed since a repository revision)")
+  protected void readEntriesChanges(ConfigurationService configurationService) {
+    StepVerifier.create(
+            configurationService.readListChanges(
+                new ReadListChangesRequest(memberApiKey, repoName, null)))
+        .assertNext(
+            changes -> {
+              assertTrue(changes.reset(), "Whole repository without revision");
+              assertEquals(6, (long) changes.revision());
+              assertEquals(3, changes.entries().size());
+              assertTrue(changes.deletedKeys().isEmpty());
+            })
+        .expectComplete()
+        .verify();
+
+    ObjectNode entryValue13 = OBJECT_MAPPER.createObjectNode().put("value", "changed");
+
+    configurationService
+        .updateEntry(
+            new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey1, entryValue13))
+        .then(
+            configurationService.deleteEntry(
+                new DeleteEntryRequest(ownerApiKey, repoName, entryKey3)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.readListChanges(
+                new ReadListChangesRequest(memberApiKey, repoName, 6L)))
+        .assertNext(
+            changes -> {
+              assertFalse(changes.reset(), "Changes only");
+              assertEquals(8, (long) changes.revision());
+              assertEquals(1, changes.entries().size());
+              assertEquals(entryKey1, changes.entries().get(0).key());
+              assertEquals(3, (int) changes.entries().get(0).version());
+              assertEquals(entryValue13, entryValue(changes.entries().get(0).value()));
+              assertEquals(Collections.singletonList(entryKey3), changes.deletedKeys());
+            })
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readListChanges(
+                new ReadListChangesRequest(memberApiKey, repoName, 8L)))
+        .assertNext(
+            changes -> {
+              assertFalse(changes.reset(), "Changes only");
+              assertEquals(8, (long) changes.revision());
+              assertTrue(changes.entries().isEmpty());
+              assertTrue(changes.deletedKeys().isEmpty());
+            })
+        .expectComplete()
+        .verify();
+  }
+
   @TestTemplate
   @DisplayName("#58 Scenario: Fail to readList upon the Owner deleted the \"Organization\"")
   void readEntriesWithDeletedOrganization(
@@ -790,4 +790,95 @@ public class UpdateEntryScenario extends BaseScenario {
             String.format(REPOSITORY_OR_ITS_KEY_NOT_FOUND_FORMATTER, repoName, entryKeyNotExists))
         .verify();
   }
+
+  @TestTemplate
+  @DisplayName("#31.1 Scenario: Successful readEntry of the updated value after the entry was read")
+  void readEntryAfterUpdateEntry(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+
+    ObjectNode entryValue1 = OBJECT_MAPPER.createObjectNode().put("value", "first");
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode().put("value", "second");
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue1)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.readEntry(new ReadEntryRequest(ownerApiKey, repoName, entryKey)))
+        .assertNext(entry -> assertEquals(entryValue1, parse(entry.value()), "Fetched entry value"))
+        .expectComplete()
+        .verify();
+
+    configurationService
+        .updateEntry(new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue2))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.readEntry(new ReadEntryRequest(ownerApiKey, repoName, entryKey)))
+        .assertNext(entry -> assertEquals(entryValue2, parse(entry.value()), "Fetched entry value"))
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(
+                new ReadEntryRequest(ownerApiKey, repoName, entryKey, 1)))
+        .assertNext(entry -> assertEquals(entryValue1, parse(entry.value()), "Fetched entry value"))
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#85 Scenario: Conditional updateEntry applied only at the expected version")
+  void updateEntryWithExpectedVersion(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+
+    ObjectNode entryValue1 = OBJECT_MAPPER.createObjectNode().put("value", "first");
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode().put("value", "second");
+    ObjectNode entryValue3 = OBJECT_MAPPER.createObjectNode().put("value", "third");
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue1)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService.updateEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue2, 1)))
+        .assertNext(ack -> assertEquals(2, (int) ack.version(), "New version"))
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.updateEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue3, 1)))
+        .expectErrorMessage(String.format("Key '%s' was modified after version '%s'", entryKey, 1))
+        .verify();
+
+    StepVerifier.create(
+            configurationService.readEntry(new ReadEntryRequest(ownerApiKey, repoName, entryKey)))
+        .assertNext(entry -> assertEquals(entryValue2, parse(entry.value()), "Fetched entry value"))
+        .expectComplete()
+        .verify();
+
+    StepVerifier.create(
+            configurationService.updateEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue3, 0)))
+        .expectErrorMessage("Expected version must be a positive number")
+        .verify();
+  }
 }
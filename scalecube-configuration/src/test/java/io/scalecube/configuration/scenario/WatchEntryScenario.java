@@ -0,0 +1,222 @@
+package io.scalecube.configuration.scenario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.scalecube.account.api.OrganizationService;
+import io.scalecube.account.api.Role;
+import io.scalecube.configuration.api.ConfigurationService;
+import io.scalecube.configuration.api.CreateOrUpdateEntryRequest;
+import io.scalecube.configuration.api.CreateRepositoryRequest;
+import io.scalecube.configuration.api.DeleteEntryRequest;
+import io.scalecube.configuration.api.ReadListChangesRequest;
+import io.scalecube.configuration.api.ReadListChangesResponse;
+import io.scalecube.configuration.api.WatchEntryRequest;
+import io.scalecube.configuration.api.WatchRepositoryRequest;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestTemplate;
+import org.testcontainers.shaded.org.apache.commons.lang.RandomStringUtils;
+import reactor.test.StepVerifier;
+
+public class WatchEntryScenario extends BaseScenario {
+
+  private static final Duration SUBSCRIPTION_DELAY = Duration.ofSeconds(1);
+
+  @TestTemplate
+  @DisplayName("#72 Scenario: Successful watchEntry receives the missed and the live key versions")
+  void watchEntry(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+    String memberApiKey = createApiKey(organizationService, orgId, Role.Member).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey = "KEY-FOR-PRECIOUS-METAL-123";
+
+    ObjectNode entryValue1 = OBJECT_MAPPER.createObjectNode().put("value", 1);
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode().put("value", 2);
+    ObjectNode entryValue3 = OBJECT_MAPPER.createObjectNode().put("value", 3);
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .then(
+            configurationService.createEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue1)))
+        .then(
+            configurationService.updateEntry(
+                new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey, entryValue2)))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService
+                .watchEntry(new WatchEntryRequest(memberApiKey, repoName, entryKey, 1))
+                .take(3))
+        .assertNext(
+            event -> {
+              assertEquals(entryKey, event.key(), "Watched entry key");
+              assertEquals(2, (int) event.version(), "Watched entry version");
+              assertEquals(entryValue2, parse(event.value()), "Watched entry value");
+            })
+        .thenAwait(SUBSCRIPTION_DELAY)
+        .then(
+            () ->
+                configurationService
+                    .updateEntry(
+                        new CreateOrUpdateEntryRequest(
+                            ownerApiKey, repoName, entryKey, entryValue3))
+                    .block(TIMEOUT))
+        .assertNext(
+            event -> {
+              assertEquals(entryKey, event.key(), "Watched entry key");
+              assertEquals(3, (int) event.version(), "Watched entry version");
+              assertEquals(entryValue3, parse(event.value()), "Watched entry value");
+              assertNotNull(event.revision(), "Watched entry revision");
+            })
+        .then(
+            () ->
+                configurationService
+                    .deleteEntry(new DeleteEntryRequest(ownerApiKey, repoName, entryKey))
+                    .block(TIMEOUT))
+        .assertNext(
+            event -> {
+              assertEquals(entryKey, event.key(), "Watched entry key");
+              assertTrue(event.deleted(), "Watched entry deleted");
+            })
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#73 Scenario: Successful watchRepository receives the live changes of all keys")
+  void watchRepository(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey1 = "KEY-FOR-PRECIOUS-METAL-123";
+    String entryKey2 = "KEY-FOR-CURRENCY-999";
+
+    ObjectNode entryValue1 = OBJECT_MAPPER.createObjectNode().put("value", 1);
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode().put("value", 2);
+
+    configurationService
+        .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService
+                .watchRepository(new WatchRepositoryRequest(ownerApiKey, repoName))
+                .take(2))
+        .thenAwait(SUBSCRIPTION_DELAY)
+        .then(
+            () ->
+                configurationService
+                    .createEntry(
+                        new CreateOrUpdateEntryRequest(
+                            ownerApiKey, repoName, entryKey1, entryValue1))
+                    .then(
+                        configurationService.createEntry(
+                            new CreateOrUpdateEntryRequest(
+                                ownerApiKey, repoName, entryKey2, entryValue2)))
+                    .block(TIMEOUT))
+        .assertNext(
+            event -> {
+              assertEquals(entryKey1, event.key(), "Watched entry key");
+              assertEquals(1, (int) event.version(), "Watched entry version");
+              assertEquals(entryValue1, parse(event.value()), "Watched entry value");
+            })
+        .assertNext(
+            event -> {
+              assertEquals(entryKey2, event.key(), "Watched entry key");
+              assertEquals(1, (int) event.version(), "Watched entry version");
+              assertEquals(entryValue2, parse(event.value()), "Watched entry value");
+            })
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName(
+      "#90 Scenario: Successful watchRepository resumes from a revision with the missed changes")
+  void watchRepositorySinceRevision(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+    String entryKey1 = "KEY-FOR-PRECIOUS-METAL-123";
+    String entryKey2 = "KEY-FOR-CURRENCY-999";
+
+    ObjectNode entryValue1 = OBJECT_MAPPER.createObjectNode().put("value", 1);
+    ObjectNode entryValue2 = OBJECT_MAPPER.createObjectNode().put("value", 2);
+    ObjectNode entryValue3 = OBJECT_MAPPER.createObjectNode().put("value", 3);
+
+    Long revision =
+        configurationService
+            .createRepository(new CreateRepositoryRequest(ownerApiKey, repoName))
+            .then(
+                configurationService.createEntry(
+                    new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey1, entryValue1)))
+            .then(
+                configurationService.readListChanges(
+                    new ReadListChangesRequest(ownerApiKey, repoName, null)))
+            .map(ReadListChangesResponse::revision)
+            .block(TIMEOUT);
+
+    configurationService
+        .updateEntry(new CreateOrUpdateEntryRequest(ownerApiKey, repoName, entryKey1, entryValue2))
+        .block(TIMEOUT);
+
+    StepVerifier.create(
+            configurationService
+                .watchRepository(new WatchRepositoryRequest(ownerApiKey, repoName, revision))
+                .take(2))
+        .assertNext(
+            event -> {
+              assertEquals(entryKey1, event.key(), "Watched entry key");
+              assertEquals(2, (int) event.version(), "Watched entry version");
+              assertEquals(entryValue2, parse(event.value()), "Watched entry value");
+              assertTrue(event.revision() > revision, "Watched entry revision");
+            })
+        .thenAwait(SUBSCRIPTION_DELAY)
+        .then(
+            () ->
+                configurationService
+                    .createEntry(
+                        new CreateOrUpdateEntryRequest(
+                            ownerApiKey, repoName, entryKey2, entryValue3))
+                    .block(TIMEOUT))
+        .assertNext(
+            event -> {
+              assertEquals(entryKey2, event.key(), "Watched entry key");
+              assertEquals(1, (int) event.version(), "Watched entry version");
+              assertEquals(entryValue3, parse(event.value()), "Watched entry value");
+            })
+        .expectComplete()
+        .verify();
+  }
+
+  @TestTemplate
+  @DisplayName("#74 Scenario: Fail to watchEntry with empty or undefined Key field")
+  void watchEntryWithEmptyOrUndefinedKey(
+      ConfigurationService configurationService, OrganizationService organizationService) {
+    String orgId = createOrganization(organizationService).id();
+    String ownerApiKey = createApiKey(organizationService, orgId, Role.Owner).key();
+
+    String repoName = RandomStringUtils.randomAlphabetic(5);
+
+    StepVerifier.create(
+            configurationService.watchEntry(new WatchEntryRequest(ownerApiKey, repoName, "")))
+        .expectErrorMessage(PLEASE_SPECIFY_KEY)
+        .verify();
+
+    StepVerifier.create(
+            configurationService.watchEntry(new WatchEntryRequest(ownerApiKey, repoName, null)))
+        .expectErrorMessage(PLEASE_SPECIFY_KEY)
+        .verify();
+  }
+}
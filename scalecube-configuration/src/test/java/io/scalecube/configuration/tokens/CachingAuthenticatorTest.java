@@ -0,0 +1,160 @@
+package io.scalecube.configuration.tokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.scalecube.security.api.Authenticator;
+import io.scalecube.security.api.Profile;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+final class CachingAuthenticatorTest {
+
+  // the default token.cache.ttl
+  private static final Duration TTL = Duration.ofSeconds(300);
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger verifications = new AtomicInteger();
+
+  private Mono<Profile> verification;
+  private CachingAuthenticator authenticator;
+
+  @BeforeEach
+  void setUp() {
+    verification = Mono.just(profile(Duration.ofHours(1)));
+    Authenticator delegate =
+        token -> {
+          verifications.incrementAndGet();
+          return verification;
+        };
+    authenticator = new CachingAuthenticator(delegate, nanos::get);
+  }
+
+  @Test
+  @DisplayName("A verified token is served from the cache")
+  void cacheVerifiedToken() {
+    Profile profile = authenticator.authenticate(token("key-1")).block();
+
+    assertSame(profile, authenticator.authenticate(token("key-1")).block());
+    assertEquals(1, verifications.get());
+  }
+
+  @Test
+  @DisplayName("A token is verified again once it expires")
+  void verifyTokenAgainAtExpiration() {
+    verification = Mono.just(profile(Duration.ofSeconds(60)));
+    String token = token("key-1");
+
+    authenticator.authenticate(token).block();
+    advance(Duration.ofSeconds(50));
+    authenticator.authenticate(token).block();
+    assertEquals(1, verifications.get());
+
+    advance(Duration.ofSeconds(20));
+    authenticator.authenticate(token).block();
+    assertEquals(2, verifications.get());
+  }
+
+  @Test
+  @DisplayName("An expired token is verified every time")
+  void verifyExpiredTokenEveryTime() {
+    verification = Mono.just(profile(Duration.ofSeconds(-1)));
+    String token = token("key-1");
+
+    authenticator.authenticate(token).block();
+    authenticator.authenticate(token).block();
+
+    assertEquals(2, verifications.get());
+  }
+
+  @Test
+  @DisplayName("A token is cached no longer than the TTL, however late it expires")
+  void capCachingAtTtl() {
+    String token = token("key-1");
+
+    authenticator.authenticate(token).block();
+    advance(TTL.minusSeconds(1));
+    authenticator.authenticate(token).block();
+    assertEquals(1, verifications.get());
+
+    advance(Duration.ofSeconds(2));
+    authenticator.authenticate(token).block();
+    assertEquals(2, verifications.get());
+  }
+
+  @Test
+  @DisplayName("A token without expiration is cached for the TTL")
+  void cacheTokenWithoutExpirationForTtl() {
+    verification =
+        Mono.just(Profile.builder().userId("user").claims(Collections.emptyMap()).build());
+    String token = token("key-1");
+
+    authenticator.authenticate(token).block();
+    advance(TTL.minusSeconds(1));
+    authenticator.authenticate(token).block();
+    assertEquals(1, verifications.get());
+
+    advance(Duration.ofSeconds(2));
+    authenticator.authenticate(token).block();
+    assertEquals(2, verifications.get());
+  }
+
+  @Test
+  @DisplayName("A token which fails verification is not cached")
+  void notCacheFailedVerification() {
+    String token = token("key-1");
+    verification = Mono.error(new IllegalArgumentException("Invalid token"));
+
+    StepVerifier.create(authenticator.authenticate(token))
+        .expectError(IllegalArgumentException.class)
+        .verify();
+
+    verification = Mono.just(profile(Duration.ofHours(1)));
+    StepVerifier.create(authenticator.authenticate(token)).expectNextCount(1).verifyComplete();
+    authenticator.authenticate(token).block();
+
+    assertEquals(2, verifications.get());
+  }
+
+  @Test
+  @DisplayName("Tokens signed with a rotated key are verified again, the others stay cached")
+  void dropTokensOfRotatedKey() {
+    String rotated = token("key-1");
+    String kept = token("key-2");
+    authenticator.authenticate(rotated).block();
+    authenticator.authenticate(kept).block();
+
+    authenticator.invalidateKey("key-1");
+    authenticator.authenticate(rotated).block();
+    authenticator.authenticate(kept).block();
+
+    assertEquals(3, verifications.get());
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+
+  private static Profile profile(Duration expiresIn) {
+    long exp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() + expiresIn.toMillis());
+    return Profile.builder().userId("user").claims(Collections.singletonMap("exp", exp)).build();
+  }
+
+  private static String token(String keyId) {
+    String header = "{\"alg\":\"RS256\",\"kid\":\"" + keyId + "\"}";
+    return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(header.getBytes(StandardCharsets.UTF_8))
+        + ".payload.signature";
+  }
+}
@@ -0,0 +1,233 @@
+package io.scalecube.configuration.tokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.scalecube.account.api.GetPublicKeyResponse;
+import io.scalecube.account.api.OrganizationService;
+import java.security.Key;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+final class OrganizationServiceKeyProviderTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+  private static final String KEY_ID = "key-1";
+
+  // the default key.cache.refresh.interval and key.cache.failure.backoff.max
+  private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(60);
+  private static final long BACKOFF_MAX_SECONDS = 60;
+
+  private final AtomicLong nanos = new AtomicLong();
+
+  private OrganizationService organizationService;
+  private OrganizationServiceKeyProvider keyProvider;
+  private PublicKey key;
+  private PublicKey rotatedKey;
+
+  @BeforeEach
+  void setUp() throws NoSuchAlgorithmException {
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(1024);
+    key = keyPairGenerator.generateKeyPair().getPublic();
+    rotatedKey = keyPairGenerator.generateKeyPair().getPublic();
+
+    organizationService = mock(OrganizationService.class);
+    keyProvider = new OrganizationServiceKeyProvider(organizationService, nanos::get);
+  }
+
+  @Test
+  @DisplayName("A key which fails to load twice is loaded once the backoff passes")
+  void loadKeyAfterTwoFailures() {
+    when(organizationService.getPublicKey(any()))
+        .thenReturn(unavailable(), unavailable(), Mono.just(response(key)));
+
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectError(IllegalStateException.class).verify();
+    advance(Duration.ofSeconds(1));
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectError(IllegalStateException.class).verify();
+    advance(Duration.ofSeconds(2));
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectNext(key).verifyComplete();
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectNext(key).verifyComplete();
+
+    verify(organizationService, times(3)).getPublicKey(any());
+  }
+
+  @Test
+  @DisplayName("Concurrent requests for a missing key wait for the same call")
+  void shareLoadBetweenConcurrentRequests() throws Exception {
+    MonoProcessor<GetPublicKeyResponse> response = MonoProcessor.create();
+    when(organizationService.getPublicKey(any())).thenReturn(response);
+    CountDownLatch requested = new CountDownLatch(16);
+
+    CompletableFuture<List<Key>> requests =
+        Flux.range(0, 16)
+            .flatMap(
+                i ->
+                    keyProvider
+                        .get(KEY_ID)
+                        .doOnSubscribe(subscription -> requested.countDown())
+                        .subscribeOn(Schedulers.parallel()))
+            .collectList()
+            .toFuture();
+    assertTrue(requested.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    response.onNext(response(key));
+    List<Key> keys = requests.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+    assertEquals(16, keys.size());
+    assertEquals(Collections.singleton(key), new HashSet<>(keys));
+    verify(organizationService, times(1)).getPublicKey(any());
+  }
+
+  @Test
+  @DisplayName("Requests fail fast for a backoff which doubles with every failure up to its max")
+  void doubleBackoffUpToMax() {
+    when(organizationService.getPublicKey(any())).thenReturn(unavailable());
+
+    long backoffSeconds = 1;
+    for (int attempt = 1; attempt <= 9; attempt++) {
+      StepVerifier.create(keyProvider.get(KEY_ID))
+          .expectError(IllegalStateException.class)
+          .verify();
+      verify(organizationService, times(attempt)).getPublicKey(any());
+
+      advance(Duration.ofSeconds(backoffSeconds).minusMillis(1));
+      StepVerifier.create(keyProvider.get(KEY_ID))
+          .expectError(IllegalStateException.class)
+          .verify();
+      verify(organizationService, times(attempt)).getPublicKey(any());
+
+      advance(Duration.ofMillis(1));
+      backoffSeconds = Math.min(BACKOFF_MAX_SECONDS, backoffSeconds * 2);
+    }
+  }
+
+  @Test
+  @DisplayName("Prefetch retries a failed load and caches the key")
+  void retryPrefetch() {
+    when(organizationService.getPublicKey(any()))
+        .thenReturn(unavailable(), Mono.just(response(key)));
+    keyProvider.prefetchKeyIds = Collections.singletonList(KEY_ID);
+
+    keyProvider.prefetch().block(TIMEOUT);
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectNext(key).verifyComplete();
+
+    verify(organizationService, times(2)).getPublicKey(any());
+  }
+
+  @Test
+  @DisplayName("A failed prefetch doesn't put the key into backoff")
+  void notBackOffAfterFailedPrefetch() {
+    when(organizationService.getPublicKey(any()))
+        .thenReturn(unavailable(), Mono.just(response(key)));
+    keyProvider.prefetchKeyIds = Collections.singletonList(KEY_ID);
+    keyProvider.prefetchRetries = 0;
+
+    keyProvider.prefetch().block(TIMEOUT);
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectNext(key).verifyComplete();
+
+    verify(organizationService, times(2)).getPublicKey(any());
+  }
+
+  @Test
+  @DisplayName("Rotation listeners are called once a refresh replaces the key by a different one")
+  void notifyRotation() {
+    when(organizationService.getPublicKey(any()))
+        .thenReturn(Mono.just(response(key)), Mono.just(response(rotatedKey)));
+    List<String> rotations = new CopyOnWriteArrayList<>();
+    keyProvider.addRotationListener(rotations::add);
+    prefetchKey();
+
+    advance(REFRESH_INTERVAL.plusSeconds(1));
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectNext(key).verifyComplete();
+
+    // the refreshed key replaces the current one once loaded in the background
+    awaitUntil(() -> rotatedKey.equals(keyProvider.get(KEY_ID).block(TIMEOUT)));
+    assertEquals(Collections.singletonList(KEY_ID), rotations);
+    assertEquals(2, calls());
+  }
+
+  @Test
+  @DisplayName("A refresh with the same key or a failed refresh keeps the key without rotation")
+  void keepKeyWithoutRotation() {
+    when(organizationService.getPublicKey(any()))
+        .thenReturn(Mono.just(response(key)), Mono.just(response(key)), unavailable());
+    List<String> rotations = new CopyOnWriteArrayList<>();
+    keyProvider.addRotationListener(rotations::add);
+    prefetchKey();
+
+    Key loaded = keyProvider.get(KEY_ID).block(TIMEOUT);
+    advance(REFRESH_INTERVAL.plusSeconds(1));
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectNext(key).verifyComplete();
+
+    // every load parses a key of its own, the refreshed one replaces the current one once loaded
+    awaitUntil(() -> keyProvider.get(KEY_ID).block(TIMEOUT) != loaded);
+    Key refreshed = keyProvider.get(KEY_ID).block(TIMEOUT);
+    assertEquals(key, refreshed);
+
+    advance(REFRESH_INTERVAL.plusSeconds(1));
+    awaitUntil(() -> refreshed.equals(keyProvider.get(KEY_ID).block(TIMEOUT)) && calls() >= 3);
+    StepVerifier.create(keyProvider.get(KEY_ID)).expectNext(refreshed).verifyComplete();
+    assertTrue(rotations.isEmpty());
+  }
+
+  // a prefetched key is cached complete, unlike one loaded on demand whose entry is updated once
+  // its load completes, which would discard a refresh started meanwhile
+  private void prefetchKey() {
+    keyProvider.prefetchKeyIds = Collections.singletonList(KEY_ID);
+    keyProvider.prefetch().block(TIMEOUT);
+  }
+
+  private int calls() {
+    return mockingDetails(organizationService).getInvocations().size();
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.nanoTime() - deadline < 0, "Timed out");
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private static Mono<GetPublicKeyResponse> unavailable() {
+    return Mono.error(new IllegalStateException("Organization service is unavailable"));
+  }
+
+  private static GetPublicKeyResponse response(PublicKey key) {
+    return new GetPublicKeyResponse(key.getAlgorithm(), key.getFormat(), key.getEncoded(), KEY_ID);
+  }
+}